@@ -0,0 +1,37 @@
+package dev.hytalemodding.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the benchmarks and writes the results as JSON to
+ * {@code results/jmh-<version>.json}, so releases can be compared
+ * (e.g. with jmh.morethan.io). Any JMH command-line option is passed
+ * through, e.g. {@code java -jar benchmarks.jar Loot -f 1}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        if (version == null) version = "dev";
+
+        Path results = Path.of("results", "jmh-" + version + ".json");
+        Files.createDirectories(results.getParent());
+
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) options.result(results.toString());
+
+        new Runner(options.build()).run();
+        System.out.println("[RQC] Benchmark results written to " + results.toAbsolutePath());
+    }
+}
@@ -0,0 +1,195 @@
+package dev.hytalemodding.bench;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JOL-style retained-size estimator: walks the object graph from a root and
+ * sums the shallow size of every object it has not seen before.
+ *
+ * Shallow sizes come from the VM's actual field offsets (read through
+ * {@code sun.misc.Unsafe}, which needs no {@code --add-opens}), aligned to
+ * 8 bytes; arrays are base offset + length × element size. Classes, class
+ * loaders, threads and enum constants are never counted or entered: they
+ * are shared by everything and not owned by any component.
+ *
+ * The set of counted objects is shared across calls, so walking several
+ * roots in turn attributes each object to the first root that reaches it.
+ * Walk a "baseline" first with {@link #mark} to exclude everything that
+ * existed before the code under measurement ran.
+ *
+ * On JDK 24+ run with {@code --sun-misc-unsafe-memory-access=allow} to
+ * silence the Unsafe deprecation warning.
+ */
+public final class HeapWalker {
+
+    private static final Unsafe UNSAFE = loadUnsafe();
+    private static final int HEADER = UNSAFE.arrayBaseOffset(int[].class) - 4;
+    private static final int REF_SIZE = UNSAFE.arrayIndexScale(Object[].class);
+
+    /** Per-class layout: shallow size and the offsets (or fields) of reference fields. */
+    private record Layout(long shallowSize, long[] refOffsets, Field[] refFields) {}
+
+    private static final Map<Class<?>, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Adds everything reachable from the roots to the visited set without counting it. */
+    public void mark(Object... roots) {
+        walk(List.of(roots), false);
+    }
+
+    /**
+     * Returns the bytes reachable from the roots that no earlier walk
+     * reached, and marks them as seen. Objects seen before are still
+     * traversed (without being counted), so new objects hanging off an
+     * existing one — a rewritten drop tree under an existing drop list, new
+     * entries in an existing asset map — are found.
+     */
+    public long retained(Iterable<?> roots) {
+        return walk(roots, true);
+    }
+
+    /** {@link #retained(Iterable)} for a single root. */
+    public long retained(Object root) {
+        return walk(Collections.singletonList(root), true);
+    }
+
+    /** Number of objects seen so far. */
+    public int visitedCount() {
+        return visited.size();
+    }
+
+    private long walk(Iterable<?> roots, boolean traverseSeen) {
+        Set<Object> traversed = traverseSeen ? Collections.newSetFromMap(new IdentityHashMap<>()) : visited;
+        ArrayDeque<Object> stack = new ArrayDeque<>();
+        long total = 0;
+        for (Object root : roots) {
+            total += visit(root, traversed, stack);
+        }
+        while (!stack.isEmpty()) {
+            for (Object ref : references(stack.pop())) {
+                total += visit(ref, traversed, stack);
+            }
+        }
+        return total;
+    }
+
+    /** Counts an object the first time any walk sees it; queues it the first time this walk does. */
+    private long visit(Object obj, Set<Object> traversed, ArrayDeque<Object> stack) {
+        if (obj == null || isShared(obj)) return 0;
+        boolean isNew = visited.add(obj);
+        if (traversed != visited && !traversed.add(obj)) return 0;
+        if (traversed == visited && !isNew) return 0;
+        stack.push(obj);
+        return isNew ? shallowSize(obj) : 0;
+    }
+
+    private static boolean isShared(Object obj) {
+        return obj instanceof Class<?> || obj instanceof ClassLoader || obj instanceof Thread
+                || obj instanceof Enum<?>;
+    }
+
+    // ── Layout ──
+
+    /** Shallow size of one object, in bytes (8-byte aligned). */
+    public static long shallowSize(Object obj) {
+        Class<?> type = obj.getClass();
+        if (type.isArray()) {
+            long size = UNSAFE.arrayBaseOffset(type) + (long) Array.getLength(obj) * UNSAFE.arrayIndexScale(type);
+            return align(size);
+        }
+        return layout(type).shallowSize();
+    }
+
+    private static List<Object> references(Object obj) {
+        Class<?> type = obj.getClass();
+        if (type.isArray()) {
+            if (type.getComponentType().isPrimitive()) return List.of();
+            Object[] array = (Object[]) obj;
+            List<Object> refs = new ArrayList<>(array.length);
+            Collections.addAll(refs, array);
+            return refs;
+        }
+
+        Layout layout = layout(type);
+        List<Object> refs = new ArrayList<>(layout.refOffsets().length + layout.refFields().length);
+        for (long offset : layout.refOffsets()) {
+            refs.add(UNSAFE.getObject(obj, offset));
+        }
+        for (Field field : layout.refFields()) {
+            try {
+                refs.add(field.get(obj));
+            } catch (IllegalAccessException e) {
+                // Not readable (hidden class / closed module) - not followed
+            }
+        }
+        return refs;
+    }
+
+    private static Layout layout(Class<?> type) {
+        return LAYOUTS.computeIfAbsent(type, HeapWalker::computeLayout);
+    }
+
+    /**
+     * Records and hidden classes reject {@code objectFieldOffset}; their size
+     * is estimated from the field sizes and their fields are read reflectively.
+     */
+    private static Layout computeLayout(Class<?> type) {
+        boolean offsets = !type.isRecord() && !type.isHidden();
+        long end = HEADER;
+        List<Long> refOffsets = new ArrayList<>();
+        List<Field> refFields = new ArrayList<>();
+
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                int size = fieldSize(field.getType());
+                boolean reference = !field.getType().isPrimitive();
+                if (offsets) {
+                    long offset = UNSAFE.objectFieldOffset(field);
+                    end = Math.max(end, offset + size);
+                    if (reference) refOffsets.add(offset);
+                } else {
+                    end += size;
+                    if (reference && field.trySetAccessible()) refFields.add(field);
+                }
+            }
+        }
+        return new Layout(align(end), refOffsets.stream().mapToLong(Long::longValue).toArray(),
+                refFields.toArray(new Field[0]));
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (!type.isPrimitive()) return REF_SIZE;
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static Unsafe loadUnsafe() {
+        try {
+            Field f = Unsafe.class.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            return (Unsafe) f.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
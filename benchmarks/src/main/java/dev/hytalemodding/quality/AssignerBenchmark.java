@@ -0,0 +1,69 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.metrics.QualityMetrics.TxType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QualityAssigner#tryAssignQuality} — the per-slot decision run on
+ * every inventory change — for a non-eligible item (the common case), an
+ * eligible base item (roll + slot rewrite) and an existing variant, with
+ * runtime metrics on and off.
+ *
+ * No Item assets are loaded, so the eligible case measures the roll and
+ * the rewrite with an unresolved durability lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignerBenchmark {
+
+    @Param({"NON_ELIGIBLE", "ELIGIBLE", "VARIANT"})
+    public String kind;
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private QualityAssigner assigner;
+    private ItemContainer container;
+    private ItemStack item;
+
+    @Setup
+    public void setup() {
+        BenchCatalog catalog = new BenchCatalog(2000);
+        assigner = new QualityAssigner(catalog.registry, catalog.config, catalog.tierMapper);
+        container = new SimpleItemContainer((short) 9);
+        QualityMetrics.get().setEnabled(metrics);
+
+        String base = catalog.baseIds.get(1000);
+        String itemId = switch (kind) {
+            case "ELIGIBLE" -> base;
+            case "VARIANT" -> catalog.tierMapper.getVariantId(base, ItemQuality.RARE);
+            default -> BenchCatalog.nonEligibleId(1000);
+        };
+        item = new ItemStack(itemId, 1);
+    }
+
+    @Benchmark
+    public void tryAssignQuality() {
+        assigner.tryAssignQuality(item, container, (short) 0, TxType.SLOT);
+    }
+}
@@ -0,0 +1,48 @@
+package dev.hytalemodding.quality;
+
+import dev.hytalemodding.config.QualityConfig;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic item catalog for the benchmarks: a registry and tier mapper
+ * populated with generated base IDs and their variants, without loading any
+ * game asset.
+ */
+final class BenchCatalog {
+
+    private static final String[] CATEGORIES = {
+            "Weapon_Sword", "Weapon_Axe", "Weapon_Bow", "Weapon_Mace",
+            "Armor_Head", "Armor_Chest", "Armor_Legs", "Armor_Hands",
+            "Tool_Pickaxe", "Tool_Hatchet", "Tool_Shovel", "Tool_Hoe"
+    };
+
+    final QualityConfig config = new QualityConfig();
+    final QualityRegistry registry = new QualityRegistry();
+    final QualityTierMapper tierMapper = new QualityTierMapper();
+    final List<String> baseIds;
+
+    BenchCatalog(int baseCount) {
+        QualityItemFactory.initIgnoreList((String[]) null);
+        baseIds = generateBaseIds(baseCount);
+        registry.registerEligible(baseIds);
+        tierMapper.registerSyntheticVariants(baseIds);
+    }
+
+    @Nonnull
+    static List<String> generateBaseIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(CATEGORIES[i % CATEGORIES.length] + "_Synth" + i);
+        }
+        return ids;
+    }
+
+    /** An ID that is neither eligible nor a variant (e.g. a block). */
+    @Nonnull
+    static String nonEligibleId(int i) {
+        return "Rock_Stone_Synth" + i;
+    }
+}
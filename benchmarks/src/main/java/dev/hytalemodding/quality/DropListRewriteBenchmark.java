@@ -0,0 +1,92 @@
+package dev.hytalemodding.quality;
+
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.fixtures.SyntheticCatalog;
+
+import java.util.Arrays;
+
+/**
+ * Times {@link LootDropModifier#modifyDropLists} on a synthetic catalog with
+ * many drop lists (20,000 by default), once sequential (the default) and
+ * once forced onto the parallel path, and prints the median of each and
+ * the speedup. The parallel path stays off in the plugin until this shows
+ * a gain on a multi-core machine.
+ *
+ * The rewrite is in place, so every run installs a fresh catalog and redoes
+ * scan, tiers and variants first (not timed). Not a JMH benchmark — each run
+ * is a one-shot startup pass:
+ * <pre>
+ *   java -Xmx4g -cp target/benchmarks.jar dev.hytalemodding.quality.DropListRewriteBenchmark
+ *        [--lists 20000] [--items 5000] [--runs 5]
+ * </pre>
+ */
+public final class DropListRewriteBenchmark {
+
+    private static final String LOG_PREFIX = "[RQC] DropListRewrite: ";
+    private static final long SEED = 42;
+
+    private DropListRewriteBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int lists = 20_000;
+        int items = 5_000;
+        int runs = 5;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--lists" -> lists = Math.max(1, Integer.parseInt(args[++i]));
+                case "--items" -> items = Math.max(10, Integer.parseInt(args[++i]));
+                case "--runs" -> runs = Math.max(1, Integer.parseInt(args[++i]));
+                default -> {
+                    System.out.println("Usage: DropListRewriteBenchmark [--lists 20000] [--items 5000] [--runs 5]");
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        // One warm-up pass per mode, then alternate so both see the same JIT and heap state
+        run(items, lists, false);
+        run(items, lists, true);
+        long[] sequential = new long[runs];
+        long[] parallel = new long[runs];
+        for (int r = 0; r < runs; r++) {
+            sequential[r] = run(items, lists, false);
+            parallel[r] = run(items, lists, true);
+        }
+
+        long seq = median(sequential);
+        long par = median(parallel);
+        System.out.println(LOG_PREFIX + String.format("%,d drop lists, %,d items, %d cores, median of %d run(s):",
+                lists, items, Runtime.getRuntime().availableProcessors(), runs));
+        System.out.println(String.format("  sequential: %8.1f ms", seq / 1e6));
+        System.out.println(String.format("  parallel  : %8.1f ms  (%.2fx)", par / 1e6, (double) seq / par));
+    }
+
+    /** One rewrite pass on a fresh catalog; returns its wall time in nanoseconds. */
+    private static long run(int items, int lists, boolean parallel) {
+        SyntheticCatalog.generate(items, lists,
+                Math.max(1, (int) (items * StartupScalingBenchmark.RECIPES_PER_ITEM)), SEED).install();
+
+        QualityConfig config = new QualityConfig();
+        QualityRegistry registry = new QualityRegistry();
+        QualityTierMapper tierMapper = new QualityTierMapper();
+        QualityItemFactory.initIgnoreList((String[]) null);
+        registry.scanEligibleItems();
+        tierMapper.initialize();
+        tierMapper.createVariants(registry, config, new QualityReverseIndex.Builder(registry));
+
+        LootDropModifier modifier = new LootDropModifier(config, tierMapper, registry);
+        modifier.setParallelThreshold(parallel ? 0 : Integer.MAX_VALUE);
+        QualityReverseIndex.Builder indexBuilder = new QualityReverseIndex.Builder(registry);
+        long start = System.nanoTime();
+        modifier.modifyDropLists(indexBuilder);
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
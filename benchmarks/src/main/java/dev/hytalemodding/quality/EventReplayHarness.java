@@ -0,0 +1,430 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemArmor;
+import com.hypixel.hytale.server.core.inventory.InventoryChangeEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ListTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.MoveTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.fixtures.SyntheticCatalog;
+import dev.hytalemodding.metrics.EventTrace;
+import dev.hytalemodding.metrics.EventTrace.Event;
+import dev.hytalemodding.metrics.EventTrace.Touch;
+import dev.hytalemodding.metrics.LatencyHistogram;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.metrics.QualityMetrics.RejectReason;
+import dev.hytalemodding.metrics.QualityMetrics.TxType;
+import dev.hytalemodding.migration.VariantCatalog;
+
+import java.io.BufferedReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load-test harness for {@link QualityAssigner#handle}: replays a stream of
+ * InventoryChangeEvents against stand-in containers, open-loop at a fixed
+ * arrival rate, and reports throughput, handler latency percentiles
+ * (p50/p99/p999) and the allocation rate of the handler thread.
+ *
+ * Two sources:
+ * <ul>
+ *   <li><b>Generated</b> (default) — a synthetic catalog goes through the
+ *       real startup path (scan, tiers, variants), then a stream mixing
+ *       slot / item-stack / move / list transactions is generated: mostly
+ *       non-eligible items, some failed transactions and already-variant
+ *       items, with crafting and looting bursts arriving ten times faster
+ *       than the base rate.</li>
+ *   <li><b>Trace</b> — a file recorded on a live server with
+ *       {@code /rqc trace start|stop} ({@link EventTrace} format). Items the
+ *       trace references are created as stand-in assets; with
+ *       {@code --catalog} (the server's {@code variant-catalog.tsv}) the same
+ *       ones are eligible as on the server, otherwise Weapon_/Armor_/Tool_ IDs
+ *       are.</li>
+ * </ul>
+ *
+ * Events are built before the clock starts, so the numbers only contain the
+ * handler. With a rate, latency is also reported from each event's scheduled
+ * arrival ("response"), which includes the time spent waiting behind slow
+ * handlers (no coordinated omission).
+ * <pre>
+ *   java -cp target/benchmarks.jar dev.hytalemodding.quality.EventReplayHarness
+ *        [--rate 20000] [--duration 30] [--items 5000] [--seed 42] [--no-metrics]
+ *        [--trace trace-....tsv [--catalog variant-catalog.tsv]]
+ * </pre>
+ * {@code --rate 0} runs as fast as possible; for a trace, the default is the
+ * recorded timing and {@code --rate} rescales it to that average rate.
+ */
+public final class EventReplayHarness {
+
+    private static final String LOG_PREFIX = "[RQC] Replay: ";
+
+    /** Share of each transaction type outside bursts (SLOT, ITEM_STACK, MOVE, LIST; rest is OTHER). */
+    private static final double[] TYPE_MIX = { 0.45, 0.30, 0.15, 0.095 };
+    private static final double NON_ELIGIBLE_SHARE = 0.80;
+    private static final double VARIANT_SHARE = 0.05;
+    private static final double FAILED_SHARE = 0.02;
+
+    /** One crafting or looting burst every BURST_EVERY events on average. */
+    private static final int BURST_EVERY = 2_000;
+    private static final int BURST_SPEEDUP = 10;
+
+    private static final int CONTAINERS = 64;
+    private static final short CONTAINER_CAPACITY = 45;
+    private static final int WARMUP_EVENTS = 50_000;
+
+    private static final long MAX_EVENTS_UNPACED = 2_000_000;
+
+    /** Unknown transaction type: the assigner falls back to a container scan. */
+    private record OtherTransaction(boolean succeeded) implements Transaction {}
+
+    private EventReplayHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        int rate = -1;
+        int durationSeconds = 30;
+        int items = 5_000;
+        long seed = 42;
+        boolean metrics = true;
+        Path trace = null;
+        Path catalogFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rate" -> rate = Math.max(0, Integer.parseInt(args[++i]));
+                case "--duration" -> durationSeconds = Math.max(1, Integer.parseInt(args[++i]));
+                case "--items" -> items = Math.max(10, Integer.parseInt(args[++i]));
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--no-metrics" -> metrics = false;
+                case "--trace" -> trace = Path.of(args[++i]);
+                case "--catalog" -> catalogFile = Path.of(args[++i]);
+                default -> {
+                    System.out.println("Usage: EventReplayHarness [--rate 20000] [--duration 30] [--items 5000]"
+                            + " [--seed 42] [--no-metrics] [--trace <file> [--catalog <file>]]");
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        QualityConfig config = new QualityConfig();
+        QualityRegistry registry = new QualityRegistry();
+        QualityTierMapper tierMapper = new QualityTierMapper();
+
+        List<Event> events;
+        if (trace != null) {
+            events = readTrace(trace);
+            installTraceItems(events, catalogFile != null ? VariantCatalog.read(catalogFile) : null, seed);
+            startup(config, registry, tierMapper);
+            if (rate > 0) events = rescale(events, rate);
+            System.out.println(LOG_PREFIX + events.size() + " event(s) from " + trace.getFileName()
+                    + ", " + registry.getTotalEligible() + " eligible item(s)");
+        } else {
+            SyntheticCatalog catalog = SyntheticCatalog.generate(items, Math.max(1, items / 5), Math.max(1, items / 4), seed);
+            catalog.install();
+            startup(config, registry, tierMapper);
+            if (rate < 0) rate = 20_000;
+            long count = rate > 0 ? (long) rate * durationSeconds : MAX_EVENTS_UNPACED;
+            events = generate(catalog, registry, tierMapper, (int) count, rate, new Random(seed));
+            System.out.println(LOG_PREFIX + events.size() + " generated event(s) over " + items + " items, "
+                    + registry.getTotalEligible() + " eligible");
+        }
+        boolean paced = rate != 0;
+
+        InventoryChangeEvent[] replay = build(events);
+        long[] offsets = new long[events.size()];
+        for (int i = 0; i < offsets.length; i++) offsets[i] = events.get(i).offsetNanos();
+        events = null;
+
+        QualityAssigner assigner = new QualityAssigner(registry, config, tierMapper);
+        QualityMetrics.get().setEnabled(metrics);
+
+        // Warm-up: unpaced, not measured
+        run(assigner, replay, offsets, Math.min(WARMUP_EVENTS, replay.length), false, null, null);
+        QualityMetrics.get().reset();
+
+        LatencyHistogram service = new LatencyHistogram("service");
+        LatencyHistogram response = new LatencyHistogram("response");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long elapsed = run(assigner, replay, offsets, replay.length, paced, service, response);
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        report(replay.length, elapsed, allocated, service, paced ? response : null, metrics);
+    }
+
+    // ── Startup ──
+
+    /** The asset-load path of the plugin, up to the variants the assigner swaps to. */
+    private static void startup(QualityConfig config, QualityRegistry registry, QualityTierMapper tierMapper) {
+        QualityItemFactory.initIgnoreList(config);
+        registry.scanEligibleItems();
+        tierMapper.initialize();
+        tierMapper.createVariants(registry, config);
+    }
+
+    // ── Trace source ──
+
+    private static List<Event> readTrace(Path file) throws Exception {
+        List<Event> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Event event = EventTrace.parse(line);
+                if (event != null) events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Creates a stand-in asset for every base item the trace references.
+     * Eligible ones get an armor component (any of weapon/armor/tool makes an
+     * item eligible); variants are then cloned by the real startup path.
+     */
+    private static void installTraceItems(List<Event> events, VariantCatalog catalog, long seed) {
+        Set<String> baseIds = new LinkedHashSet<>();
+        for (Event event : events) {
+            for (Touch touch : event.touches()) {
+                if (touch.itemId() != null) baseIds.add(ItemQuality.extractBaseId(touch.itemId()));
+            }
+        }
+
+        SyntheticCatalog.generate(0, 0, 0, seed).install();
+        List<Item> assets = new ArrayList<>(baseIds.size());
+        for (String id : baseIds) {
+            Item item = new Item(id);
+            boolean eligible = catalog != null ? catalog.isEligible(id)
+                    : id.startsWith("Weapon_") || id.startsWith("Armor_") || id.startsWith("Tool_");
+            if (eligible) {
+                item.setArmor(new ItemArmor());
+                item.setMaxDurability(catalog != null ? catalog.getMaxDurability(id) : 100);
+            }
+            assets.add(item);
+        }
+        Item.getAssetStore().loadAssets("Trace", assets);
+    }
+
+    /** Spreads the trace's events evenly at {@code rate} per second, keeping their order. */
+    private static List<Event> rescale(List<Event> events, int rate) {
+        List<Event> scaled = new ArrayList<>(events.size());
+        long interval = 1_000_000_000L / rate;
+        for (int i = 0; i < events.size(); i++) {
+            Event e = events.get(i);
+            scaled.add(new Event(i * interval, e.type(), e.succeeded(), e.container(), e.capacity(),
+                    e.otherContainer(), e.otherCapacity(), e.touches()));
+        }
+        return scaled;
+    }
+
+    // ── Generated source ──
+
+    private static List<Event> generate(SyntheticCatalog catalog, QualityRegistry registry, QualityTierMapper tierMapper,
+                                        int count, int rate, Random random) {
+        List<String> eligible = new ArrayList<>(registry.getEligibleItemIds());
+        List<String> variants = new ArrayList<>(tierMapper.getVariantToBaseMap().keySet());
+        List<String> other = new ArrayList<>();
+        for (String id : catalog.getItemIds()) {
+            if (!registry.isEligible(id)) other.add(id);
+        }
+        eligible.sort(null);
+        variants.sort(null);
+        other.sort(null);
+
+        long interval = rate > 0 ? 1_000_000_000L / rate : 0;
+        List<Event> events = new ArrayList<>(count);
+        long offset = 0;
+        while (events.size() < count) {
+            if (random.nextInt(BURST_EVERY) == 0) {
+                // Crafting: item-stack transactions of outputs, mostly gear.
+                // Looting: list transactions of pickups into the same container
+                boolean crafting = random.nextBoolean();
+                int container = random.nextInt(CONTAINERS);
+                int burst = 50 + random.nextInt(150);
+                for (int b = 0; b < burst && events.size() < count; b++) {
+                    offset += interval / BURST_SPEEDUP;
+                    TxType type = crafting ? TxType.ITEM_STACK : TxType.LIST;
+                    int touches = crafting ? 1 : 1 + random.nextInt(4);
+                    events.add(event(offset, type, container, -1, touches, 0.4, eligible, variants, other, random));
+                }
+                continue;
+            }
+
+            offset += interval;
+            TxType type = pickType(random);
+            int container = random.nextInt(CONTAINERS);
+            int otherContainer = type == TxType.MOVE ? random.nextInt(CONTAINERS) : -1;
+            int touches = switch (type) {
+                case SLOT, MOVE -> 1;
+                case ITEM_STACK -> 1 + random.nextInt(2);
+                case LIST -> 2 + random.nextInt(6);
+                case OTHER -> 0;
+            };
+            events.add(event(offset, type, container, otherContainer, touches,
+                    NON_ELIGIBLE_SHARE, eligible, variants, other, random));
+        }
+        return events;
+    }
+
+    private static TxType pickType(Random random) {
+        double r = random.nextDouble();
+        for (int t = 0; t < TYPE_MIX.length; t++) {
+            if (r < TYPE_MIX[t]) return TxType.values()[t];
+            r -= TYPE_MIX[t];
+        }
+        return TxType.OTHER;
+    }
+
+    private static Event event(long offset, TxType type, int container, int otherContainer, int touchCount,
+                               double nonEligibleShare, List<String> eligible, List<String> variants,
+                               List<String> other, Random random) {
+        List<Touch> touches = new ArrayList<>(touchCount);
+        for (int t = 0; t < touchCount; t++) {
+            double r = random.nextDouble();
+            String itemId;
+            if (r < nonEligibleShare || eligible.isEmpty()) {
+                itemId = other.get(random.nextInt(other.size()));
+            } else if (r < nonEligibleShare + VARIANT_SHARE && !variants.isEmpty()) {
+                itemId = variants.get(random.nextInt(variants.size()));
+            } else {
+                itemId = eligible.get(random.nextInt(eligible.size()));
+            }
+            touches.add(new Touch((short) random.nextInt(CONTAINER_CAPACITY), itemId, 1 + random.nextInt(16), true));
+        }
+        boolean succeeded = random.nextDouble() >= FAILED_SHARE;
+        return new Event(offset, type, succeeded, container, CONTAINER_CAPACITY,
+                otherContainer, otherContainer >= 0 ? CONTAINER_CAPACITY : 0, touches);
+    }
+
+    // ── Event → InventoryChangeEvent ──
+
+    /** Builds every event up front; the slots they touch are filled in the stand-in containers. */
+    private static InventoryChangeEvent[] build(List<Event> events) {
+        Map<Integer, ItemContainer> containers = new HashMap<>();
+        Map<String, ItemStack> stacks = new HashMap<>();
+        InventoryChangeEvent[] built = new InventoryChangeEvent[events.size()];
+
+        for (int i = 0; i < built.length; i++) {
+            Event e = events.get(i);
+            ItemContainer container = container(containers, e.container(), e.capacity(), e.touches());
+            ItemContainer target = e.otherContainer() >= 0
+                    ? container(containers, e.otherContainer(), e.otherCapacity(), e.touches()) : container;
+
+            List<ItemStackSlotTransaction> slotTxs = new ArrayList<>(e.touches().size());
+            for (Touch touch : e.touches()) {
+                ItemStack after = touch.itemId() == null ? ItemStack.EMPTY
+                        : stacks.computeIfAbsent(touch.itemId() + '\t' + touch.quantity(),
+                                k -> new ItemStack(touch.itemId(), touch.quantity()));
+                target.setItemStackForSlot(touch.slot(), after);
+                slotTxs.add(new ItemStackSlotTransaction(touch.succeeded(), touch.slot(), null, after));
+            }
+            SlotTransaction first = slotTxs.isEmpty()
+                    ? new SlotTransaction(e.succeeded(), (short) 0, null, ItemStack.EMPTY) : slotTxs.get(0);
+
+            Transaction transaction = switch (e.type()) {
+                case SLOT -> first;
+                case ITEM_STACK -> new ItemStackTransaction(e.succeeded(), slotTxs);
+                case MOVE -> new MoveTransaction<>(e.succeeded(),
+                        new SlotTransaction(true, first.getSlot(), null, ItemStack.EMPTY), target,
+                        slotTxs.size() == 1 ? first : new ItemStackTransaction(true, slotTxs));
+                case LIST -> new ListTransaction<>(e.succeeded(), slotTxs);
+                case OTHER -> new OtherTransaction(e.succeeded());
+            };
+            built[i] = new InventoryChangeEvent(container, transaction);
+        }
+        return built;
+    }
+
+    private static ItemContainer container(Map<Integer, ItemContainer> containers, int id, short capacity,
+                                           List<Touch> touches) {
+        ItemContainer container = containers.get(id);
+        if (container != null) return container;
+        short needed = capacity;
+        for (Touch touch : touches) needed = (short) Math.max(needed, touch.slot() + 1);
+        container = new SimpleItemContainer((short) Math.max(needed, CONTAINER_CAPACITY));
+        for (short s = 0; s < container.getCapacity(); s++) container.setItemStackForSlot(s, ItemStack.EMPTY);
+        containers.put(id, container);
+        return container;
+    }
+
+    // ── Replay ──
+
+    /** Replays the first {@code count} events; returns the elapsed nanoseconds. */
+    private static long run(QualityAssigner assigner, InventoryChangeEvent[] events, long[] offsets, int count,
+                            boolean paced, LatencyHistogram service, LatencyHistogram response) {
+        ArchetypeChunk<EntityStore> chunk = new ArchetypeChunk<>();
+        Store<EntityStore> store = new Store<>();
+        CommandBuffer<EntityStore> buffer = new CommandBuffer<>();
+
+        long origin = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long scheduled = origin + offsets[i];
+            if (paced) {
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    if (wait > 2_000_000) LockSupport.parkNanos(wait - 1_000_000);
+                    else Thread.onSpinWait();
+                }
+            }
+            long start = System.nanoTime();
+            assigner.handle(0, chunk, store, buffer, events[i]);
+            long end = System.nanoTime();
+            if (service != null) {
+                service.record(end - start);
+                if (paced) response.record(end - Math.min(scheduled, start));
+            }
+        }
+        return System.nanoTime() - origin;
+    }
+
+    private static void report(int events, long elapsedNanos, long allocatedBytes,
+                               LatencyHistogram service, LatencyHistogram response, boolean metrics) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "Events        %,d in %.2f s", events, seconds));
+        System.out.println(String.format(Locale.ROOT, "Throughput    %,.0f events/s", events / seconds));
+        printLatency(service);
+        if (response != null) printLatency(response);
+        System.out.println(String.format(Locale.ROOT, "Allocation    %,.1f MB/s, %,.1f bytes/event",
+                allocatedBytes / 1048576.0 / seconds, (double) allocatedBytes / events));
+
+        if (metrics) {
+            QualityMetrics m = QualityMetrics.get();
+            StringBuilder rejections = new StringBuilder();
+            for (RejectReason reason : RejectReason.values()) {
+                rejections.append(' ').append(reason.name().toLowerCase(Locale.ROOT)).append('=').append(m.getRejections(reason));
+            }
+            System.out.println("Assigner      rewrites=" + m.getSlotRewrites() + rejections);
+        }
+        System.out.println();
+    }
+
+    private static void printLatency(LatencyHistogram h) {
+        System.out.println(String.format(Locale.ROOT, "%-13s p50 %,.2f us  p99 %,.2f us  p999 %,.2f us  max %,.2f us",
+                "Latency " + h.getName(), h.getPercentileNanos(50) / 1e3, h.getPercentileNanos(99) / 1e3,
+                h.getPercentileNanos(99.9) / 1e3, h.getMaxNanos() / 1e3));
+    }
+}
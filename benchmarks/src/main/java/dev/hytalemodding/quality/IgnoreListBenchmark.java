@@ -0,0 +1,49 @@
+package dev.hytalemodding.quality;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QualityItemFactory#isIgnored} with the default ignore list and with
+ * a large server-configured one, for a hit, a miss and a '*' state variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IgnoreListBenchmark {
+
+    /** Prefixes added on top of the defaults. */
+    @Param({"0", "200"})
+    public int extraPrefixes;
+
+    @Param({"Weapon_Arrow_Crude", "Weapon_Sword_Copper", "*Tool_Watering_Can_State_Filled_Water"})
+    public String itemId;
+
+    @Setup
+    public void setup() {
+        String[] extra = new String[extraPrefixes];
+        for (int i = 0; i < extraPrefixes; i++) {
+            extra[i] = "Modded_Consumable_" + i;
+        }
+        QualityItemFactory.initIgnoreList(extra);
+    }
+
+    @Benchmark
+    public boolean isIgnored() {
+        return QualityItemFactory.isIgnored(itemId);
+    }
+}
@@ -0,0 +1,45 @@
+package dev.hytalemodding.quality;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suffix parsing and weighted rolls in {@link ItemQuality}.
+ * IDs: no suffix (full loop), first tier checked, last tier checked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemQualityBenchmark {
+
+    @Param({"Rock_Stone", "Weapon_Sword_Copper_Poor", "Weapon_Sword_Copper_Legendary"})
+    public String itemId;
+
+    @Benchmark
+    public ItemQuality fromItemId() {
+        return ItemQuality.fromItemId(itemId);
+    }
+
+    @Benchmark
+    public String extractBaseId() {
+        return ItemQuality.extractBaseId(itemId);
+    }
+
+    @Benchmark
+    public ItemQuality rollFromWeights() {
+        return ItemQuality.rollFromWeights(25, 40, 20, 10, 4, 1);
+    }
+}
@@ -0,0 +1,70 @@
+package dev.hytalemodding.quality;
+
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.fixtures.SyntheticCatalog;
+import dev.hytalemodding.quality.LootDistributionSimulator.Result;
+
+import java.nio.file.Path;
+
+/**
+ * Runs {@link LootDistributionSimulator} over the rewritten drop lists of a
+ * synthetic catalog, as {@code /rqc lootsim run} does on a server, and
+ * prints the summary (throughput, tier histogram, chi-square, flagged lists).
+ * Exits with status 1 if a list is flagged or the overall histogram does not
+ * match the LootWeight* values.
+ * <pre>
+ *   java -cp target/benchmarks.jar dev.hytalemodding.quality.LootSimulationBenchmark
+ *        [--items 5000] [--samples 200000] [--threads 0] [--report &lt;dir&gt;]
+ * </pre>
+ */
+public final class LootSimulationBenchmark {
+
+    private static final String LOG_PREFIX = "[RQC] LootSim: ";
+    private static final long SEED = 42;
+
+    private LootSimulationBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int items = 5_000;
+        int samples = 200_000;
+        int threads = 0;
+        Path report = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--items" -> items = Math.max(10, Integer.parseInt(args[++i]));
+                case "--samples" -> samples = Math.max(1, Integer.parseInt(args[++i]));
+                case "--threads" -> threads = Math.max(0, Integer.parseInt(args[++i]));
+                case "--report" -> report = Path.of(args[++i]);
+                default -> {
+                    System.out.println("Usage: LootSimulationBenchmark [--items 5000] [--samples 200000]"
+                            + " [--threads 0] [--report <dir>]");
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        SyntheticCatalog.generate(items,
+                Math.max(1, (int) (items * StartupScalingBenchmark.DROP_LISTS_PER_ITEM)),
+                Math.max(1, (int) (items * StartupScalingBenchmark.RECIPES_PER_ITEM)), SEED).install();
+
+        QualityConfig config = new QualityConfig();
+        QualityRegistry registry = new QualityRegistry();
+        QualityTierMapper tierMapper = new QualityTierMapper();
+        QualityItemFactory.initIgnoreList(config);
+        registry.scanEligibleItems();
+        tierMapper.initialize();
+        QualityReverseIndex.Builder indexBuilder = new QualityReverseIndex.Builder(registry);
+        tierMapper.createVariants(registry, config, indexBuilder);
+        new LootDropModifier(config, tierMapper, registry).modifyDropLists(indexBuilder);
+
+        Result result = new LootDistributionSimulator(registry, tierMapper, config).run(samples, threads, SEED);
+        System.out.println(LOG_PREFIX + LootDistributionSimulator.summary(result));
+        if (report != null) {
+            System.out.println(LOG_PREFIX + "Report written to " + LootDistributionSimulator.write(result, report));
+        }
+
+        if (result.flaggedCount() > 0 || result.pValue() < LootDistributionSimulator.ALPHA) System.exit(1);
+    }
+}
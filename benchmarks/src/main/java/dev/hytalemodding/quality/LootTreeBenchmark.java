@@ -0,0 +1,89 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ChoiceItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.SingleItemDropContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LootDropModifier#processContainer} on synthetic drop trees:
+ * choice nodes of the given fan-out down to the given depth, with one leaf
+ * in four referencing an eligible item. Leaves reuse a small set of items,
+ * like real drop tables, so interning and shared-node memoization apply.
+ *
+ * The tree is rewritten in place, so every call needs a fresh tree and
+ * modifier. Building them in a {@code Level.Invocation} setup would mostly
+ * measure JMH's per-invocation timer overhead on the small trees, so the
+ * build is timed instead: {@link #buildTree} is the baseline and
+ * {@link #buildAndProcess} builds the same tree and rewrites it. The
+ * rewrite costs the difference of the two scores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LootTreeBenchmark {
+
+    @Param({"3", "5"})
+    public int depth;
+
+    @Param({"4", "8"})
+    public int fanOut;
+
+    private BenchCatalog catalog;
+    private int leafCounter;
+
+    @Setup(Level.Trial)
+    public void setupCatalog() {
+        catalog = new BenchCatalog(500);
+    }
+
+    /** Baseline: a fresh modifier and tree, as {@link #buildAndProcess} needs them. */
+    @Benchmark
+    public ItemDropContainer buildTree(Blackhole bh) {
+        bh.consume(new LootDropModifier(catalog.config, catalog.tierMapper, catalog.registry));
+        leafCounter = 0;
+        return buildTree(depth);
+    }
+
+    @Benchmark
+    public ItemDropContainer buildAndProcess() {
+        LootDropModifier modifier = new LootDropModifier(catalog.config, catalog.tierMapper, catalog.registry);
+        leafCounter = 0;
+        return modifier.processContainer(buildTree(depth));
+    }
+
+    private ItemDropContainer buildTree(int level) {
+        if (level == 0) {
+            int n = leafCounter++;
+            List<String> bases = catalog.baseIds;
+            String itemId = (n % 4 == 0)
+                    ? bases.get((n / 4) % bases.size())
+                    : BenchCatalog.nonEligibleId(n % 64);
+            return new SingleItemDropContainer(new ItemDrop(itemId, null, 1, 1), 1.0);
+        }
+        ItemDropContainer[] children = new ItemDropContainer[fanOut];
+        for (int i = 0; i < fanOut; i++) {
+            children[i] = buildTree(level - 1);
+        }
+        return new ChoiceItemDropContainer(children, 1.0);
+    }
+}
@@ -0,0 +1,377 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+import com.hypixel.hytale.server.core.inventory.InventoryChangeEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ListTransaction;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.RootInteraction;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.hytalemodding.bench.HeapWalker;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.fixtures.SyntheticCatalog;
+import dev.hytalemodding.metrics.DecisionRecorder;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.migration.MigrationLedger;
+import dev.hytalemodding.migration.QualityMigration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Compressed-time soak test: runs many simulated server "days" of player
+ * joins, crafts, loot and asset reloads against the stand-in APIs and checks
+ * that nothing the plugin keeps grows without bound.
+ *
+ * Each day:
+ * <ul>
+ *   <li><b>Reload</b> (every {@code --reload-every} days) — the catalog is
+ *       generated again from the same seed and loaded over the asset maps
+ *       ({@link SyntheticCatalog#reload}: new base assets, the plugin's
+ *       variants stay), then the plugin's {@code LoadAssetEvent} path runs
+ *       again: ignore list, registry scan, tiers, variants, loot rewrite,
+ *       reverse index.</li>
+ *   <li><b>Joins</b> — players from a growing pool join, are looked up in a
+ *       file-backed {@link MigrationLedger} and recorded on first join, as
+ *       {@code QualityMigration} does.</li>
+ *   <li><b>Crafts and loot</b> — crafted gear (item-stack transactions) and
+ *       picked-up drops rolled from the rewritten drop lists (list
+ *       transactions) go through {@link QualityAssigner#handle}.</li>
+ * </ul>
+ *
+ * At the end of every day the settled heap, asset map sizes, registry and
+ * tier mapper sizes, pending interaction clones, and the objects reachable
+ * from the drop trees and the plugin's own structures are sampled. The
+ * catalog never changes, so each of these must stay flat once the first
+ * reload has run; the ledger is the only thing allowed to grow, and only by
+ * one entry per distinct player (it is sampled as entries beyond that). A
+ * metric that never decreases and ends higher than it started is reported
+ * as a leak and the process exits with status 1; the heap, which is noisy,
+ * must in addition grow on most days and by more than {@link #HEAP_TOLERANCE}.
+ * <pre>
+ *   java -cp target/benchmarks.jar dev.hytalemodding.quality.SoakHarness
+ *        [--days 30] [--reload-every 1] [--items 2000] [--events 20000]
+ *        [--joins 200] [--rolling] [--seed 42]
+ * </pre>
+ * {@code --rolling} turns on LootRuntimeRolling, whose drop containers are
+ * the ones a second loot pass must recognize and leave alone.
+ */
+public final class SoakHarness {
+
+    private static final String LOG_PREFIX = "[RQC] Soak: ";
+
+    /** Share of joins by players never seen before. */
+    private static final double NEW_PLAYER_SHARE = 0.1;
+    /** Share of assigner events that are loot pickups (the rest are crafts). */
+    private static final double LOOT_SHARE = 0.5;
+
+    private static final int CONTAINERS = 16;
+    private static final short CONTAINER_CAPACITY = 45;
+
+    /** Heap growth below this fraction of the first sample (or 2 MB) is noise. */
+    private static final double HEAP_TOLERANCE = 0.05;
+    private static final long HEAP_TOLERANCE_MIN = 2L << 20;
+    /** Share of day-to-day steps the heap must grow in to count as growing. */
+    private static final double HEAP_GROWTH_STEPS = 0.75;
+
+    private final int items;
+    private final long seed;
+    private final QualityConfig config;
+    private final QualityRegistry registry = new QualityRegistry();
+    private final QualityTierMapper tierMapper = new QualityTierMapper();
+    private final QualityAssigner assigner;
+    private final MigrationLedger ledger;
+    private final Random random;
+
+    private QualityReverseIndex reverseIndex;
+    private List<ItemDropList> dropLists = List.of();
+    private List<String> craftables = List.of();
+
+    private final List<UUID> players = new ArrayList<>();
+    private final ItemContainer[] containers = new ItemContainer[CONTAINERS];
+
+    private final ArchetypeChunk<EntityStore> chunk = new ArchetypeChunk<>();
+    private final Store<EntityStore> store = new Store<>();
+    private final CommandBuffer<EntityStore> buffer = new CommandBuffer<>();
+
+    private SoakHarness(int items, long seed, QualityConfig config, MigrationLedger ledger) {
+        this.items = items;
+        this.seed = seed;
+        this.config = config;
+        this.ledger = ledger;
+        this.random = new Random(seed);
+        this.assigner = new QualityAssigner(registry, config, tierMapper);
+        for (int i = 0; i < CONTAINERS; i++) {
+            containers[i] = new SimpleItemContainer(CONTAINER_CAPACITY);
+            for (short s = 0; s < CONTAINER_CAPACITY; s++) containers[i].setItemStackForSlot(s, ItemStack.EMPTY);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int days = 30;
+        int reloadEvery = 1;
+        int items = 2_000;
+        int events = 20_000;
+        int joins = 200;
+        boolean rolling = false;
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--days" -> days = Math.max(3, Integer.parseInt(args[++i]));
+                case "--reload-every" -> reloadEvery = Math.max(1, Integer.parseInt(args[++i]));
+                case "--items" -> items = Math.max(100, Integer.parseInt(args[++i]));
+                case "--events" -> events = Math.max(0, Integer.parseInt(args[++i]));
+                case "--joins" -> joins = Math.max(0, Integer.parseInt(args[++i]));
+                case "--rolling" -> rolling = true;
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> {
+                    System.out.println("Usage: SoakHarness [--days 30] [--reload-every 1] [--items 2000]"
+                            + " [--events 20000] [--joins 200] [--rolling] [--seed 42]");
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        QualityConfig config = new QualityConfig();
+        if (rolling) setConfigFlag(config, "lootRuntimeRolling", true);
+
+        Path ledgerFile = Files.createTempFile("rqc-soak-", ".ledger");
+        Files.delete(ledgerFile);
+        List<Map<String, Long>> samples = new ArrayList<>();
+        int firstReload;
+        try (MigrationLedger ledger = MigrationLedger.open(ledgerFile)) {
+            SoakHarness soak = new SoakHarness(items, seed, config, ledger);
+            soak.catalog().install();
+            soak.loadAssets();
+            samples.add(soak.sample());
+
+            firstReload = -1;
+            for (int day = 1; day <= days; day++) {
+                if (day % reloadEvery == 0) {
+                    soak.catalog().reload();
+                    soak.loadAssets();
+                    if (firstReload < 0) firstReload = day;
+                }
+                soak.joins(joins);
+                soak.traffic(events);
+                samples.add(soak.sample());
+                if (day % 5 == 0 || day == days) {
+                    System.out.println(LOG_PREFIX + "day " + day + "/" + days + ", heap "
+                            + samples.get(day).get("heap-kb") / 1024 + " MB, " + soak.players.size() + " players");
+                }
+            }
+        } finally {
+            Files.deleteIfExists(ledgerFile);
+        }
+
+        List<String> leaks = check(samples.subList(Math.max(firstReload, 0), samples.size()));
+        print(samples, firstReload);
+        if (!leaks.isEmpty()) {
+            for (String leak : leaks) System.out.println(LOG_PREFIX + "GROWING " + leak);
+            System.exit(1);
+        }
+        System.out.println(LOG_PREFIX + "No unbounded growth over " + days + " days.");
+    }
+
+    // ── Simulation ──
+
+    private SyntheticCatalog catalog() {
+        return SyntheticCatalog.generate(items,
+                Math.max(1, (int) (items * StartupScalingBenchmark.DROP_LISTS_PER_ITEM)),
+                Math.max(1, (int) (items * StartupScalingBenchmark.RECIPES_PER_ITEM)), seed);
+    }
+
+    /** The plugin's LoadAssetEvent handler, in the same order. */
+    private void loadAssets() {
+        QualityItemFactory.initIgnoreList(config);
+        registry.scanEligibleItems();
+        tierMapper.initialize();
+        QualityReverseIndex.Builder indexBuilder = new QualityReverseIndex.Builder(registry);
+        tierMapper.createVariants(registry, config, indexBuilder);
+        new LootDropModifier(config, tierMapper, registry).modifyDropLists(indexBuilder);
+        reverseIndex = indexBuilder.build();
+
+        dropLists = new ArrayList<>(ItemDropList.getAssetMap().getAssetMap().values());
+        craftables = new ArrayList<>(registry.getEligibleItemIds());
+        craftables.sort(null);
+    }
+
+    private void joins(int count) {
+        for (int i = 0; i < count; i++) {
+            UUID uuid;
+            if (players.isEmpty() || random.nextDouble() < NEW_PLAYER_SHARE) {
+                uuid = new UUID(random.nextLong(), random.nextLong());
+                players.add(uuid);
+            } else {
+                uuid = players.get(random.nextInt(players.size()));
+            }
+            if (ledger.getVersion(uuid) < QualityMigration.MIGRATION_VERSION) {
+                ledger.record(uuid, QualityMigration.MIGRATION_VERSION);
+            }
+        }
+    }
+
+    private void traffic(int count) {
+        for (int i = 0; i < count; i++) {
+            ItemContainer container = containers[random.nextInt(CONTAINERS)];
+            if (random.nextDouble() < LOOT_SHARE && !dropLists.isEmpty()) {
+                loot(container);
+            } else if (!craftables.isEmpty()) {
+                craft(container);
+            }
+        }
+    }
+
+    /** A crafted piece of gear placed in one slot. */
+    private void craft(ItemContainer container) {
+        short slot = (short) random.nextInt(CONTAINER_CAPACITY);
+        ItemStack output = new ItemStack(craftables.get(random.nextInt(craftables.size())), 1);
+        container.setItemStackForSlot(slot, output);
+        List<ItemStackSlotTransaction> slots = List.of(new ItemStackSlotTransaction(true, slot, null, output));
+        assigner.handle(0, chunk, store, buffer, new InventoryChangeEvent(container, new ItemStackTransaction(true, slots)));
+    }
+
+    /** Everything one drop list rolls, picked up in one list transaction. */
+    private void loot(ItemContainer container) {
+        ItemDropList list = dropLists.get(random.nextInt(dropLists.size()));
+        if (list.getContainer() == null) return;
+        List<ItemStackSlotTransaction> slots = new ArrayList<>();
+        for (ItemDrop drop : list.getContainer().getDrops(random::nextDouble)) {
+            if (drop == null || drop.getItemId() == null) continue;
+            short slot = (short) random.nextInt(CONTAINER_CAPACITY);
+            ItemStack stack = new ItemStack(drop.getItemId(), Math.max(1, drop.getQuantityMin()));
+            container.setItemStackForSlot(slot, stack);
+            slots.add(new ItemStackSlotTransaction(true, slot, null, stack));
+        }
+        if (slots.isEmpty()) return;
+        assigner.handle(0, chunk, store, buffer, new InventoryChangeEvent(container, new ListTransaction<>(true, slots)));
+    }
+
+    // ── Sampling ──
+
+    private Map<String, Long> sample() throws InterruptedException {
+        Map<String, Long> s = new LinkedHashMap<>();
+        s.put("heap-kb", settledHeap() / 1024);
+
+        s.put("items", (long) Item.getAssetMap().getAssetCount());
+        s.put("interactions", (long) Interaction.getAssetMap().getAssetCount());
+        s.put("root-interactions", (long) RootInteraction.getAssetMap().getAssetCount());
+        s.put("recipes", (long) CraftingRecipe.getAssetMap().getAssetCount());
+        s.put("drop-lists", (long) ItemDropList.getAssetMap().getAssetCount());
+
+        s.put("eligible", (long) registry.getEligibleItemIds().size());
+        s.put("total-eligible", (long) registry.getTotalEligible());
+        s.put("variants", (long) tierMapper.getVariantToBaseMap().size());
+        s.put("variants-created", (long) tierMapper.getVariantsCreated());
+        s.put("pending-interactions", (long) tierMapper.getPendingInteractionCount());
+        s.put("ledger-extra", (long) ledger.size() - players.size());
+
+        // Objects reachable from each structure, charged to the first that reaches them
+        HeapWalker walker = new HeapWalker();
+        s.put("objects:drop-trees", reachable(walker, dropLists));
+        s.put("objects:tier-mapper", reachable(walker, tierMapper));
+        s.put("objects:registry", reachable(walker, registry));
+        s.put("objects:reverse-index", reachable(walker, reverseIndex));
+        s.put("objects:metrics", reachable(walker, QualityMetrics.get()));
+        s.put("objects:decisions", reachable(walker, DecisionRecorder.get()));
+        return s;
+    }
+
+    private static long reachable(HeapWalker walker, Object root) {
+        int before = walker.visitedCount();
+        walker.mark(root);
+        return walker.visitedCount() - before;
+    }
+
+    /** Used heap after a few full collections. */
+    private static long settledHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // ── Growth check ──
+
+    /**
+     * Metrics that never decrease and end higher than they started. The heap
+     * must also grow in most steps and by more than the tolerance.
+     */
+    static List<String> check(List<Map<String, Long>> samples) {
+        List<String> leaks = new ArrayList<>();
+        if (samples.size() < 3) return leaks;
+        for (String metric : samples.get(0).keySet()) {
+            long first = samples.get(0).get(metric);
+            long last = samples.get(samples.size() - 1).get(metric);
+            boolean heap = metric.equals("heap-kb");
+            int growing = 0;
+            boolean monotonic = true;
+            for (int i = 1; i < samples.size(); i++) {
+                long delta = samples.get(i).get(metric) - samples.get(i - 1).get(metric);
+                if (delta > 0) growing++;
+                if (delta < 0) monotonic = false;
+            }
+
+            if (heap) {
+                long tolerance = Math.max((long) (first * HEAP_TOLERANCE), HEAP_TOLERANCE_MIN / 1024);
+                if (growing >= (samples.size() - 1) * HEAP_GROWTH_STEPS && last - first > tolerance) {
+                    leaks.add(String.format(Locale.ROOT, "%s: %d -> %d KB, grew on %d/%d days",
+                            metric, first, last, growing, samples.size() - 1));
+                }
+            } else if (monotonic && last > first) {
+                leaks.add(String.format(Locale.ROOT, "%s: %d -> %d (+%d over %d days)",
+                        metric, first, last, last - first, samples.size() - 1));
+            }
+        }
+        return leaks;
+    }
+
+    private static void print(List<Map<String, Long>> samples, int firstReload) {
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-22s %12s %12s %12s %8s",
+                "metric", "startup", "1st reload", "last day", "change"));
+        Map<String, Long> startup = samples.get(0);
+        Map<String, Long> reload = samples.get(Math.max(firstReload, 0));
+        Map<String, Long> last = samples.get(samples.size() - 1);
+        for (String metric : startup.keySet()) {
+            long from = reload.get(metric);
+            long to = last.get(metric);
+            String change = from == 0 ? (to == 0 ? "0%" : "new")
+                    : String.format(Locale.ROOT, "%+.1f%%", (to - from) * 100.0 / from);
+            System.out.println(String.format(Locale.ROOT, "%-22s %12d %12d %12d %8s",
+                    metric, startup.get(metric), from, to, change));
+        }
+        System.out.println();
+    }
+
+    /** Sets a config flag that has no setter (config fields are only written by the codec). */
+    private static void setConfigFlag(QualityConfig config, String field, boolean value) throws Exception {
+        Field f = QualityConfig.class.getDeclaredField(field);
+        f.setAccessible(true);
+        f.setBoolean(config, value);
+    }
+}
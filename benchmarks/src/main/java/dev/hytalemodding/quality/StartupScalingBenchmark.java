@@ -0,0 +1,313 @@
+package dev.hytalemodding.quality;
+
+import dev.hytalemodding.compat.CompatBridgeManager;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.fixtures.SyntheticCatalog;
+import dev.hytalemodding.migration.VariantCatalog;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Startup scaling harness: runs the same pipeline as
+ * {@code RomnasQualityCrafting.onAssetsLoaded} (scan → tiers → variants →
+ * loot → catalog → compat) over synthetic catalogs of increasing size and
+ * records, per phase, wall time, peak heap and retained heap.
+ *
+ * Drop lists and salvage/crafting recipes are generated in proportion to the
+ * item count ({@link #DROP_LISTS_PER_ITEM}, {@link #RECIPES_PER_ITEM}).
+ * Between two consecutive sizes, the per-item cost of a phase (time and
+ * retained heap) may grow by at most {@link #TIME_TOLERANCE} /
+ * {@link #HEAP_TOLERANCE}; anything worse is reported as super-linear and
+ * the process exits with status 1.
+ *
+ * Not a JMH benchmark (each run is a one-shot startup): run it on the
+ * test-fixtures class path, with enough heap for the largest size:
+ * <pre>
+ *   java -Xmx4g -cp target/benchmarks.jar dev.hytalemodding.quality.StartupScalingBenchmark
+ *        [--sizes 500,5000,50000] [--runs 3] [--no-check]
+ * </pre>
+ * Results are also written to {@code results/startup-<version>.json}.
+ */
+public final class StartupScalingBenchmark {
+
+    private static final String LOG_PREFIX = "[RQC] StartupScaling: ";
+
+    static final int[] DEFAULT_SIZES = { 500, 5_000, 50_000 };
+    static final double DROP_LISTS_PER_ITEM = 0.2;
+    static final double RECIPES_PER_ITEM = 0.25;
+
+    /** Allowed growth of the per-item cost between two consecutive sizes. */
+    static final double TIME_TOLERANCE = 1.5;
+    static final double HEAP_TOLERANCE = 1.25;
+
+    /** Below these a phase is too small to judge (timer and GC noise). */
+    private static final long TIME_NOISE_FLOOR_NANOS = 5_000_000L;
+    private static final long HEAP_NOISE_FLOOR_BYTES = 1L << 20;
+
+    static final String[] PHASES = { "scan", "tiers", "variants", "loot", "catalog", "compat" };
+
+    private static final long SEED = 42;
+
+    /** One phase of one catalog size (time: median over the runs). */
+    record PhaseResult(String phase, long timeNanos, long peakHeapBytes, long retainedHeapBytes) {}
+
+    private StartupScalingBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = DEFAULT_SIZES;
+        int runs = 3;
+        boolean check = true;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sizes" -> sizes = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--runs" -> runs = Math.max(1, Integer.parseInt(args[++i]));
+                case "--no-check" -> check = false;
+                default -> {
+                    System.out.println("Usage: StartupScalingBenchmark [--sizes 500,5000,50000] [--runs 3] [--no-check]");
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        Path workDir = Files.createTempDirectory("rqc-startup");
+        Map<Integer, List<PhaseResult>> results = new LinkedHashMap<>();
+
+        // One throw-away run so class loading and the first JIT pass are not
+        // charged to the smallest size
+        runOnce(Math.min(500, sizes[0]), workDir);
+
+        for (int size : sizes) {
+            results.put(size, measure(size, runs, workDir));
+        }
+
+        printTable(results);
+        List<String> violations = checkLinear(results);
+        writeJson(results, violations);
+
+        if (!violations.isEmpty()) {
+            for (String v : violations) {
+                System.out.println(LOG_PREFIX + "SUPER-LINEAR " + v);
+            }
+            if (check) System.exit(1);
+        } else {
+            System.out.println(LOG_PREFIX + "All phases scale linearly or better.");
+        }
+    }
+
+    // ── Measurement ──
+
+    private static List<PhaseResult> measure(int size, int runs, Path workDir) throws Exception {
+        long[][] times = new long[PHASES.length][runs];
+        long[] peak = new long[PHASES.length];
+        long[] retained = new long[PHASES.length];
+
+        for (int r = 0; r < runs; r++) {
+            List<PhaseResult> run = runOnce(size, workDir);
+            for (int p = 0; p < PHASES.length; p++) {
+                times[p][r] = run.get(p).timeNanos();
+                // Heap figures of the last run (caches and JIT are warm by then)
+                peak[p] = run.get(p).peakHeapBytes();
+                retained[p] = run.get(p).retainedHeapBytes();
+            }
+        }
+
+        List<PhaseResult> results = new ArrayList<>(PHASES.length);
+        for (int p = 0; p < PHASES.length; p++) {
+            Arrays.sort(times[p]);
+            results.add(new PhaseResult(PHASES[p], times[p][runs / 2], peak[p], retained[p]));
+        }
+        return results;
+    }
+
+    /** One full startup over a freshly generated catalog. */
+    private static List<PhaseResult> runOnce(int size, Path workDir) throws Exception {
+        SyntheticCatalog catalog = SyntheticCatalog.generate(size,
+                Math.max(1, (int) (size * DROP_LISTS_PER_ITEM)),
+                Math.max(1, (int) (size * RECIPES_PER_ITEM)), SEED);
+        catalog.install();
+
+        QualityConfig config = new QualityConfig();
+        QualityRegistry registry = new QualityRegistry();
+        QualityTierMapper tierMapper = new QualityTierMapper();
+        CompatBridgeManager compatBridges = new CompatBridgeManager(StartupScalingBenchmark.class.getClassLoader());
+        compatBridges.discover();
+        QualityReverseIndex.Builder[] indexBuilder = new QualityReverseIndex.Builder[1];
+        LootDropModifier[] lootDropModifier = new LootDropModifier[1];
+        QualityReverseIndex[] reverseIndex = new QualityReverseIndex[1];
+
+        List<PhaseResult> results = new ArrayList<>(PHASES.length);
+        results.add(phase("scan", () -> {
+            QualityItemFactory.initIgnoreList(config);
+            registry.scanEligibleItems();
+        }));
+        results.add(phase("tiers", tierMapper::initialize));
+        results.add(phase("variants", () -> {
+            indexBuilder[0] = new QualityReverseIndex.Builder(registry);
+            tierMapper.createVariants(registry, config, indexBuilder[0]);
+        }));
+        results.add(phase("loot", () -> {
+            lootDropModifier[0] = new LootDropModifier(config, tierMapper, registry);
+            lootDropModifier[0].modifyDropLists(indexBuilder[0]);
+            reverseIndex[0] = indexBuilder[0].build();
+        }));
+        results.add(phase("catalog", () ->
+                VariantCatalog.write(workDir.resolve(VariantCatalog.FILE_NAME), registry, tierMapper)));
+        results.add(phase("compat", () -> compatBridges.onVariantsReady(tierMapper.getVariantToBaseMap())));
+
+        // Everything built by the pipeline must stay reachable until the last
+        // phase has been measured, or its retained heap would be collected
+        Reference.reachabilityFence(catalog);
+        Reference.reachabilityFence(registry);
+        Reference.reachabilityFence(tierMapper);
+        Reference.reachabilityFence(lootDropModifier);
+        Reference.reachabilityFence(reverseIndex);
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Phase {
+        void run() throws Exception;
+    }
+
+    private static PhaseResult phase(String name, Phase body) throws Exception {
+        long before = settledHeapUsed();
+        resetPeaks();
+
+        long start = System.nanoTime();
+        body.run();
+        long elapsed = System.nanoTime() - start;
+
+        long peak = peakHeapUsed();
+        long after = settledHeapUsed();
+        return new PhaseResult(name, elapsed, Math.max(0, peak - before), Math.max(0, after - before));
+    }
+
+    // ── Heap probes ──
+
+    /** Heap in use after a few GCs (what is actually retained). */
+    private static long settledHeapUsed() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(20);
+            long now = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (now >= used) break;
+            used = now;
+        }
+        return used;
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    /** Sum of the heap pools' peaks since {@link #resetPeaks()} (an upper bound). */
+    private static long peakHeapUsed() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    // ── Scaling check ──
+
+    /**
+     * Compares the per-item cost of each phase between consecutive sizes;
+     * returns one message per phase/metric that grew faster than allowed.
+     */
+    static List<String> checkLinear(Map<Integer, List<PhaseResult>> results) {
+        List<String> violations = new ArrayList<>();
+        Integer previous = null;
+        for (int size : results.keySet()) {
+            if (previous != null) {
+                List<PhaseResult> small = results.get(previous);
+                List<PhaseResult> large = results.get(size);
+                for (int p = 0; p < PHASES.length; p++) {
+                    checkMetric(violations, PHASES[p] + " time", previous, size,
+                            small.get(p).timeNanos(), large.get(p).timeNanos(), TIME_NOISE_FLOOR_NANOS, TIME_TOLERANCE);
+                    checkMetric(violations, PHASES[p] + " retained heap", previous, size,
+                            small.get(p).retainedHeapBytes(), large.get(p).retainedHeapBytes(),
+                            HEAP_NOISE_FLOOR_BYTES, HEAP_TOLERANCE);
+                }
+            }
+            previous = size;
+        }
+        return violations;
+    }
+
+    private static void checkMetric(List<String> violations, String what, int smallSize, int largeSize,
+                                    long smallValue, long largeValue, long noiseFloor, double tolerance) {
+        if (largeValue < noiseFloor) return;
+        // A value under the floor at the smaller size is noise; assume the floor
+        double perItemSmall = (double) Math.max(smallValue, noiseFloor) / smallSize;
+        double perItemLarge = (double) largeValue / largeSize;
+        double growth = perItemLarge / perItemSmall;
+        if (growth > tolerance) {
+            violations.add(String.format(Locale.ROOT, "%s: %d -> %d items, per-item cost x%.2f (limit x%.2f)",
+                    what, smallSize, largeSize, growth, tolerance));
+        }
+    }
+
+    // ── Output ──
+
+    private static void printTable(Map<Integer, List<PhaseResult>> results) {
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-8s %-9s %12s %14s %16s",
+                "items", "phase", "time (ms)", "peak (MB)", "retained (MB)"));
+        for (Map.Entry<Integer, List<PhaseResult>> entry : results.entrySet()) {
+            for (PhaseResult r : entry.getValue()) {
+                System.out.println(String.format(Locale.ROOT, "%-8d %-9s %12.1f %14.1f %16.1f",
+                        entry.getKey(), r.phase(), r.timeNanos() / 1e6,
+                        r.peakHeapBytes() / 1048576.0, r.retainedHeapBytes() / 1048576.0));
+            }
+        }
+        System.out.println();
+    }
+
+    private static void writeJson(Map<Integer, List<PhaseResult>> results, List<String> violations) throws Exception {
+        String version = StartupScalingBenchmark.class.getPackage().getImplementationVersion();
+        if (version == null) version = "dev";
+
+        StringBuilder json = new StringBuilder("{\n  \"version\": \"").append(version).append("\",\n  \"sizes\": [\n");
+        int s = 0;
+        for (Map.Entry<Integer, List<PhaseResult>> entry : results.entrySet()) {
+            json.append("    {\"items\": ").append(entry.getKey()).append(", \"phases\": [");
+            int p = 0;
+            for (PhaseResult r : entry.getValue()) {
+                json.append(p++ == 0 ? "\n" : ",\n")
+                        .append("      {\"phase\": \"").append(r.phase())
+                        .append("\", \"timeNanos\": ").append(r.timeNanos())
+                        .append(", \"peakHeapBytes\": ").append(r.peakHeapBytes())
+                        .append(", \"retainedHeapBytes\": ").append(r.retainedHeapBytes()).append('}');
+            }
+            json.append("\n    ]}").append(++s < results.size() ? ",\n" : "\n");
+        }
+        json.append("  ],\n  \"violations\": [");
+        for (int i = 0; i < violations.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n").append("    \"")
+                    .append(violations.get(i).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        json.append(violations.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+
+        Path file = Path.of("results", "startup-" + version + ".json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+        System.out.println(LOG_PREFIX + "Results written to " + file.toAbsolutePath());
+    }
+}
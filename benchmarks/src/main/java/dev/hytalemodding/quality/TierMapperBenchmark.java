@@ -0,0 +1,59 @@
+package dev.hytalemodding.quality;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link QualityTierMapper#getBaseId} / {@link QualityTierMapper#isVariant}
+ * for a variant, a base item and an unrelated ID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TierMapperBenchmark {
+
+    @Param({"1000", "5000"})
+    public int baseItems;
+
+    @Param({"VARIANT", "BASE", "OTHER"})
+    public String kind;
+
+    private QualityTierMapper tierMapper;
+    private String itemId;
+
+    @Setup
+    public void setup() {
+        BenchCatalog catalog = new BenchCatalog(baseItems);
+        tierMapper = catalog.tierMapper;
+        String base = catalog.baseIds.get(baseItems / 2);
+        itemId = switch (kind) {
+            case "VARIANT" -> tierMapper.getVariantId(base, ItemQuality.EPIC);
+            case "BASE" -> base;
+            default -> BenchCatalog.nonEligibleId(baseItems / 2);
+        };
+    }
+
+    @Benchmark
+    public String getBaseId() {
+        return tierMapper.getBaseId(itemId);
+    }
+
+    @Benchmark
+    public boolean isVariant() {
+        return tierMapper.isVariant(itemId);
+    }
+}
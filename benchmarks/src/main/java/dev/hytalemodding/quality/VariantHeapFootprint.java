@@ -0,0 +1,253 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.RootInteraction;
+import dev.hytalemodding.bench.HeapWalker;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.fixtures.SyntheticCatalog;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Retained-heap regression check for the variant system: builds a synthetic
+ * catalog, runs the startup path (scan → tiers → variants → loot) and
+ * measures, with {@link HeapWalker}, how much heap each component keeps
+ * afterwards — everything reachable from the assets before startup is
+ * excluded, so only what the plugin added is counted.
+ *
+ * Components are walked in the order of {@link #COMPONENTS}; an object
+ * shared by two components is charged to the first. Results are normalized
+ * to bytes per variant and compared with the budgets in
+ * {@code baselines/variant-heap.properties}; a component over its budget is
+ * reported and the process exits with status 1.
+ * <pre>
+ *   java -cp target/benchmarks.jar dev.hytalemodding.quality.VariantHeapFootprint
+ *        [--items 5000] [--baseline baselines/variant-heap.properties] [--update-baseline]
+ * </pre>
+ * {@code --update-baseline} rewrites the budgets from this run plus
+ * {@link #HEADROOM}. Sizes assume the default compressed oops/class pointers
+ * (heap under 32 GB); the fixtures stand in for the server's asset classes, so
+ * the numbers track the plugin's own structures, not the real assets' size.
+ */
+public final class VariantHeapFootprint {
+
+    private static final String LOG_PREFIX = "[RQC] HeapFootprint: ";
+
+    static final String[] COMPONENTS = {
+            "armor", "tools", "weapons", "interactions", "items", "recipes",
+            "drop-trees", "tier-mapper", "registry", "reverse-index", "asset-maps" };
+
+    /** Budget = measured × HEADROOM when the baseline is rewritten. */
+    static final double HEADROOM = 1.05;
+
+    private static final Path DEFAULT_BASELINE = Path.of("baselines", "variant-heap.properties");
+    private static final long SEED = 42;
+
+    private VariantHeapFootprint() {}
+
+    public static void main(String[] args) throws Exception {
+        int items = 5_000;
+        Path baseline = DEFAULT_BASELINE;
+        boolean update = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--items" -> items = Math.max(100, Integer.parseInt(args[++i]));
+                case "--baseline" -> baseline = Path.of(args[++i]);
+                case "--update-baseline" -> update = true;
+                default -> {
+                    System.out.println("Usage: VariantHeapFootprint [--items 5000] [--baseline <file>] [--update-baseline]");
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+
+        SyntheticCatalog catalog = SyntheticCatalog.generate(items,
+                Math.max(1, (int) (items * StartupScalingBenchmark.DROP_LISTS_PER_ITEM)),
+                Math.max(1, (int) (items * StartupScalingBenchmark.RECIPES_PER_ITEM)), SEED);
+        catalog.install();
+
+        // Everything the server loaded before the plugin ran
+        QualityConfig config = new QualityConfig();
+        HeapWalker walker = new HeapWalker();
+        walker.mark(config, Item.getAssetMap(), Interaction.getAssetMap(), RootInteraction.getAssetMap(),
+                ItemDropList.getAssetMap(), CraftingRecipe.getAssetMap(),
+                com.hypixel.hytale.server.core.asset.type.item.config.ItemQuality.getAssetMap());
+        Set<String> baseItems = new HashSet<>(Item.getAssetMap().getAssetMap().keySet());
+        Set<String> baseInteractions = new HashSet<>(Interaction.getAssetMap().getAssetMap().keySet());
+        Set<String> baseRoots = new HashSet<>(RootInteraction.getAssetMap().getAssetMap().keySet());
+        Set<String> baseRecipes = new HashSet<>(CraftingRecipe.getAssetMap().getAssetMap().keySet());
+
+        QualityRegistry registry = new QualityRegistry();
+        QualityTierMapper tierMapper = new QualityTierMapper();
+        QualityItemFactory.initIgnoreList(config);
+        registry.scanEligibleItems();
+        tierMapper.initialize();
+        QualityReverseIndex.Builder indexBuilder = new QualityReverseIndex.Builder(registry);
+        tierMapper.createVariants(registry, config, indexBuilder);
+        new LootDropModifier(config, tierMapper, registry).modifyDropLists(indexBuilder);
+        QualityReverseIndex reverseIndex = indexBuilder.build();
+
+        int variants = tierMapper.getVariantsCreated();
+        List<Item> variantItems = added(Item.getAssetMap(), baseItems);
+
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytes.put("armor", sum(walker, variantItems, Item::getArmor));
+        bytes.put("tools", sum(walker, variantItems, Item::getTool));
+        bytes.put("weapons", sum(walker, variantItems, Item::getWeapon));
+        bytes.put("interactions", sum(walker, added(Interaction.getAssetMap(), baseInteractions), Function.identity())
+                + sum(walker, added(RootInteraction.getAssetMap(), baseRoots), Function.identity()));
+        bytes.put("items", sum(walker, variantItems, Function.identity()));
+        bytes.put("recipes", sum(walker, added(CraftingRecipe.getAssetMap(), baseRecipes), Function.identity()));
+        bytes.put("drop-trees", sum(walker, new ArrayList<>(ItemDropList.getAssetMap().getAssetMap().values()),
+                Function.identity()));
+        bytes.put("tier-mapper", walker.retained(tierMapper));
+        bytes.put("registry", walker.retained(registry));
+        bytes.put("reverse-index", walker.retained(reverseIndex));
+        // Growth of the asset maps' own tables and entries
+        bytes.put("asset-maps", walker.retained(List.of(Item.getAssetMap(), Interaction.getAssetMap(),
+                RootInteraction.getAssetMap(), CraftingRecipe.getAssetMap())));
+
+        Map<String, Double> perVariant = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> e : bytes.entrySet()) {
+            perVariant.put(e.getKey(), variants > 0 ? (double) e.getValue() / variants : 0);
+        }
+
+        print(items, variants, bytes, perVariant);
+        writeJson(items, variants, bytes, perVariant);
+
+        if (update) {
+            writeBaseline(baseline, items, perVariant);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println(LOG_PREFIX + "No baseline at " + baseline + " (run with --update-baseline to create it).");
+            return;
+        }
+        List<String> violations = check(readBaseline(baseline), perVariant);
+        if (!violations.isEmpty()) {
+            for (String v : violations) System.out.println(LOG_PREFIX + "OVER BUDGET " + v);
+            System.exit(1);
+        }
+        System.out.println(LOG_PREFIX + "All components within their per-variant budget.");
+    }
+
+    // ── Walking ──
+
+    /** Assets whose key was not in the map before startup. */
+    private static <T> List<T> added(DefaultAssetMap<String, T> map, Set<String> before) {
+        List<T> added = new ArrayList<>();
+        for (Map.Entry<String, T> e : map.getAssetMap().entrySet()) {
+            if (!before.contains(e.getKey())) added.add(e.getValue());
+        }
+        return added;
+    }
+
+    /** Retained size of one part of each root (the root itself for {@code Function.identity()}). */
+    private static <T> long sum(HeapWalker walker, List<T> roots, Function<T, ?> part) {
+        List<Object> parts = new ArrayList<>(roots.size());
+        for (T root : roots) {
+            parts.add(part.apply(root));
+        }
+        return walker.retained(parts);
+    }
+
+    // ── Budgets ──
+
+    static List<String> check(Properties budgets, Map<String, Double> perVariant) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Double> e : perVariant.entrySet()) {
+            String budget = budgets.getProperty(e.getKey());
+            if (budget == null) {
+                violations.add(e.getKey() + ": no budget in the baseline");
+                continue;
+            }
+            double limit = Double.parseDouble(budget);
+            if (e.getValue() > limit) {
+                violations.add(String.format(Locale.ROOT, "%s: %.1f bytes/variant (budget %.1f, +%.1f%%)",
+                        e.getKey(), e.getValue(), limit, (e.getValue() / limit - 1) * 100));
+            }
+        }
+        return violations;
+    }
+
+    private static Properties readBaseline(Path file) throws Exception {
+        Properties budgets = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            budgets.load(in);
+        }
+        return budgets;
+    }
+
+    private static void writeBaseline(Path file, int items, Map<String, Double> perVariant) throws Exception {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# Retained heap budgets of the variant system, in bytes per variant\n");
+            out.write("# (VariantHeapFootprint, " + items + " synthetic items, measured x" + HEADROOM + ").\n");
+            out.write("# Regenerate with --update-baseline when a footprint change is intended.\n");
+            for (Map.Entry<String, Double> e : perVariant.entrySet()) {
+                out.write(String.format(Locale.ROOT, "%s=%.1f%n", e.getKey(), Math.ceil(e.getValue() * HEADROOM * 10) / 10));
+            }
+        }
+        System.out.println(LOG_PREFIX + "Baseline written to " + file.toAbsolutePath());
+    }
+
+    // ── Output ──
+
+    private static void print(int items, int variants, Map<String, Long> bytes, Map<String, Double> perVariant) {
+        long total = 0;
+        System.out.println();
+        System.out.println(items + " items, " + variants + " variants");
+        System.out.println(String.format(Locale.ROOT, "%-14s %12s %16s", "component", "retained (KB)", "bytes/variant"));
+        for (String name : COMPONENTS) {
+            total += bytes.get(name);
+            System.out.println(String.format(Locale.ROOT, "%-14s %12.1f %16.1f",
+                    name, bytes.get(name) / 1024.0, perVariant.get(name)));
+        }
+        System.out.println(String.format(Locale.ROOT, "%-14s %12.1f %16.1f",
+                "total", total / 1024.0, variants > 0 ? (double) total / variants : 0));
+        System.out.println();
+    }
+
+    private static void writeJson(int items, int variants, Map<String, Long> bytes,
+                                  Map<String, Double> perVariant) throws Exception {
+        String version = VariantHeapFootprint.class.getPackage().getImplementationVersion();
+        if (version == null) version = "dev";
+
+        StringBuilder json = new StringBuilder("{\n  \"version\": \"").append(version)
+                .append("\",\n  \"items\": ").append(items)
+                .append(",\n  \"variants\": ").append(variants)
+                .append(",\n  \"components\": [");
+        int i = 0;
+        for (String name : COMPONENTS) {
+            json.append(i++ == 0 ? "\n" : ",\n")
+                    .append("    {\"component\": \"").append(name)
+                    .append("\", \"retainedBytes\": ").append(bytes.get(name))
+                    .append(String.format(Locale.ROOT, ", \"bytesPerVariant\": %.1f}", perVariant.get(name)));
+        }
+        json.append("\n  ]\n}\n");
+
+        Path file = Path.of("results", "heap-" + version + ".json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+        System.out.println(LOG_PREFIX + "Results written to " + file.toAbsolutePath());
+    }
+}
@@ -3,17 +3,31 @@ package dev.hytalemodding;
 import com.hypixel.hytale.server.core.asset.LoadAssetEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
+import dev.hytalemodding.command.RqcCommand;
 import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.metrics.DecisionRecorder;
+import dev.hytalemodding.metrics.DecisionTickClock;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.metrics.StartupPhaseEvent;
+import dev.hytalemodding.migration.MigrationLedger;
+import dev.hytalemodding.migration.MigrationScheduler;
 import dev.hytalemodding.migration.QualityMigration;
+import dev.hytalemodding.migration.VariantCatalog;
 import dev.hytalemodding.quality.CraftQualitySystem;
+import dev.hytalemodding.quality.ItemQuality;
 import dev.hytalemodding.quality.LootDropModifier;
-import dev.hytalemodding.compat.SimpleEnchantmentsBridge;
+import dev.hytalemodding.quality.PacketPrewarmer;
+import dev.hytalemodding.compat.CompatBridgeManager;
 import dev.hytalemodding.quality.QualityAssigner;
 import dev.hytalemodding.quality.QualityItemFactory;
 import dev.hytalemodding.quality.QualityRegistry;
+import dev.hytalemodding.quality.QualityReverseIndex;
 import dev.hytalemodding.quality.QualityTierMapper;
+import dev.hytalemodding.quality.VariantBudgetPlanner;
+import dev.hytalemodding.quality.WorldContainerProcessor;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.file.FileVisitResult;
@@ -21,6 +35,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * RomnasQualityCrafting v2.0 — Zero-setup quality system for Hytale.
@@ -43,14 +61,23 @@ public class RomnasQualityCrafting extends JavaPlugin {
 
     private static final String LOG_PREFIX = "[RQC] ";
 
+    /** Persistent migration ledgers, stored in the plugin data directory. */
+    private static final String MIGRATION_LEDGER_FILE = "migration-ledger.bin";
+
     private final Object configHandle;
     private QualityConfig config;
     private QualityRegistry registry;
     private QualityAssigner assigner;
     private CraftQualitySystem craftSystem;
     private QualityTierMapper tierMapper;
+    private MigrationLedger migrationLedger;
     private QualityMigration migration;
     private LootDropModifier lootDropModifier;
+    private QualityReverseIndex reverseIndex = QualityReverseIndex.empty();
+    private CompatBridgeManager compatBridges;
+    private VariantBudgetPlanner.Plan variantPlan;
+    private VariantBudgetPlanner.Plan appliedVariantPlan;
+    private final PacketPrewarmer packetPrewarmer = new PacketPrewarmer();
 
     public RomnasQualityCrafting(@Nonnull JavaPluginInit init) {
         super(init);
@@ -71,6 +98,8 @@ public class RomnasQualityCrafting extends JavaPlugin {
 
         // ── 2. Save config to disk (creates file if missing) ──
         saveConfig();
+        QualityMetrics.get().setEnabled(config.isMetricsEnabled());
+        DecisionRecorder.configure(config.getDecisionRecorderSize());
 
         // ── 3. Create registry (will scan items when assets are loaded) ──
         registry = new QualityRegistry();
@@ -81,15 +110,38 @@ public class RomnasQualityCrafting extends JavaPlugin {
         // ── 5. Set up quality assignment via inventory change events (ECS) ──
         assigner = new QualityAssigner(registry, config, tierMapper);
         this.getEntityStoreRegistry().registerSystem(assigner);
+        if (config.getDecisionRecorderSize() > 0) {
+            this.getEntityStoreRegistry().registerSystem(new DecisionTickClock());
+        }
 
         // ── 5b. Set up ECS crafting handler (CraftRecipeEvent.Post) ──
         craftSystem = new CraftQualitySystem(registry, config, tierMapper);
         this.getEntityStoreRegistry().registerSystem(craftSystem);
 
         // ── 6. Set up v1.x → v2.0 migration on player join ──
-        migration = new QualityMigration(registry, tierMapper);
+        migrationLedger = openLedger(MIGRATION_LEDGER_FILE);
+        migration = new QualityMigration(registry, tierMapper, migrationLedger);
         migration.registerEvents(this.getEventRegistry());
 
+        // ── 6a. Spread join-time migration across ticks (0 = synchronous on join) ──
+        if (config.getMigrationSlotsPerTick() > 0) {
+            MigrationScheduler migrationScheduler = new MigrationScheduler(migration, config);
+            migration.setScheduler(migrationScheduler);
+            this.getEntityStoreRegistry().registerSystem(migrationScheduler);
+        }
+
+        // ── 6b. Migrate / roll world containers when they are opened ──
+        // Always registered; the WorldContainerQuality toggle is checked per event.
+        this.getEntityStoreRegistry().registerSystem(
+                new WorldContainerProcessor(config, assigner, tierMapper));
+
+        // ── 6c. Operator commands (/rqc ...) ──
+        this.getCommandRegistry().registerCommand(new RqcCommand(this));
+
+        // ── 6d. Discover compatibility bridges for other mods (ServiceLoader) ──
+        compatBridges = new CompatBridgeManager(getClass().getClassLoader());
+        compatBridges.discover();
+
         // ── 7. Defer item scanning until assets are fully loaded ──
         this.getEventRegistry().register(
             LoadAssetEvent.PRIORITY_LOAD_LATE,
@@ -109,24 +161,59 @@ public class RomnasQualityCrafting extends JavaPlugin {
     private void onAssetsLoaded(LoadAssetEvent event) {
         long startTime = System.currentTimeMillis();
 
+        // Each phase is also a JFR StartupPhase event, for correlating startup
+        // cost with GC pauses in a flight recording
+        StartupPhaseEvent phase = StartupPhaseEvent.start("scan");
+
         // Initialize the ignore list before scanning
         QualityItemFactory.initIgnoreList(config);
 
         registry.scanEligibleItems();
+        phase.finish(registry.getTotalEligible());
 
         // Initialize quality tier mapping (discover Hytale's built-in quality tiers)
+        phase = StartupPhaseEvent.start("tiers");
         tierMapper.initialize();
+        phase.finish(ItemQuality.values().length);
+
+        // Dry run of the variant pass; over a cap, only the items that fit stay eligible
+        tierMapper.setCappedBases(List.of());
+        if (config.isVariantPlanOnStartup() || config.getMaxVariants() > 0 || config.getMaxVariantHeapMB() > 0) {
+            planVariants();
+        }
+
+        // Reverse index (base item → drop lists / salvage recipes), filled while
+        // recipes are cloned and drop lists are rewritten
+        QualityReverseIndex.Builder indexBuilder = new QualityReverseIndex.Builder(registry);
 
         // Create quality variant items in the asset map
-        tierMapper.createVariants(registry, config);
+        phase = StartupPhaseEvent.start("variants");
+        tierMapper.createVariants(registry, config, indexBuilder);
+        phase.finish(tierMapper.getVariantsCreated());
 
         // Modify loot drop tables so eligible items drop as quality variants
+        phase = StartupPhaseEvent.start("loot");
         lootDropModifier = new LootDropModifier(config, tierMapper, registry);
-        lootDropModifier.modifyDropLists();
-
-        // Register quality variants with SimpleEnchantments (if installed)
-        // so they can be enchanted just like their base items.
-        SimpleEnchantmentsBridge.registerVariants(tierMapper);
+        lootDropModifier.modifyDropLists(indexBuilder);
+        reverseIndex = indexBuilder.build();
+        phase.finish(lootDropModifier.getDropListsModified());
+
+        // Snapshot eligible items + variants for the offline migration tool
+        phase = StartupPhaseEvent.start("catalog");
+        writeVariantCatalog();
+        phase.finish(tierMapper.getVariantsCreated());
+
+        // Hand the variants to compat bridges (SimpleEnchantments, ...) so mods
+        // that cache item categories at startup can pick them up too
+        phase = StartupPhaseEvent.start("compat");
+        compatBridges.onVariantsReady(tierMapper.getVariantToBaseMap());
+        phase.finish(tierMapper.getVariantsCreated());
+
+        // Build variant and interaction-clone packets off-thread, before the
+        // first client sync has to (logged when done)
+        if (config.isPrewarmPackets()) {
+            packetPrewarmer.start(tierMapper.getVariantToBaseMap());
+        }
 
         long elapsed = System.currentTimeMillis() - startTime;
         System.out.println(LOG_PREFIX + "Loaded: " + registry.getTotalEligible() + " items, "
@@ -134,6 +221,66 @@ public class RomnasQualityCrafting extends JavaPlugin {
                 + lootDropModifier.getDropListsModified() + " loot tables (" + elapsed + "ms)");
     }
 
+    /**
+     * Plans the variant pass and, if the plan is over MaxVariants or
+     * MaxVariantHeapMB, shrinks the eligible set to the items that fit
+     * (see {@link VariantBudgetPlanner#fit}), keeping the bases that had
+     * variants on the previous start first. With RevertCappedVariants, the
+     * bases left out are handed to the tier mapper, so existing stacks of
+     * their variants are migrated back to the base item; otherwise they are
+     * left alone and come back if the cap is raised again.
+     */
+    private void planVariants() {
+        VariantBudgetPlanner planner = new VariantBudgetPlanner(registry, tierMapper, config);
+        variantPlan = planner.plan();
+        appliedVariantPlan = variantPlan;
+        if (config.isVariantPlanOnStartup()) {
+            System.out.println(LOG_PREFIX + "Variant plan: " + VariantBudgetPlanner.summary(variantPlan));
+        }
+        if (!planner.exceedsCaps(variantPlan)) return;
+
+        List<String> kept = new ArrayList<>();
+        appliedVariantPlan = planner.fit(readPreviousVariantBases(), kept);
+        Set<String> capped = new HashSet<>(registry.getEligibleItemIds());
+        kept.forEach(capped::remove);
+        registry.retainEligible(kept);
+        if (config.isRevertCappedVariants()) {
+            tierMapper.setCappedBases(capped);
+        }
+        System.out.println(LOG_PREFIX + "WARNING: Variant plan over budget (MaxVariants " + config.getMaxVariants()
+                + ", MaxVariantHeapMB " + config.getMaxVariantHeapMB() + "): quality limited to "
+                + kept.size() + "/" + variantPlan.eligibleItems() + " items — "
+                + VariantBudgetPlanner.summary(appliedVariantPlan));
+        System.out.println(LOG_PREFIX + "Existing quality items of the " + capped.size() + " item(s) left out "
+                + (config.isRevertCappedVariants() ? "are reverted to their base item (RevertCappedVariants)"
+                        : "keep their quality ID until the cap is raised"));
+    }
+
+    /**
+     * Base items that had variants on the previous start, from the
+     * variant-catalog.tsv it wrote (empty on a first start).
+     */
+    private Set<String> readPreviousVariantBases() {
+        try {
+            Path dataDir = this.getDataDirectory();
+            if (dataDir == null) return Set.of();
+            Path file = dataDir.resolve(VariantCatalog.FILE_NAME);
+            if (!Files.exists(file)) return Set.of();
+            return VariantCatalog.read(file).getVariantBases();
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "Warning: Could not read previous variant catalog: " + e.getMessage());
+            return Set.of();
+        }
+    }
+
+    @Override
+    protected void start() {
+        // Server finished starting — run DEFERRED compat bridges
+        if (compatBridges != null) {
+            compatBridges.onServerReady();
+        }
+    }
+
     @Override
     public void shutdown() {
         if (migration != null) {
@@ -143,6 +290,9 @@ public class RomnasQualityCrafting extends JavaPlugin {
         } else {
             System.out.println(LOG_PREFIX + "Shutting down.");
         }
+        if (migrationLedger != null) {
+            migrationLedger.close();
+        }
     }
 
     // ── Config helpers ──
@@ -167,6 +317,36 @@ public class RomnasQualityCrafting extends JavaPlugin {
         }
     }
 
+    /**
+     * Opens a persistent migration ledger in the plugin data directory,
+     * falling back to an in-memory ledger if the directory is unavailable.
+     */
+    private MigrationLedger openLedger(String fileName) {
+        try {
+            Path dataDir = this.getDataDirectory();
+            if (dataDir != null) {
+                return MigrationLedger.open(dataDir.resolve(fileName));
+            }
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "Warning: Could not open migration ledger: " + e.getMessage());
+        }
+        return MigrationLedger.inMemory();
+    }
+
+    /**
+     * Writes variant-catalog.tsv to the data directory, so OfflineMigrationTool
+     * can migrate player files with the same eligible items and variants.
+     */
+    private void writeVariantCatalog() {
+        try {
+            Path dataDir = this.getDataDirectory();
+            if (dataDir == null) return;
+            VariantCatalog.write(dataDir.resolve(VariantCatalog.FILE_NAME), registry, tierMapper);
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "Warning: Could not write variant catalog: " + e.getMessage());
+        }
+    }
+
     /** Exposes the config for other components. */
     public QualityConfig getQualityConfig() {
         return config;
@@ -177,6 +357,37 @@ public class RomnasQualityCrafting extends JavaPlugin {
         return registry;
     }
 
+    /** Exposes the v1.x migration handler for other components. */
+    public QualityMigration getMigration() {
+        return migration;
+    }
+
+    /** Exposes the tier mapper (variant ↔ base lookups) for other components. */
+    public QualityTierMapper getTierMapper() {
+        return tierMapper;
+    }
+
+    /**
+     * Reverse index from eligible base item to the drop lists and salvage
+     * recipes that reference it. Empty until assets are loaded.
+     */
+    @Nonnull
+    public QualityReverseIndex getReverseIndex() {
+        return reverseIndex;
+    }
+
+    /** Variant plan of the last asset load, before any cap; null if planning was off. */
+    @Nullable
+    public VariantBudgetPlanner.Plan getVariantPlan() {
+        return variantPlan;
+    }
+
+    /** Variant plan actually applied (smaller than {@link #getVariantPlan()} when over a cap). */
+    @Nullable
+    public VariantBudgetPlanner.Plan getAppliedVariantPlan() {
+        return appliedVariantPlan;
+    }
+
     // ── Old v1.x generated files cleanup ──
 
     /** Name of the old generated mod folder from v1.x. */
@@ -0,0 +1,67 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import dev.hytalemodding.RomnasQualityCrafting;
+import dev.hytalemodding.metrics.DecisionRecorder;
+import dev.hytalemodding.metrics.DecisionRecorder.Decision;
+import dev.hytalemodding.metrics.DecisionRecorder.Outcome;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@code /rqc decisions} — recent quality decisions from the {@link DecisionRecorder}.
+ * <pre>
+ *   /rqc decisions        — the last 20 decisions in chat
+ *   /rqc decisions dump   — the whole buffer as a text file in the plugin data directory
+ * </pre>
+ */
+final class DecisionsCommand extends CommandBase {
+
+    private static final int CHAT_LINES = 20;
+
+    DecisionsCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("decisions", "Shows recent quality decisions");
+        this.addSubCommand(new Dump(plugin));
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        DecisionRecorder recorder = DecisionRecorder.get();
+        if (!recorder.isEnabled()) {
+            context.sendMessage(Message.raw("[RQC] Decision recorder is off (DecisionRecorderSize = 0).").color("#ffaa00"));
+            return;
+        }
+
+        List<Decision> decisions = recorder.snapshot(CHAT_LINES);
+        context.sendMessage(Message.raw("[RQC] Last " + decisions.size() + " of "
+                + recorder.getTotalRecorded() + " decision(s):").color("#ffaa00"));
+        for (Decision d : decisions) {
+            String color = d.outcome() == Outcome.FAILED ? "#ff5555" : "#55ff55";
+            context.sendMessage(Message.raw("  " + d.format()).color(color));
+        }
+    }
+
+    /** /rqc decisions dump */
+    private static final class Dump extends CommandBase {
+        private final RomnasQualityCrafting plugin;
+
+        Dump(RomnasQualityCrafting plugin) {
+            super("dump", "Writes all recorded decisions to a file");
+            this.plugin = plugin;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            try {
+                Path file = DecisionRecorder.get().dump(plugin.getDataDirectory());
+                context.sendMessage(Message.raw("[RQC] Decisions written to " + file.getFileName()).color("#55ff55"));
+            } catch (Exception e) {
+                context.sendMessage(Message.raw("[RQC] Failed to write decisions: " + e.getMessage()).color("#ff5555"));
+            }
+        }
+    }
+}
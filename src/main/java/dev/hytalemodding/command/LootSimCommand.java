@@ -0,0 +1,98 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import dev.hytalemodding.RomnasQualityCrafting;
+import dev.hytalemodding.quality.LootDistributionSimulator;
+import dev.hytalemodding.quality.LootDistributionSimulator.Result;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code /rqc lootsim} — Monte Carlo check of the rewritten drop tables
+ * ({@link LootDistributionSimulator}).
+ * <pre>
+ *   /rqc lootsim       — result of the last run (or progress)
+ *   /rqc lootsim run   — simulates every drop list in the background, report in the plugin data directory
+ * </pre>
+ */
+final class LootSimCommand extends CommandBase {
+
+    /** Evaluations per drop list. */
+    private static final int SAMPLES_PER_LIST = 200_000;
+
+    private static final String LOG_PREFIX = "[RQC] LootSim: ";
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Result lastResult;
+    private volatile Path lastReport;
+
+    LootSimCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("lootsim", "Checks the loot tier distribution of every drop list");
+        this.addSubCommand(new Run(plugin));
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        Result result = lastResult;
+        if (running.get()) {
+            context.sendMessage(Message.raw("[RQC] Loot simulation running...").color("#ffaa00"));
+        } else if (result == null) {
+            context.sendMessage(Message.raw("[RQC] No loot simulation yet. Use /rqc lootsim run.").color("#ffaa00"));
+            return;
+        }
+        if (result != null) {
+            String color = result.flaggedCount() > 0 || result.pValue() < LootDistributionSimulator.ALPHA
+                    ? "#ff5555" : "#55ff55";
+            context.sendMessage(Message.raw("[RQC] " + LootDistributionSimulator.summary(result)).color(color));
+            if (lastReport != null) {
+                context.sendMessage(Message.raw("[RQC] Per-list report: " + lastReport.getFileName()).color("#aaaaaa"));
+            }
+        }
+    }
+
+    /** /rqc lootsim run */
+    private final class Run extends CommandBase {
+        private final RomnasQualityCrafting plugin;
+
+        Run(RomnasQualityCrafting plugin) {
+            super("run", "Simulates every drop list on all cores and writes a report");
+            this.plugin = plugin;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            if (!plugin.getTierMapper().isInitialized()) {
+                context.sendMessage(Message.raw("[RQC] Drop tables are not rewritten yet.").color("#ff5555"));
+                return;
+            }
+            if (!running.compareAndSet(false, true)) {
+                context.sendMessage(Message.raw("[RQC] A loot simulation is already running.").color("#ffaa00"));
+                return;
+            }
+
+            LootDistributionSimulator simulator = new LootDistributionSimulator(
+                    plugin.getQualityRegistry(), plugin.getTierMapper(), plugin.getQualityConfig());
+            Thread thread = new Thread(() -> {
+                try {
+                    Result result = simulator.run(SAMPLES_PER_LIST, 0, System.nanoTime());
+                    lastReport = LootDistributionSimulator.write(result, plugin.getDataDirectory());
+                    lastResult = result;
+                    System.out.println(LOG_PREFIX + LootDistributionSimulator.summary(result));
+                } catch (Exception e) {
+                    System.out.println(LOG_PREFIX + "ERROR: " + e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            }, "RQC-LootSim");
+            thread.setDaemon(true);
+            thread.start();
+
+            context.sendMessage(Message.raw("[RQC] Loot simulation started (" + SAMPLES_PER_LIST
+                    + " evaluations per drop list); check /rqc lootsim for the result.").color("#ffaa00"));
+        }
+    }
+}
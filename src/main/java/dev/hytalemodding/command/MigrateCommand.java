@@ -0,0 +1,104 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import dev.hytalemodding.migration.MigrationScheduler;
+import dev.hytalemodding.migration.QualityMigration;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * {@code /rqc migrate ...} — re-runs the v1.x → v2.0 inventory migration.
+ * <pre>
+ *   /rqc migrate me       — your own inventory
+ *   /rqc migrate all      — every online player, under the per-tick slot budget
+ *   /rqc migrate status   — queued jobs and progress
+ * </pre>
+ */
+final class MigrateCommand extends AbstractCommandCollection {
+
+    MigrateCommand(@Nonnull QualityMigration migration) {
+        super("migrate", "Re-runs the v1.x quality item migration");
+        this.addSubCommand(new Self(migration));
+        this.addSubCommand(new All(migration));
+        this.addSubCommand(new Status(migration));
+    }
+
+    /** /rqc migrate me */
+    private static final class Self extends CommandBase {
+        private final QualityMigration migration;
+
+        Self(QualityMigration migration) {
+            super("me", "Migrates your own inventory");
+            this.migration = migration;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            Player player = migration.getOnlinePlayer(context.sender().getUuid());
+            if (player == null) {
+                context.sendMessage(Message.raw("[RQC] Only players can migrate their own inventory.").color("#ff5555"));
+                return;
+            }
+            if (!migration.forceMigrate(player)) {
+                context.sendMessage(Message.raw("[RQC] You are not in a world yet.").color("#ff5555"));
+            } else if (migration.getScheduler() != null) {
+                context.sendMessage(Message.raw("[RQC] Migration queued.").color("#ffaa00"));
+            }
+        }
+    }
+
+    /** /rqc migrate all */
+    private static final class All extends CommandBase {
+        private final QualityMigration migration;
+
+        All(QualityMigration migration) {
+            super("all", "Migrates every online player's inventory");
+            this.migration = migration;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            MigrationScheduler scheduler = migration.getScheduler();
+            if (scheduler == null) {
+                // Synchronous mode (MigrationSlotsPerTick = 0): each pass runs on
+                // the player's world thread, and reports to the player when done
+                int players = 0;
+                for (Player player : List.copyOf(migration.getOnlinePlayers())) {
+                    if (migration.forceMigrate(player)) players++;
+                }
+                context.sendMessage(Message.raw("[RQC] Migrating " + players + " online player(s) on their world threads.").color("#55ff55"));
+                return;
+            }
+
+            int queued = scheduler.enqueueAll(context.sender());
+            context.sendMessage(Message.raw("[RQC] Queued " + queued + " player(s) for migration.").color("#ffaa00"));
+        }
+    }
+
+    /** /rqc migrate status */
+    private static final class Status extends CommandBase {
+        private final QualityMigration migration;
+
+        Status(QualityMigration migration) {
+            super("status", "Shows migration progress");
+            this.migration = migration;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            MigrationScheduler scheduler = migration.getScheduler();
+            String queue = scheduler != null
+                    ? scheduler.getQueuedJobs() + " queued job(s), " + scheduler.getRemainingSlots()
+                        + " slot(s) left, " + scheduler.getJobsCompleted() + " job(s) done, "
+                        + scheduler.getSlotsProcessed() + " slot(s) scanned"
+                    : "synchronous mode";
+            context.sendMessage(Message.raw("[RQC] Migration: " + migration.getTotalMigrated()
+                    + " item(s) migrated; " + queue).color("#ffaa00"));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import dev.hytalemodding.RomnasQualityCrafting;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.quality.VariantBudgetPlanner;
+import dev.hytalemodding.quality.VariantBudgetPlanner.Plan;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@code /rqc plan} — what the variant pass costs ({@link VariantBudgetPlanner}):
+ * variants, interaction and recipe clones, drop-tree nodes and estimated heap,
+ * against the MaxVariants / MaxVariantHeapMB caps.
+ *
+ * Shows the plan made at the last asset load when planning was on
+ * (VariantPlanOnStartup or a cap set); otherwise plans the current eligible
+ * set now — the drop trees are already rewritten by then, so drop-tree
+ * nodes are not counted.
+ */
+final class PlanCommand extends CommandBase {
+
+    private final RomnasQualityCrafting plugin;
+
+    PlanCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("plan", "Shows the variant budget plan (variants, clones, estimated heap)");
+        this.plugin = plugin;
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        QualityConfig config = plugin.getQualityConfig();
+        context.sendMessage(Message.raw("[RQC] Caps: MaxVariants " + cap(config.getMaxVariants())
+                + ", MaxVariantHeapMB " + cap(config.getMaxVariantHeapMB())).color("#aaaaaa"));
+
+        Plan plan = plugin.getVariantPlan();
+        if (plan != null) {
+            Plan applied = plugin.getAppliedVariantPlan();
+            context.sendMessage(Message.raw("[RQC] Startup plan: " + VariantBudgetPlanner.summary(plan)).color("#ffaa00"));
+            if (applied != null && applied != plan) {
+                context.sendMessage(Message.raw("[RQC] Over budget — applied: "
+                        + VariantBudgetPlanner.summary(applied)).color("#ff5555"));
+            } else {
+                context.sendMessage(Message.raw("[RQC] Within budget.").color("#55ff55"));
+            }
+            return;
+        }
+
+        if (plugin.getTierMapper() == null || !plugin.getTierMapper().isInitialized()) {
+            context.sendMessage(Message.raw("[RQC] Assets are not loaded yet.").color("#ff5555"));
+            return;
+        }
+        VariantBudgetPlanner planner = new VariantBudgetPlanner(
+                plugin.getQualityRegistry(), plugin.getTierMapper(), config);
+        plan = planner.plan();
+        context.sendMessage(Message.raw("[RQC] Current plan: " + VariantBudgetPlanner.summary(plan)).color("#ffaa00"));
+        context.sendMessage(Message.raw("[RQC] Drop trees are already rewritten; set VariantPlanOnStartup to plan"
+                + " them at the next start.").color("#aaaaaa"));
+        if (planner.exceedsCaps(plan)) {
+            context.sendMessage(Message.raw("[RQC] Over budget — the next start will limit quality to the items"
+                    + " that fit.").color("#ff5555"));
+        }
+    }
+
+    private static String cap(int value) {
+        return value > 0 ? String.valueOf(value) : "none";
+    }
+}
@@ -0,0 +1,37 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractCommandCollection;
+import dev.hytalemodding.RomnasQualityCrafting;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Root {@code /rqc} command. Groups the operator subcommands:
+ * <pre>
+ *   /rqc where &lt;item&gt;   — drop lists and salvage recipes referencing an item
+ *   /rqc migrate ...      — re-run the v1.x migration (me / all / status)
+ *   /rqc stats [dump]     — runtime counters and handler latency
+ *   /rqc decisions [dump] — recent quality decisions (outcome, reason, exception)
+ *   /rqc trace start|stop — record inventory events for the offline replay harness
+ *   /rqc lootsim [run]    — Monte Carlo check of the loot tier distribution
+ *   /rqc plan             — variant budget plan (variants, clones, estimated heap)
+ * </pre>
+ *
+ * Registration (in plugin setup):
+ * <pre>
+ *   this.getCommandRegistry().registerCommand(new RqcCommand(this));
+ * </pre>
+ */
+public final class RqcCommand extends AbstractCommandCollection {
+
+    public RqcCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("rqc", "Romna's Quality Crafting commands");
+        this.addSubCommand(new WhereCommand(plugin));
+        this.addSubCommand(new MigrateCommand(plugin.getMigration()));
+        this.addSubCommand(new StatsCommand(plugin));
+        this.addSubCommand(new DecisionsCommand(plugin));
+        this.addSubCommand(new TraceCommand(plugin));
+        this.addSubCommand(new LootSimCommand(plugin));
+        this.addSubCommand(new PlanCommand(plugin));
+    }
+}
@@ -0,0 +1,129 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import dev.hytalemodding.RomnasQualityCrafting;
+import dev.hytalemodding.metrics.LatencyHistogram;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.metrics.QualityMetrics.RejectReason;
+import dev.hytalemodding.metrics.QualityMetrics.RollSource;
+import dev.hytalemodding.metrics.QualityMetrics.TxType;
+import dev.hytalemodding.quality.ItemQuality;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * {@code /rqc stats} — runtime counters and handler latency.
+ * <pre>
+ *   /rqc stats         — summary in chat
+ *   /rqc stats dump    — full metrics as JSON in the plugin data directory
+ *   /rqc stats reset   — clears all counters and histograms
+ * </pre>
+ */
+final class StatsCommand extends CommandBase {
+
+    private final RomnasQualityCrafting plugin;
+
+    StatsCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("stats", "Shows quality system runtime metrics");
+        this.plugin = plugin;
+        this.addSubCommand(new Dump(plugin));
+        this.addSubCommand(new Reset());
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        QualityMetrics metrics = QualityMetrics.get();
+        if (!metrics.isEnabled()) {
+            context.sendMessage(Message.raw("[RQC] Metrics are disabled (MetricsEnabled = false).").color("#ffaa00"));
+            return;
+        }
+
+        StringBuilder events = new StringBuilder();
+        for (TxType type : TxType.values()) {
+            append(events, type.name().toLowerCase(Locale.ROOT), metrics.getEvents(type));
+        }
+        StringBuilder rejections = new StringBuilder();
+        for (RejectReason reason : RejectReason.values()) {
+            append(rejections, reason.name().toLowerCase(Locale.ROOT), metrics.getRejections(reason));
+        }
+
+        context.sendMessage(Message.raw("[RQC] Events: " + events).color("#ffaa00"));
+        context.sendMessage(Message.raw("[RQC] Rejections: " + rejections).color("#ffaa00"));
+        for (RollSource source : RollSource.values()) {
+            // Loot is only rolled by the plugin (and counted) in runtime-rolling mode;
+            // otherwise the server's own choice containers pick the variant
+            if (source == RollSource.LOOT && !plugin.getQualityConfig().isLootRuntimeRolling()) {
+                context.sendMessage(Message.raw("[RQC] Rolls (loot): not counted, only with LootRuntimeRolling")
+                        .color("#ffaa00"));
+                continue;
+            }
+            StringBuilder rolls = new StringBuilder();
+            for (ItemQuality quality : ItemQuality.values()) {
+                append(rolls, quality.getDisplayName(), metrics.getRolls(source, quality));
+            }
+            context.sendMessage(Message.raw("[RQC] Rolls (" + source.name().toLowerCase(Locale.ROOT) + "): "
+                    + rolls).color("#ffaa00"));
+        }
+        context.sendMessage(Message.raw("[RQC] Slot rewrites: " + metrics.getSlotRewrites()
+                + ", migrated: " + metrics.getItemsMigrated()
+                + ", joins scanned/skipped: " + metrics.getJoinsScanned() + "/" + metrics.getJoinsSkipped()
+                + ", crafts: " + metrics.getCraftsHandled()).color("#ffaa00"));
+
+        for (LatencyHistogram h : metrics.getHistograms()) {
+            if (h.getCount() == 0) continue;
+            context.sendMessage(Message.raw(String.format(Locale.ROOT,
+                    "[RQC] %s: n=%d mean=%s p50=%s p99=%s max=%s", h.getName(), h.getCount(),
+                    micros(h.getMeanNanos()), micros(h.getPercentileNanos(50)),
+                    micros(h.getPercentileNanos(99)), micros(h.getMaxNanos()))).color("#ffaa00"));
+        }
+        context.sendMessage(Message.raw(String.format(Locale.ROOT,
+                "[RQC] Timer overhead: %.3f%% of handler time (%.0fns per sample, counters not included)",
+                metrics.getTimerOverheadPercent(), metrics.getSampleCostNanos())).color("#55ff55"));
+    }
+
+    private static void append(StringBuilder sb, String name, long value) {
+        if (sb.length() > 0) sb.append(", ");
+        sb.append(name).append('=').append(value);
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / 1000.0);
+    }
+
+    /** /rqc stats dump */
+    private static final class Dump extends CommandBase {
+        private final RomnasQualityCrafting plugin;
+
+        Dump(RomnasQualityCrafting plugin) {
+            super("dump", "Writes all metrics to a JSON file");
+            this.plugin = plugin;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            try {
+                Path file = QualityMetrics.get().dump(plugin.getDataDirectory());
+                context.sendMessage(Message.raw("[RQC] Metrics written to " + file.getFileName()).color("#55ff55"));
+            } catch (Exception e) {
+                context.sendMessage(Message.raw("[RQC] Failed to write metrics: " + e.getMessage()).color("#ff5555"));
+            }
+        }
+    }
+
+    /** /rqc stats reset */
+    private static final class Reset extends CommandBase {
+        Reset() {
+            super("reset", "Clears all metrics");
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            QualityMetrics.get().reset();
+            context.sendMessage(Message.raw("[RQC] Metrics cleared.").color("#55ff55"));
+        }
+    }
+}
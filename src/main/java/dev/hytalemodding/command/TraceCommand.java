@@ -0,0 +1,86 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import dev.hytalemodding.RomnasQualityCrafting;
+import dev.hytalemodding.metrics.EventTraceRecorder;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+
+/**
+ * {@code /rqc trace} — records inventory events for the offline replay harness.
+ * <pre>
+ *   /rqc trace          — recording state
+ *   /rqc trace start    — start writing trace-&lt;timestamp&gt;.tsv in the plugin data directory
+ *   /rqc trace stop     — stop and flush the file
+ * </pre>
+ * Recording stops by itself after {@link #MAX_EVENTS} events.
+ */
+final class TraceCommand extends CommandBase {
+
+    /** About one hour of a busy server; keeps an unattended recording bounded. */
+    private static final long MAX_EVENTS = 2_000_000L;
+
+    TraceCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("trace", "Records inventory events for offline replay");
+        this.addSubCommand(new Start(plugin));
+        this.addSubCommand(new Stop());
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        EventTraceRecorder recorder = EventTraceRecorder.get();
+        Path file = recorder.getFile();
+        if (recorder.isRecording()) {
+            context.sendMessage(Message.raw("[RQC] Recording to " + file.getFileName() + ": "
+                    + recorder.getRecorded() + " event(s), " + recorder.getDropped() + " dropped").color("#55ff55"));
+        } else if (file != null) {
+            context.sendMessage(Message.raw("[RQC] Not recording. Last trace: " + file.getFileName() + " ("
+                    + recorder.getRecorded() + " event(s), " + recorder.getDropped() + " dropped)").color("#ffaa00"));
+        } else {
+            context.sendMessage(Message.raw("[RQC] Not recording. Use /rqc trace start.").color("#ffaa00"));
+        }
+    }
+
+    /** /rqc trace start */
+    private static final class Start extends CommandBase {
+        private final RomnasQualityCrafting plugin;
+
+        Start(RomnasQualityCrafting plugin) {
+            super("start", "Starts recording inventory events to a file");
+            this.plugin = plugin;
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            try {
+                Path file = EventTraceRecorder.get().start(plugin.getDataDirectory(), MAX_EVENTS);
+                context.sendMessage(Message.raw("[RQC] Recording inventory events to " + file.getFileName()
+                        + " (stops after " + MAX_EVENTS + ")").color("#55ff55"));
+            } catch (Exception e) {
+                context.sendMessage(Message.raw("[RQC] Failed to start trace: " + e.getMessage()).color("#ff5555"));
+            }
+        }
+    }
+
+    /** /rqc trace stop */
+    private static final class Stop extends CommandBase {
+        Stop() {
+            super("stop", "Stops recording and flushes the trace file");
+        }
+
+        @Override
+        protected void executeSync(@Nonnull CommandContext context) {
+            EventTraceRecorder recorder = EventTraceRecorder.get();
+            Path file = recorder.stop();
+            if (file == null) {
+                context.sendMessage(Message.raw("[RQC] No trace is being recorded.").color("#ffaa00"));
+                return;
+            }
+            context.sendMessage(Message.raw("[RQC] Trace written to " + file.getFileName() + ": "
+                    + recorder.getRecorded() + " event(s), " + recorder.getDropped() + " dropped").color("#55ff55"));
+        }
+    }
+}
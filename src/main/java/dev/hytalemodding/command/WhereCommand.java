@@ -0,0 +1,68 @@
+package dev.hytalemodding.command;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+import dev.hytalemodding.RomnasQualityCrafting;
+import dev.hytalemodding.quality.QualityReverseIndex;
+import dev.hytalemodding.quality.QualityTierMapper;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * {@code /rqc where <item>} — lists the ItemDropLists and Salvage_ recipes
+ * that reference an eligible base item, using the {@link QualityReverseIndex}
+ * built at startup. Variant IDs (e.g. {@code Weapon_Sword_Iron_Epic}) are
+ * resolved to their base item first.
+ */
+final class WhereCommand extends CommandBase {
+
+    /** Max IDs printed per section (the rest is summarized). */
+    private static final int MAX_LISTED = 20;
+
+    private final RomnasQualityCrafting plugin;
+    private final RequiredArg<String> itemArg;
+
+    WhereCommand(@Nonnull RomnasQualityCrafting plugin) {
+        super("where", "Shows the drop lists and salvage recipes referencing an item");
+        this.plugin = plugin;
+        this.itemArg = this.withRequiredArg("item", "Base or variant item ID", ArgTypes.STRING);
+    }
+
+    @Override
+    protected void executeSync(@Nonnull CommandContext context) {
+        String itemId = itemArg.get(context);
+
+        QualityTierMapper tierMapper = plugin.getTierMapper();
+        String baseId = tierMapper != null && tierMapper.isVariant(itemId)
+                ? tierMapper.getBaseId(itemId) : itemId;
+
+        if (plugin.getQualityRegistry() == null || !plugin.getQualityRegistry().isEligible(baseId)) {
+            context.sendMessage(Message.raw("[RQC] " + baseId + " is not eligible for quality.").color("#ff5555"));
+            return;
+        }
+
+        QualityReverseIndex index = plugin.getReverseIndex();
+        List<String> dropLists = index.getDropListIds(baseId);
+        List<String> recipes = index.getRecipeIds(baseId);
+
+        context.sendMessage(Message.raw("[RQC] " + baseId + ": " + dropLists.size() + " drop list(s), "
+                + recipes.size() + " salvage recipe(s)").color("#ffaa00"));
+        sendSection(context, "Drop lists", dropLists);
+        sendSection(context, "Recipes", recipes);
+    }
+
+    private static void sendSection(CommandContext context, String title, List<String> ids) {
+        if (ids.isEmpty()) return;
+        int shown = Math.min(ids.size(), MAX_LISTED);
+        StringBuilder sb = new StringBuilder("  ").append(title).append(": ");
+        sb.append(String.join(", ", ids.subList(0, shown)));
+        if (ids.size() > shown) {
+            sb.append(" (+").append(ids.size() - shown).append(" more)");
+        }
+        context.sendMessage(Message.raw(sb.toString()));
+    }
+}
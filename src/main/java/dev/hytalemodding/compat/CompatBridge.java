@@ -0,0 +1,52 @@
+package dev.hytalemodding.compat;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+
+/**
+ * Compatibility bridge for another mod that caches item data at startup and
+ * therefore misses our quality variants (created after it ran).
+ *
+ * Bridges are discovered with {@link java.util.ServiceLoader} — list the
+ * implementation in {@code META-INF/services/dev.hytalemodding.compat.CompatBridge}
+ * (built-in bridges are listed there too). Implementations need a public
+ * no-arg constructor and must not touch the other mod's classes until
+ * {@link #onVariantsReady} is called: the bridge is only invoked if every
+ * class in {@link #getDetectionClasses()} is present.
+ *
+ * See {@link CompatBridgeManager}.
+ */
+public interface CompatBridge {
+
+    /** When a bridge runs. */
+    enum Mode {
+        /** Right after variants are created, concurrently with the other bridges. */
+        PARALLEL,
+        /** Once the server has finished starting (after every plugin's setup). */
+        DEFERRED
+    }
+
+    /** Short display name used in logs (e.g. "SimpleEnchantments"). */
+    @Nonnull
+    String getName();
+
+    /**
+     * Fully-qualified class names that must all be loadable for this bridge
+     * to run. Checked without initializing the classes.
+     */
+    @Nonnull
+    String[] getDetectionClasses();
+
+    @Nonnull
+    default Mode getMode() {
+        return Mode.PARALLEL;
+    }
+
+    /**
+     * Called on a background thread with the frozen variant-ID → base-ID
+     * mapping: once per variant pass, so again after an asset reload.
+     *
+     * @return the number of variants this bridge registered (for the log)
+     */
+    int onVariantsReady(@Nonnull Map<String, String> variantToBase) throws Exception;
+}
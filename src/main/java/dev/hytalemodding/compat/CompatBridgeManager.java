@@ -0,0 +1,124 @@
+package dev.hytalemodding.compat;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Discovers and runs {@link CompatBridge}s.
+ *
+ * Bridges are found through {@link ServiceLoader} (plus the built-in ones,
+ * in case the service file was stripped from the jar). A bridge whose mod is
+ * missing costs one {@code Class.forName(name, false, ...)} check per
+ * detection class and is never invoked.
+ *
+ * Detected bridges receive one frozen copy of the variant → base mapping.
+ * PARALLEL bridges each run on their own daemon thread as soon as variants
+ * exist; DEFERRED bridges run once the server has started as well. Every
+ * variant pass (startup and each asset reload) runs every bridge again with
+ * the new mapping. Every bridge reports its own timing.
+ */
+public final class CompatBridgeManager {
+
+    private static final String LOG_PREFIX = "[RQC] Compat: ";
+
+    private final ClassLoader classLoader;
+    private final List<CompatBridge> detected = new ArrayList<>();
+
+    private Map<String, String> variantToBase;
+    private boolean serverReady = false;
+    private boolean deferredStarted = false;
+
+    public CompatBridgeManager(@Nonnull ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /** Loads all bridges and keeps those whose mod is installed. */
+    public void discover() {
+        List<CompatBridge> candidates = new ArrayList<>();
+        Set<Class<?>> seen = new HashSet<>();
+
+        try {
+            for (CompatBridge bridge : ServiceLoader.load(CompatBridge.class, classLoader)) {
+                if (seen.add(bridge.getClass())) candidates.add(bridge);
+            }
+        } catch (ServiceConfigurationError e) {
+            System.out.println(LOG_PREFIX + "WARNING: Failed to load a compat bridge: " + e.getMessage());
+        }
+
+        // Built-in bridges
+        CompatBridge se = new SimpleEnchantmentsBridge();
+        if (seen.add(se.getClass())) candidates.add(se);
+
+        for (CompatBridge bridge : candidates) {
+            if (isPresent(bridge)) detected.add(bridge);
+        }
+    }
+
+    /**
+     * Hands the variant mapping to the bridges: PARALLEL ones start now,
+     * DEFERRED ones as soon as the server is ready.
+     */
+    public synchronized void onVariantsReady(@Nonnull Map<String, String> variantToBase) {
+        this.variantToBase = Map.copyOf(variantToBase);
+        // New mapping (asset reload): DEFERRED bridges have to run again too
+        deferredStarted = false;
+        for (CompatBridge bridge : detected) {
+            if (bridge.getMode() == CompatBridge.Mode.PARALLEL) start(bridge);
+        }
+        startDeferredIfReady();
+    }
+
+    /** Called once the server has finished starting. */
+    public synchronized void onServerReady() {
+        serverReady = true;
+        startDeferredIfReady();
+    }
+
+    public int getDetectedCount() { return detected.size(); }
+
+    private void startDeferredIfReady() {
+        if (!serverReady || variantToBase == null || deferredStarted) return;
+        deferredStarted = true;
+        for (CompatBridge bridge : detected) {
+            if (bridge.getMode() == CompatBridge.Mode.DEFERRED) start(bridge);
+        }
+    }
+
+    private void start(CompatBridge bridge) {
+        Map<String, String> mapping = variantToBase;
+        Thread thread = new Thread(() -> run(bridge, mapping), "RQC-Compat-" + bridge.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void run(CompatBridge bridge, Map<String, String> mapping) {
+        long startTime = System.currentTimeMillis();
+        try {
+            int registered = bridge.onVariantsReady(mapping);
+            long elapsed = System.currentTimeMillis() - startTime;
+            System.out.println(LOG_PREFIX + bridge.getName() + ": " + registered
+                    + " variant(s) registered (" + elapsed + "ms)");
+        } catch (Throwable e) {
+            long elapsed = System.currentTimeMillis() - startTime;
+            System.out.println(LOG_PREFIX + bridge.getName() + ": failed after " + elapsed + "ms: "
+                    + e.getClass().getSimpleName() + " - " + e.getMessage());
+        }
+    }
+
+    private boolean isPresent(CompatBridge bridge) {
+        for (String className : bridge.getDetectionClasses()) {
+            try {
+                Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
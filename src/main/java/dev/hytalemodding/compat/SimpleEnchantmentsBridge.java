@@ -1,11 +1,13 @@
 package dev.hytalemodding.compat;
 
-import dev.hytalemodding.quality.ItemQuality;
-import dev.hytalemodding.quality.QualityTierMapper;
-
-import java.lang.reflect.Method;
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Optional compatibility bridge for SimpleEnchantments.
@@ -14,103 +16,192 @@ import java.util.Set;
  * asset map. Our quality variant items are created AFTER that, so SE never
  * categorizes them — making them un-enchantable.
  *
- * This bridge uses reflection to call SE's public API (EnchantmentApi) to
- * register each quality variant item with the same category as its base item.
- * All access is via reflection so there is no compile-time dependency on SE.
+ * This bridge uses reflection to call SE's API to register each quality
+ * variant item with the same category as its base item. All access is via
+ * method handles resolved once, so there is no compile-time dependency on SE
+ * and no per-call reflective lookup.
+ *
+ * Each base item is categorized once and the result is applied to all of its
+ * variants. SE has no bulk registration API, so variants are registered in
+ * chunks on the bridge's background thread (SE's category maps are
+ * concurrent), yielding between chunks. If SE's API is not initialized yet,
+ * registration is retried instead of being skipped.
  *
- * If SE is not installed, initialization is silently skipped.
+ * Discovered by {@link CompatBridgeManager}; if SE is not installed the
+ * bridge is never invoked.
  */
-public final class SimpleEnchantmentsBridge {
+public final class SimpleEnchantmentsBridge implements CompatBridge {
 
     private static final String LOG_PREFIX = "[RQC] SE-Compat: ";
 
     // SE API class names
     private static final String API_PROVIDER_CLASS = "org.herolias.plugin.api.EnchantmentApiProvider";
     private static final String CATEGORY_MANAGER_CLASS = "org.herolias.plugin.enchantment.ItemCategoryManager";
+    private static final String CATEGORY_CLASS = "org.herolias.plugin.enchantment.ItemCategory";
+
+    /** Variants registered per chunk before yielding. */
+    private static final int CHUNK_SIZE = 256;
+
+    /** Retry schedule while SE's API is not initialized yet. */
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final int MAX_ATTEMPTS = 30;
+
+    public SimpleEnchantmentsBridge() {}
 
-    private SimpleEnchantmentsBridge() {}
+    @Nonnull
+    @Override
+    public String getName() {
+        return "SimpleEnchantments";
+    }
+
+    @Nonnull
+    @Override
+    public String[] getDetectionClasses() {
+        return new String[] { API_PROVIDER_CLASS, CATEGORY_MANAGER_CLASS };
+    }
 
     /**
-     * Attempts to register all quality variant items with SimpleEnchantments'
-     * item category system. Each variant inherits the category of its base item.
-     *
-     * @param tierMapper the fully initialized tier mapper with all variants
-     * @return the number of variants successfully registered, or -1 if SE is not present
+     * Registers all quality variant items with SimpleEnchantments' item
+     * category system. Each variant inherits the category of its base item.
+     * Runs on a compat bridge thread, so waiting for SE's API is fine.
      */
-    public static int registerVariants(QualityTierMapper tierMapper) {
-        try {
-            // 1. Check if SE is loaded by trying to access its API provider
-            Class<?> apiProviderClass = Class.forName(API_PROVIDER_CLASS);
-            Method getApiMethod = apiProviderClass.getMethod("get");
-            Object api = getApiMethod.invoke(null);
+    @Override
+    public int onVariantsReady(@Nonnull Map<String, String> variantToBase) throws Exception {
+        // base → variants, so each base is categorized once
+        Map<String, List<String>> variantsByBase = new HashMap<>();
+        for (Map.Entry<String, String> entry : variantToBase.entrySet()) {
+            variantsByBase.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+        }
 
-            if (api == null) {
-                System.out.println(LOG_PREFIX + "SimpleEnchantments API not initialized yet, skipping.");
-                return -1;
+        Handles handles = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                handles = Handles.resolve();
+            } catch (Throwable e) {
+                throw new Exception("SE API not accessible: " + e.getMessage(), e);
             }
+            if (handles != null) break;
+            Thread.sleep(RETRY_DELAY_MS);
+        }
+        if (handles == null) {
+            System.out.println(LOG_PREFIX + "SimpleEnchantments API still not initialized after "
+                    + MAX_ATTEMPTS + " attempt(s), giving up.");
+            return 0;
+        }
 
-            // 2. Get the registerItemToCategory method
-            Method registerMethod = api.getClass().getMethod("registerItemToCategory", String.class, String.class);
-
-            // 3. Get the ItemCategoryManager to look up base item categories
-            Class<?> categoryManagerClass = Class.forName(CATEGORY_MANAGER_CLASS);
-            Method getInstanceMethod = categoryManagerClass.getMethod("getInstance");
-            Object categoryManager = getInstanceMethod.invoke(null);
-
-            Method categorizeMethod = categoryManagerClass.getMethod("categorizeItem", String.class);
+        return register(handles, variantsByBase);
+    }
 
-            // 4. Get the getId() method from ItemCategory
-            Method getIdMethod = null;
+    private static int register(Handles handles, Map<String, List<String>> variantsByBase) {
+        int registered = 0;
+        int skipped = 0;
+        int inChunk = 0;
 
-            // 5. Iterate all variant-to-base mappings and register each variant
-            Map<String, String> variantToBase = tierMapper.getVariantToBaseMap();
-            int registered = 0;
-            int skipped = 0;
+        for (Map.Entry<String, List<String>> entry : variantsByBase.entrySet()) {
+            List<String> variants = entry.getValue();
 
-            for (Map.Entry<String, String> entry : variantToBase.entrySet()) {
-                String variantId = entry.getKey();
-                String baseId = entry.getValue();
+            // Categorize the base once for all of its variants
+            Object category = handles.categoryOf(entry.getKey());
+            if (category == null) {
+                skipped += variants.size();
+                continue;
+            }
 
+            for (String variantId : variants) {
                 try {
-                    // Get the category of the base item
-                    Object category = categorizeMethod.invoke(categoryManager, baseId);
-                    if (category == null) {
-                        skipped++;
-                        continue;
-                    }
-
-                    // Lazily resolve getId() method
-                    if (getIdMethod == null) {
-                        getIdMethod = category.getClass().getMethod("getId");
-                    }
-
-                    // Check if category is UNKNOWN (not enchantable)
-                    String categoryId = (String) getIdMethod.invoke(category);
-                    if (categoryId == null || "unknown".equalsIgnoreCase(categoryId)) {
-                        skipped++;
-                        continue;
-                    }
-
-                    // Register the variant with the same category as base
-                    registerMethod.invoke(api, variantId, categoryId);
+                    handles.register(variantId, category);
                     registered++;
-
-                } catch (Exception e) {
+                } catch (Throwable e) {
                     skipped++;
                 }
+                if (++inChunk >= CHUNK_SIZE) {
+                    inChunk = 0;
+                    Thread.yield();
+                }
             }
+        }
+
+        System.out.println(LOG_PREFIX + "Registered " + registered
+                + " variant(s) with SimpleEnchantments (" + skipped + " skipped, "
+                + variantsByBase.size() + " base categories)");
+        return registered;
+    }
+
+    /** Method handles into SE, resolved once per registration run. */
+    private static final class Handles {
+        private final Object categoryManager;
+        private final MethodHandle categorizeItem;   // ItemCategoryManager.categorizeItem(String)
+        private final MethodHandle getId;            // ItemCategory.getId()
+        private final MethodHandle registerApiItem;  // ItemCategoryManager.registerApiItem(String, ItemCategory), may be null
+        private final Object api;
+        private final MethodHandle registerToCategory; // EnchantmentApi.registerItemToCategory(String, String)
+
+        private Handles(Object categoryManager, MethodHandle categorizeItem, MethodHandle getId,
+                        MethodHandle registerApiItem, Object api, MethodHandle registerToCategory) {
+            this.categoryManager = categoryManager;
+            this.categorizeItem = categorizeItem;
+            this.getId = getId;
+            this.registerApiItem = registerApiItem;
+            this.api = api;
+            this.registerToCategory = registerToCategory;
+        }
+
+        /** Returns null while SE's API is not initialized. */
+        static Handles resolve() throws Throwable {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            Class<?> apiProviderClass = Class.forName(API_PROVIDER_CLASS);
+            Object api = apiProviderClass.getMethod("get").invoke(null);
+            if (api == null) return null;
+
+            Class<?> categoryManagerClass = Class.forName(CATEGORY_MANAGER_CLASS);
+            Class<?> categoryClass = Class.forName(CATEGORY_CLASS);
+            Object categoryManager = categoryManagerClass.getMethod("getInstance").invoke(null);
+            if (categoryManager == null) return null;
+
+            MethodHandle categorize = lookup.findVirtual(categoryManagerClass, "categorizeItem",
+                    MethodType.methodType(categoryClass, String.class));
+            MethodHandle getId = lookup.findVirtual(categoryClass, "getId",
+                    MethodType.methodType(String.class));
+
+            // Direct registration with the category object skips the API's
+            // per-call getInstance() + getCategoryById() lookups
+            MethodHandle registerApiItem = null;
+            try {
+                registerApiItem = lookup.findVirtual(categoryManagerClass, "registerApiItem",
+                        MethodType.methodType(void.class, String.class, categoryClass));
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+                // Older/newer SE — fall back to the public API
+            }
+
+            MethodHandle registerToCategory = lookup.findVirtual(api.getClass(), "registerItemToCategory",
+                    MethodType.methodType(void.class, String.class, String.class));
+
+            return new Handles(categoryManager, categorize, getId, registerApiItem, api, registerToCategory);
+        }
 
-            System.out.println(LOG_PREFIX + "Registered " + registered
-                    + " variant(s) with SimpleEnchantments (" + skipped + " skipped)");
-            return registered;
-
-        } catch (ClassNotFoundException e) {
-            // SE not installed — perfectly fine, skip silently
-            return -1;
-        } catch (Exception e) {
-            System.out.println(LOG_PREFIX + "Failed to integrate with SimpleEnchantments: "
-                    + e.getClass().getSimpleName() + " - " + e.getMessage());
-            return -1;
+        /**
+         * Returns the base item's category, or null if it is unknown
+         * (not enchantable) or categorization fails.
+         */
+        Object categoryOf(String baseId) {
+            try {
+                Object category = categorizeItem.invoke(categoryManager, baseId);
+                if (category == null) return null;
+                String categoryId = (String) getId.invoke(category);
+                if (categoryId == null || "unknown".equalsIgnoreCase(categoryId)) return null;
+                return category;
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        void register(String variantId, Object category) throws Throwable {
+            if (registerApiItem != null) {
+                registerApiItem.invoke(categoryManager, variantId, category);
+            } else {
+                registerToCategory.invoke(api, variantId, (String) getId.invoke(category));
+            }
         }
     }
 }
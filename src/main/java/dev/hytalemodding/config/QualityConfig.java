@@ -109,9 +109,38 @@ public class QualityConfig {
         // ── Loot quality system toggle ──
         .append(new KeyedCodec<Boolean>("LootQualityEnabled", Codec.BOOLEAN),
                 (c, v) -> c.lootQualityEnabled = v, c -> c.lootQualityEnabled).add()
+        // ── Loot: roll the variant at drop time instead of expanding drop trees ──
+        .append(new KeyedCodec<Boolean>("LootRuntimeRolling", Codec.BOOLEAN),
+                (c, v) -> c.lootRuntimeRolling = v, c -> c.lootRuntimeRolling).add()
         // ── Ignored item ID prefixes (no quality variants created for these) ──
         .append(new KeyedCodec<String[]>("IgnoredItemPrefixes", Codec.STRING_ARRAY),
                 (c, v) -> c.ignoredItemPrefixes = v, c -> c.ignoredItemPrefixes).add()
+        // ── Migration: inventory slots checked per tick (0 = migrate synchronously on join) ──
+        .append(new KeyedCodec<Integer>("MigrationSlotsPerTick", Codec.INTEGER),
+                (c, v) -> c.migrationSlotsPerTick = v, c -> c.migrationSlotsPerTick).add()
+        // ── World containers: migrate/roll chest contents when they are opened ──
+        .append(new KeyedCodec<Boolean>("WorldContainerQuality", Codec.BOOLEAN),
+                (c, v) -> c.worldContainerQuality = v, c -> c.worldContainerQuality).add()
+        // ── Metrics: runtime counters + handler latency for /rqc stats ──
+        .append(new KeyedCodec<Boolean>("MetricsEnabled", Codec.BOOLEAN),
+                (c, v) -> c.metricsEnabled = v, c -> c.metricsEnabled).add()
+        // ── Decision recorder: last N quality decisions kept for /rqc decisions ──
+        .append(new KeyedCodec<Integer>("DecisionRecorderSize", Codec.INTEGER),
+                (c, v) -> c.decisionRecorderSize = v, c -> c.decisionRecorderSize).add()
+        // ── Variant budget: caps checked by the planning pass before variants are cloned ──
+        // Lowering a cap strands existing variants of the bases it leaves out: they keep an
+        // unresolved ID, or with RevertCappedVariants are migrated back to the base item (quality lost)
+        .append(new KeyedCodec<Integer>("MaxVariants", Codec.INTEGER),
+                (c, v) -> c.maxVariants = v, c -> c.maxVariants).add()
+        .append(new KeyedCodec<Integer>("MaxVariantHeapMB", Codec.INTEGER),
+                (c, v) -> c.maxVariantHeapMB = v, c -> c.maxVariantHeapMB).add()
+        .append(new KeyedCodec<Boolean>("VariantPlanOnStartup", Codec.BOOLEAN),
+                (c, v) -> c.variantPlanOnStartup = v, c -> c.variantPlanOnStartup).add()
+        .append(new KeyedCodec<Boolean>("RevertCappedVariants", Codec.BOOLEAN),
+                (c, v) -> c.revertCappedVariants = v, c -> c.revertCappedVariants).add()
+        // ── Packet prewarm: build variant packets in the background after the variant pass ──
+        .append(new KeyedCodec<Boolean>("PrewarmPackets", Codec.BOOLEAN),
+                (c, v) -> c.prewarmPackets = v, c -> c.prewarmPackets).add()
         .build();
 
     // ── Quality weights ──
@@ -172,6 +201,7 @@ public class QualityConfig {
 
     // ── Loot quality system toggle ──
     private boolean lootQualityEnabled = true;
+    private boolean lootRuntimeRolling = false;
 
     // ── Ignored item ID prefixes (consumables, projectiles, etc.) ──
     private String[] ignoredItemPrefixes = new String[] {
@@ -185,6 +215,27 @@ public class QualityConfig {
             "Tool_Shears_Basic"
     };
 
+    // ── Migration: per-tick slot budget for the incremental scheduler ──
+    private int migrationSlotsPerTick = 64;
+
+    // ── World containers: process block containers when they are opened ──
+    private boolean worldContainerQuality = false;
+
+    // ── Metrics toggle ──
+    private boolean metricsEnabled = true;
+
+    // ── Decision recorder size ──
+    private int decisionRecorderSize = 1024;
+
+    // ── Variant budget (0 = no cap; lowering a cap strands existing variants of the bases left out) ──
+    private int maxVariants = 0;
+    private int maxVariantHeapMB = 0;
+    private boolean variantPlanOnStartup = false;
+    private boolean revertCappedVariants = false;
+
+    // ── Packet prewarm ──
+    private boolean prewarmPackets = false;
+
     public QualityConfig() {}
 
     // ── Weight getters ──
@@ -245,7 +296,29 @@ public class QualityConfig {
 
     // ── Loot toggle getter ──
     public boolean isLootQualityEnabled() { return lootQualityEnabled; }
+    public boolean isLootRuntimeRolling() { return lootRuntimeRolling; }
 
     // ── Ignored item prefixes getter ──
     public String[] getIgnoredItemPrefixes() { return ignoredItemPrefixes; }
+
+    // ── Migration budget getter ──
+    public int getMigrationSlotsPerTick() { return migrationSlotsPerTick; }
+
+    // ── World container toggle getter ──
+    public boolean isWorldContainerQuality() { return worldContainerQuality; }
+
+    // ── Metrics toggle getter ──
+    public boolean isMetricsEnabled() { return metricsEnabled; }
+
+    // ── Decision recorder getter ──
+    public int getDecisionRecorderSize() { return decisionRecorderSize; }
+
+    // ── Variant budget getters ──
+    public int getMaxVariants() { return maxVariants; }
+    public int getMaxVariantHeapMB() { return maxVariantHeapMB; }
+    public boolean isVariantPlanOnStartup() { return variantPlanOnStartup; }
+    public boolean isRevertCappedVariants() { return revertCappedVariants; }
+
+    // ── Packet prewarm getter ──
+    public boolean isPrewarmPackets() { return prewarmPackets; }
 }
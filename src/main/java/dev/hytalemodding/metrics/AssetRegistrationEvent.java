@@ -0,0 +1,29 @@
+package dev.hytalemodding.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event: one batch of cloned assets (interactions, root interactions,
+ * recipes) registered through an asset store's {@code loadAssets}.
+ */
+@Name("dev.hytalemodding.rqc.AssetRegistration")
+@Label("RQC Asset Registration Batch")
+@Category({"Romna's Quality Crafting", "Startup"})
+@Description("Cloned assets registered in one loadAssets call")
+@StackTrace(false)
+public final class AssetRegistrationEvent extends Event {
+
+    @Label("Asset Type")
+    public String assetType;
+
+    @Label("Count")
+    public int count;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
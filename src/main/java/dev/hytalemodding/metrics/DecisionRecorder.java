@@ -0,0 +1,219 @@
+package dev.hytalemodding.metrics;
+
+import dev.hytalemodding.metrics.QualityMetrics.RejectReason;
+import dev.hytalemodding.quality.ItemQuality;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Flight recorder of the last N quality decisions (assign, craft, migrate),
+ * for diagnosing "wrong tier" / "missed roll" reports after the fact.
+ *
+ * The hot paths swallow failures by design; instead of logging they record
+ * the decision here. The buffer is preallocated parallel arrays indexed by a
+ * shared atomic cursor, so a write is one getAndIncrement plus plain array
+ * stores — no locks and no allocation (item IDs, container types and
+ * exception classes are stored as references that already exist). Each slot
+ * carries a sequence number written last, so readers skip slots that are
+ * being overwritten instead of blocking writers (a seqlock: fences keep the
+ * plain field accesses between the two sequence accesses on both sides).
+ *
+ * Sized by {@code DecisionRecorderSize} in config.json (0 disables it);
+ * dumped with {@code /rqc decisions}.
+ */
+public final class DecisionRecorder {
+
+    /** What happened to the item. */
+    public enum Outcome { ASSIGNED, MIGRATED, FAILED }
+
+    private static final int DEFAULT_SIZE = 1024;
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final RejectReason[] REASONS = RejectReason.values();
+    private static final ItemQuality[] TIERS = ItemQuality.values();
+
+    private static volatile DecisionRecorder instance = new DecisionRecorder(DEFAULT_SIZE);
+
+    /** Counts entity store ticks; advanced by {@link DecisionTickClock}. */
+    private static final AtomicLong TICKS = new AtomicLong();
+
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLongArray sequence;
+    private final String[] itemIds;
+    private final String[] sources;
+    private final Class<?>[] containerTypes;
+    private final Class<?>[] errors;
+    private final short[] slots;
+    private final byte[] outcomes;
+    private final byte[] reasons;
+    private final byte[] tiers;
+    private final long[] ticks;
+    private final long[] times;
+
+    private DecisionRecorder(int size) {
+        int capacity = size <= 0 ? 0 : Integer.highestOneBit(Math.max(size, 2) - 1) << 1;
+        this.mask = capacity - 1;
+        this.sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequence.set(i, -1);
+        this.itemIds = new String[capacity];
+        this.sources = new String[capacity];
+        this.containerTypes = new Class<?>[capacity];
+        this.errors = new Class<?>[capacity];
+        this.slots = new short[capacity];
+        this.outcomes = new byte[capacity];
+        this.reasons = new byte[capacity];
+        this.tiers = new byte[capacity];
+        this.ticks = new long[capacity];
+        this.times = new long[capacity];
+    }
+
+    @Nonnull
+    public static DecisionRecorder get() {
+        return instance;
+    }
+
+    /**
+     * Replaces the recorder with one holding the last {@code size} decisions
+     * (rounded up to a power of two). 0 disables recording.
+     */
+    public static void configure(int size) {
+        instance = new DecisionRecorder(size);
+    }
+
+    public boolean isEnabled() { return mask >= 0; }
+    public int getCapacity() { return mask + 1; }
+    public long getTotalRecorded() { return cursor.get(); }
+
+    // ── Recording ──
+
+    /**
+     * Records one decision.
+     *
+     * @param source    code path ("assign", "craft", "migrate", ...), a constant
+     * @param tier      rolled or migrated tier, null if none
+     * @param reason    why the item failed, null on success
+     * @param error     exception class on failure, null otherwise
+     * @param container container the item was in, null if unknown
+     */
+    public void record(@Nonnull String source, @Nullable String itemId, @Nonnull Outcome outcome,
+                       @Nullable ItemQuality tier, @Nullable RejectReason reason,
+                       @Nullable Throwable error, @Nullable Object container, short slot) {
+        if (mask < 0) return;
+
+        long seq = cursor.getAndIncrement();
+        int i = (int) (seq & mask);
+
+        sequence.set(i, -1); // writing — readers skip this slot
+        VarHandle.releaseFence(); // field stores below stay after the -1
+        itemIds[i] = itemId;
+        sources[i] = source;
+        containerTypes[i] = container != null ? container.getClass() : null;
+        errors[i] = error != null ? error.getClass() : null;
+        slots[i] = slot;
+        outcomes[i] = (byte) outcome.ordinal();
+        reasons[i] = (byte) (reason != null ? reason.ordinal() : -1);
+        tiers[i] = (byte) (tier != null ? tier.ordinal() : -1);
+        ticks[i] = TICKS.get();
+        times[i] = System.currentTimeMillis();
+        sequence.set(i, seq);
+    }
+
+    /** Advances the tick counter stored with each decision. */
+    public static void tick() {
+        TICKS.incrementAndGet();
+    }
+
+    // ── Reading ──
+
+    /** One recorded decision (allocated only when the buffer is read). */
+    public record Decision(long sequence, long tick, long timeMillis, String source, String itemId,
+                           Outcome outcome, ItemQuality tier, RejectReason reason,
+                           String error, String container, short slot) {
+
+        @Nonnull
+        public String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append('#').append(sequence).append(" t").append(tick).append(' ')
+              .append(source).append(' ').append(outcome);
+            if (tier != null) sb.append(' ').append(tier.getDisplayName());
+            if (reason != null) sb.append(" reason=").append(reason);
+            if (error != null) sb.append(" error=").append(error);
+            sb.append(" item=").append(itemId);
+            if (container != null) sb.append(" in=").append(container).append('[').append(slot).append(']');
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} most recent decisions, oldest first. Slots
+     * overwritten while being read are left out.
+     */
+    @Nonnull
+    public List<Decision> snapshot(int limit) {
+        List<Decision> result = new ArrayList<>();
+        if (mask < 0) return result;
+
+        long end = cursor.get();
+        long start = Math.max(0, end - Math.min(limit, mask + 1));
+        for (long seq = start; seq < end; seq++) {
+            int i = (int) (seq & mask);
+            if (sequence.get(i) != seq) continue;
+
+            String itemId = itemIds[i];
+            String source = sources[i];
+            Class<?> containerType = containerTypes[i];
+            Class<?> error = errors[i];
+            short slot = slots[i];
+            byte outcome = outcomes[i];
+            byte reason = reasons[i];
+            byte tier = tiers[i];
+            long tick = ticks[i];
+            long time = times[i];
+
+            // Re-check: the slot may have been overwritten while copying.
+            // The fence keeps the field loads above before the re-check.
+            VarHandle.acquireFence();
+            if (sequence.get(i) != seq) continue;
+
+            result.add(new Decision(seq, tick, time, source, itemId, OUTCOMES[outcome],
+                    tier >= 0 ? TIERS[tier] : null,
+                    reason >= 0 ? REASONS[reason] : null,
+                    error != null ? error.getSimpleName() : null,
+                    containerType != null ? containerType.getSimpleName() : null,
+                    slot));
+        }
+        return result;
+    }
+
+    /**
+     * Writes every buffered decision to {@code decisions-<timestamp>.txt} in
+     * the given directory and returns the file.
+     */
+    @Nonnull
+    public Path dump(@Nonnull Path dir) throws IOException {
+        Files.createDirectories(dir);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = dir.resolve("decisions-" + stamp + ".txt");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Decision d : snapshot(mask + 1)) {
+                out.write(Instant.ofEpochMilli(d.timeMillis()) + " " + d.format());
+                out.newLine();
+            }
+        }
+        return file;
+    }
+}
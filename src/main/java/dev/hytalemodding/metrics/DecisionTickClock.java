@@ -0,0 +1,20 @@
+package dev.hytalemodding.metrics;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Advances the tick counter stamped on each {@link DecisionRecorder} entry.
+ * Runs once per entity store tick, so with several worlds loaded the counter
+ * advances once per world tick.
+ */
+public final class DecisionTickClock extends TickingSystem<EntityStore> {
+
+    @Override
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        DecisionRecorder.tick();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.hytalemodding.metrics;
+
+import dev.hytalemodding.metrics.QualityMetrics.TxType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line format of an inventory event trace, written by
+ * {@link EventTraceRecorder} on a live server and read back by the replay
+ * harness in {@code benchmarks/}.
+ *
+ * One event per line, tab-separated:
+ * <pre>
+ *   offsetNanos  type  ok  container  capacity  other  otherCapacity  touch...
+ *   touch = slot:quantity:ok:itemId       (itemId "-" for an emptied slot)
+ * </pre>
+ * {@code other} is the destination container of a move (-1 otherwise).
+ * Containers are identified by a per-trace number, not by content. List
+ * transactions are flattened into their slot touches; a move keeps only
+ * its add side. Lines starting with {@code #} are comments.
+ */
+public final class EventTrace {
+
+    public static final String HEADER = "# rqc-trace v1";
+
+    private static final String EMPTY_ITEM = "-";
+
+    /** One slot written by the transaction (the state after it). */
+    public record Touch(short slot, String itemId, int quantity, boolean succeeded) {}
+
+    /** One InventoryChangeEvent. */
+    public record Event(long offsetNanos, TxType type, boolean succeeded,
+                        int container, short capacity, int otherContainer, short otherCapacity,
+                        List<Touch> touches) {}
+
+    private EventTrace() {}
+
+    @Nonnull
+    public static String format(@Nonnull Event event) {
+        StringBuilder line = new StringBuilder(64 + event.touches().size() * 32);
+        line.append(event.offsetNanos()).append('\t')
+                .append(event.type().name()).append('\t')
+                .append(event.succeeded() ? '1' : '0').append('\t')
+                .append(event.container()).append('\t')
+                .append(event.capacity()).append('\t')
+                .append(event.otherContainer()).append('\t')
+                .append(event.otherCapacity());
+        for (Touch touch : event.touches()) {
+            line.append('\t').append(touch.slot())
+                    .append(':').append(touch.quantity())
+                    .append(':').append(touch.succeeded() ? '1' : '0')
+                    .append(':').append(touch.itemId() != null ? touch.itemId() : EMPTY_ITEM);
+        }
+        return line.toString();
+    }
+
+    /** Parses one line; returns null for blank and comment lines. */
+    @Nullable
+    public static Event parse(@Nonnull String line) {
+        if (line.isBlank() || line.startsWith("#")) return null;
+
+        String[] cols = line.split("\t");
+        if (cols.length < 7) throw new IllegalArgumentException("Truncated trace line: " + line);
+
+        List<Touch> touches = new ArrayList<>(cols.length - 7);
+        for (int i = 7; i < cols.length; i++) {
+            String[] parts = cols[i].split(":", 4);
+            if (parts.length < 4) throw new IllegalArgumentException("Bad touch '" + cols[i] + "' in: " + line);
+            String itemId = parts[3].equals(EMPTY_ITEM) ? null : parts[3];
+            touches.add(new Touch(Short.parseShort(parts[0]), itemId, Integer.parseInt(parts[1]), parts[2].equals("1")));
+        }
+
+        return new Event(Long.parseLong(cols[0]), TxType.valueOf(cols[1]), cols[2].equals("1"),
+                Integer.parseInt(cols[3]), Short.parseShort(cols[4]),
+                Integer.parseInt(cols[5]), Short.parseShort(cols[6]), touches);
+    }
+}
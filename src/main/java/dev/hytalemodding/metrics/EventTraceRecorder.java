@@ -0,0 +1,280 @@
+package dev.hytalemodding.metrics;
+
+import com.hypixel.hytale.server.core.inventory.InventoryChangeEvent;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.ListTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.MoveTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction;
+import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
+import dev.hytalemodding.metrics.EventTrace.Event;
+import dev.hytalemodding.metrics.EventTrace.Touch;
+import dev.hytalemodding.metrics.QualityMetrics.TxType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the InventoryChangeEvents seen by the assigner to an
+ * {@link EventTrace} file, so a real server's traffic can be replayed
+ * offline by the load-test harness.
+ *
+ * Off by default: the assigner pays one or two volatile reads per event. While
+ * recording, the game thread only snapshots the transaction into an
+ * {@link Event} and offers it to a bounded queue; a daemon thread writes
+ * the file. Events are dropped (and counted) rather than blocking the game
+ * thread when the writer falls behind. Recording stops by itself after
+ * {@code maxEvents}.
+ *
+ * Each recording is a {@link Session} with its own queue, flag, counters and
+ * writer thread, so a new recording started while the previous writer is
+ * still draining never shares a queue or a file with it.
+ *
+ * Started and stopped with {@code /rqc trace}.
+ */
+public final class EventTraceRecorder {
+
+    private static final String LOG_PREFIX = "[RQC] Trace: ";
+    private static final int QUEUE_SIZE = 16_384;
+
+    private static final EventTraceRecorder INSTANCE = new EventTraceRecorder();
+
+    /** Current (or last) recording; null before the first one. */
+    private volatile Session session;
+
+    /** ListTransaction.list (private), resolved on first use. */
+    private Field listField;
+    private boolean listFieldResolved;
+
+    private EventTraceRecorder() {}
+
+    @Nonnull
+    public static EventTraceRecorder get() {
+        return INSTANCE;
+    }
+
+    /** One recording: its own queue, flag, counters and writer thread. */
+    private static final class Session {
+        final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        final AtomicLong recorded = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+
+        /** Container → trace-local number; cleared when the writer finishes. */
+        final Map<ItemContainer, Integer> containerIds = new IdentityHashMap<>();
+
+        final Path file;
+        final long startNanos;
+        final long maxEvents;
+        volatile boolean recording = true;
+        Thread writer;
+
+        Session(Path file, long maxEvents) {
+            this.file = file;
+            this.maxEvents = maxEvents;
+            this.startNanos = System.nanoTime();
+        }
+    }
+
+    public boolean isRecording() {
+        Session s = session;
+        return s != null && s.recording;
+    }
+
+    public long getRecorded() {
+        Session s = session;
+        return s != null ? s.recorded.get() : 0;
+    }
+
+    public long getDropped() {
+        Session s = session;
+        return s != null ? s.dropped.get() : 0;
+    }
+
+    @Nullable
+    public Path getFile() {
+        Session s = session;
+        return s != null ? s.file : null;
+    }
+
+    /**
+     * Starts writing {@code trace-<timestamp>.tsv} in the given directory.
+     * Returns the file, or the current one if already recording.
+     */
+    @Nonnull
+    public synchronized Path start(@Nonnull Path dir, long maxEvents) throws IOException {
+        Session current = session;
+        if (current != null && current.recording) return current.file;
+
+        Files.createDirectories(dir);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path target = dir.resolve("trace-" + stamp + ".tsv");
+        for (int n = 2; Files.exists(target); n++) {
+            // A previous recording of the same second may still be draining into it
+            target = dir.resolve("trace-" + stamp + "-" + n + ".tsv");
+        }
+        BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+        out.write(EventTrace.HEADER);
+        out.newLine();
+
+        Session next = new Session(target, maxEvents > 0 ? maxEvents : Long.MAX_VALUE);
+        next.writer = new Thread(() -> writeLoop(next, out), "RQC-TraceWriter");
+        next.writer.setDaemon(true);
+        next.writer.start();
+        session = next;
+
+        System.out.println(LOG_PREFIX + "Recording inventory events to " + target.getFileName());
+        return target;
+    }
+
+    /** Stops recording and waits for the file to be flushed. Returns the file, or null if not recording. */
+    @Nullable
+    public synchronized Path stop() {
+        Session s = session;
+        if (s == null || !s.recording) return null;
+        s.recording = false;
+        try {
+            s.writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println(LOG_PREFIX + "Stopped: " + s.recorded.get() + " event(s) written to "
+                + s.file.getFileName() + (s.dropped.get() > 0 ? ", " + s.dropped.get() + " dropped" : ""));
+        return s.file;
+    }
+
+    // ── Game thread ──
+
+    /** Snapshots one event. Called by the assigner before it changes anything. */
+    public void record(@Nonnull InventoryChangeEvent event) {
+        Session s = session;
+        if (s == null || !s.recording) return;
+        try {
+            Event snapshot = snapshot(s, event, System.nanoTime() - s.startNanos);
+            if (!s.queue.offer(snapshot)) {
+                s.dropped.incrementAndGet();
+            } else if (s.recorded.incrementAndGet() >= s.maxEvents) {
+                s.recording = false;
+            }
+        } catch (Exception e) {
+            s.dropped.incrementAndGet();
+        }
+    }
+
+    private Event snapshot(Session s, InventoryChangeEvent event, long offsetNanos) {
+        Transaction transaction = event.getTransaction();
+        ItemContainer container = event.getItemContainer();
+        List<Touch> touches = new ArrayList<>(4);
+        TxType type;
+        ItemContainer other = null;
+
+        if (transaction instanceof SlotTransaction slotTx) {
+            type = TxType.SLOT;
+            addTouch(touches, slotTx);
+        } else if (transaction instanceof ItemStackTransaction itemStackTx) {
+            type = TxType.ITEM_STACK;
+            addTouches(touches, itemStackTx);
+        } else if (transaction instanceof MoveTransaction<?> moveTx) {
+            type = TxType.MOVE;
+            other = moveTx.getOtherContainer();
+            addAny(touches, moveTx.getAddTransaction());
+        } else if (transaction instanceof ListTransaction<?> listTx) {
+            type = TxType.LIST;
+            List<?> inner = listEntries(listTx);
+            if (inner != null) {
+                for (Object tx : inner) addAny(touches, tx);
+            }
+        } else {
+            type = TxType.OTHER;
+        }
+
+        return new Event(offsetNanos, type, transaction.succeeded(),
+                containerId(s, container), container != null ? container.getCapacity() : 0,
+                other != null ? containerId(s, other) : -1, other != null ? other.getCapacity() : 0,
+                touches);
+    }
+
+    private static void addAny(List<Touch> touches, Object tx) {
+        if (tx instanceof SlotTransaction slotTx) {
+            addTouch(touches, slotTx);
+        } else if (tx instanceof ItemStackTransaction itemStackTx) {
+            addTouches(touches, itemStackTx);
+        } else if (tx instanceof MoveTransaction<?> moveTx) {
+            addAny(touches, moveTx.getAddTransaction());
+        }
+    }
+
+    private static void addTouches(List<Touch> touches, ItemStackTransaction itemStackTx) {
+        List<ItemStackSlotTransaction> slotTxs = itemStackTx.getSlotTransactions();
+        if (slotTxs == null) return;
+        for (ItemStackSlotTransaction slotTx : slotTxs) addTouch(touches, slotTx);
+    }
+
+    private static void addTouch(List<Touch> touches, SlotTransaction slotTx) {
+        ItemStack after = slotTx.getSlotAfter();
+        boolean empty = after == null || after.isEmpty();
+        touches.add(new Touch(slotTx.getSlot(), empty ? null : after.getItemId(),
+                empty ? 0 : after.getQuantity(), slotTx.succeeded()));
+    }
+
+    private static int containerId(Session s, ItemContainer container) {
+        if (container == null) return -1;
+        synchronized (s.containerIds) {
+            return s.containerIds.computeIfAbsent(container, c -> s.containerIds.size());
+        }
+    }
+
+    @Nullable
+    private List<?> listEntries(ListTransaction<?> listTx) {
+        try {
+            if (!listFieldResolved) {
+                Field f = listTx.getClass().getDeclaredField("list");
+                f.setAccessible(true);
+                listField = f;
+                listFieldResolved = true;
+            }
+            return listField != null ? (List<?>) listField.get(listTx) : null;
+        } catch (Exception e) {
+            listFieldResolved = true;
+            return null;
+        }
+    }
+
+    // ── Writer thread ──
+
+    private static void writeLoop(Session s, BufferedWriter out) {
+        try (out) {
+            while (s.recording || !s.queue.isEmpty()) {
+                Event event = s.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (event == null) continue;
+                out.write(EventTrace.format(event));
+                out.newLine();
+            }
+        } catch (Exception e) {
+            s.recording = false;
+            System.out.println(LOG_PREFIX + "ERROR writing trace: " + e.getMessage());
+        } finally {
+            // Also reached when maxEvents stopped the recording: don't keep containers alive
+            synchronized (s.containerIds) {
+                s.containerIds.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.hytalemodding.metrics;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram (HDR-style), in nanoseconds.
+ *
+ * Values below 16ns get one bucket each; above that every power of two is
+ * split into 16 linear sub-buckets, so any recorded value is reported within
+ * ~6% of its true value. Recording is a leading-zero count, two shifts and
+ * one atomic increment — no allocation, no locks. Values above ~18 minutes
+ * are clamped into the last bucket.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram(@Nonnull String name) {
+        this.name = name;
+    }
+
+    /** Records one latency sample in nanoseconds. */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        long m = max.get();
+        while (nanos > m && !max.compareAndSet(m, nanos)) {
+            m = max.get();
+        }
+    }
+
+    @Nonnull
+    public String getName() { return name; }
+    public long getCount() { return count.sum(); }
+    public long getSumNanos() { return sum.sum(); }
+    public long getMaxNanos() { return max.get(); }
+
+    public double getMeanNanos() {
+        long c = count.sum();
+        return c > 0 ? (double) sum.sum() / c : 0;
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100), as the lower bound
+     * of the bucket that contains it.
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0;
+
+        long target = (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100.0);
+        if (target < 1) target = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) return lowerBoundOf(i);
+        }
+        return max.get();
+    }
+
+    /** Clears all samples. */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        return (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+    }
+}
@@ -0,0 +1,35 @@
+package dev.hytalemodding.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event: one v1.x inventory migration of one player. With the
+ * incremental scheduler the event spans from queueing to the last slice,
+ * so its duration includes the ticks the job waited.
+ */
+@Name("dev.hytalemodding.rqc.MigrationRun")
+@Label("RQC Migration Run")
+@Category({"Romna's Quality Crafting", "Migration"})
+@Description("v1.x inventory migration of one player")
+@StackTrace(false)
+public final class MigrationRunEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Items Migrated")
+    public int migrated;
+
+    @Label("Forced")
+    @Description("Started by /rqc migrate instead of a join")
+    public boolean forced;
+
+    @Label("Incremental")
+    @Description("Run by the per-tick migration scheduler")
+    public boolean incremental;
+}
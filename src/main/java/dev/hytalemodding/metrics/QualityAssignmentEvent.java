@@ -0,0 +1,55 @@
+package dev.hytalemodding.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Throttle;
+
+/**
+ * JFR event: one item swapped to a quality variant (new roll or v1.x
+ * migration). Fires on the inventory hot path, so it is disabled by default
+ * and throttled when enabled, e.g.
+ * {@code -XX:StartFlightRecording:dev.hytalemodding.rqc.QualityAssignment#enabled=true}.
+ * The event duration is the assignment latency. Call sites check
+ * {@link #isRecording()} before allocating one.
+ */
+@Name("dev.hytalemodding.rqc.QualityAssignment")
+@Label("RQC Quality Assignment")
+@Category({"Romna's Quality Crafting", "Assignment"})
+@Description("An item swapped to a quality variant")
+@Enabled(false)
+@Throttle("100/s")
+@StackTrace(false)
+public final class QualityAssignmentEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(QualityAssignmentEvent.class);
+
+    /** True while a running recording has this event enabled. */
+    public static boolean isRecording() {
+        return TYPE.isEnabled();
+    }
+
+    @Label("Item")
+    public String itemId;
+
+    @Label("Tier")
+    public String tier;
+
+    @Label("Container")
+    public String container;
+
+    @Label("Slot")
+    public short slot;
+
+    @Label("Transaction Type")
+    public String transactionType;
+
+    @Label("Migrated")
+    @Description("v1.x item migrated instead of a new roll")
+    public boolean migrated;
+}
@@ -0,0 +1,288 @@
+package dev.hytalemodding.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import dev.hytalemodding.quality.ItemQuality;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide runtime metrics: striped {@link LongAdder} counters and
+ * {@link LatencyHistogram}s for the hot paths (inventory assigner, crafting,
+ * join migration, loot rolls).
+ *
+ * Counters are contention-free across world threads and never allocate.
+ * When disabled ({@code MetricsEnabled} in config.json) every call returns
+ * after one volatile read and {@link #startTimer()} skips the clock.
+ *
+ * The cost of one timed sample (two clock reads + one histogram record) is
+ * measured on the first {@code /rqc stats} (or dump), never on a world
+ * thread, so the timer overhead can be reported as a share of handler time.
+ * Counter increments are not part of that figure.
+ */
+public final class QualityMetrics {
+
+    private static final QualityMetrics INSTANCE = new QualityMetrics();
+
+    /** Inventory transaction types seen by the assigner. */
+    public enum TxType { SLOT, ITEM_STACK, MOVE, LIST, OTHER }
+
+    /** Why an item was left untouched. */
+    public enum RejectReason { TX_FAILED, ALREADY_VARIANT, IGNORED, NOT_ELIGIBLE, ERROR }
+
+    /** Where a quality roll happened. LOOT is only counted with LootRuntimeRolling. */
+    public enum RollSource { ASSIGN, CRAFT, LOOT }
+
+    private volatile boolean enabled = true;
+    private final long startedAt = System.currentTimeMillis();
+
+    private final LongAdder[] events = adders(TxType.values().length);
+    private final LongAdder[] rejections = adders(RejectReason.values().length);
+    private final LongAdder[][] rolls = new LongAdder[RollSource.values().length][];
+    private final LongAdder slotRewrites = new LongAdder();
+    private final LongAdder itemsMigrated = new LongAdder();
+    private final LongAdder joinsScanned = new LongAdder();
+    private final LongAdder joinsSkipped = new LongAdder();
+    private final LongAdder craftsHandled = new LongAdder();
+
+    private final LatencyHistogram assignerLatency = new LatencyHistogram("assigner");
+    private final LatencyHistogram craftLatency = new LatencyHistogram("craft");
+    private final LatencyHistogram migrationLatency = new LatencyHistogram("migration");
+
+    /** Calibrated on first use; NaN until then. */
+    private volatile double sampleCostNanos = Double.NaN;
+
+    private QualityMetrics() {
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = adders(ItemQuality.values().length);
+        }
+    }
+
+    @Nonnull
+    public static QualityMetrics get() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    // ── Recording ──
+
+    /** Returns a start timestamp, or 0 when metrics are disabled. */
+    public long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /** Records the time since {@code start} if the timer was started. */
+    public void stopTimer(@Nonnull LatencyHistogram histogram, long start) {
+        if (start != 0) histogram.record(System.nanoTime() - start);
+    }
+
+    public void event(@Nonnull TxType type) {
+        if (enabled) events[type.ordinal()].increment();
+    }
+
+    public void reject(@Nonnull RejectReason reason) {
+        if (enabled) rejections[reason.ordinal()].increment();
+    }
+
+    public void roll(@Nonnull RollSource source, @Nonnull ItemQuality quality) {
+        if (enabled) rolls[source.ordinal()][quality.ordinal()].increment();
+    }
+
+    /** Same as {@link #roll(RollSource, ItemQuality)} for a tier ordinal. */
+    public void roll(@Nonnull RollSource source, int tierOrdinal) {
+        if (enabled) rolls[source.ordinal()][tierOrdinal].increment();
+    }
+
+    public void slotRewrite() {
+        if (enabled) slotRewrites.increment();
+    }
+
+    public void itemMigrated() {
+        if (enabled) itemsMigrated.increment();
+    }
+
+    public void joinScanned() {
+        if (enabled) joinsScanned.increment();
+    }
+
+    public void joinSkipped() {
+        if (enabled) joinsSkipped.increment();
+    }
+
+    public void craftHandled() {
+        if (enabled) craftsHandled.increment();
+    }
+
+    @Nonnull public LatencyHistogram assignerLatency() { return assignerLatency; }
+    @Nonnull public LatencyHistogram craftLatency() { return craftLatency; }
+    @Nonnull public LatencyHistogram migrationLatency() { return migrationLatency; }
+
+    // ── Reading ──
+
+    public long getEvents(@Nonnull TxType type) { return events[type.ordinal()].sum(); }
+    public long getRejections(@Nonnull RejectReason reason) { return rejections[reason.ordinal()].sum(); }
+    public long getRolls(@Nonnull RollSource source, @Nonnull ItemQuality quality) {
+        return rolls[source.ordinal()][quality.ordinal()].sum();
+    }
+    public long getSlotRewrites() { return slotRewrites.sum(); }
+    public long getItemsMigrated() { return itemsMigrated.sum(); }
+    public long getJoinsScanned() { return joinsScanned.sum(); }
+    public long getJoinsSkipped() { return joinsSkipped.sum(); }
+    public long getCraftsHandled() { return craftsHandled.sum(); }
+
+    /** Cost of one timed sample; calibrated by the first caller (a command thread). */
+    public double getSampleCostNanos() {
+        double cost = sampleCostNanos;
+        if (Double.isNaN(cost)) {
+            synchronized (this) {
+                cost = sampleCostNanos;
+                if (Double.isNaN(cost)) {
+                    cost = calibrate();
+                    sampleCostNanos = cost;
+                }
+            }
+        }
+        return cost;
+    }
+
+    @Nonnull
+    public LatencyHistogram[] getHistograms() {
+        return new LatencyHistogram[] { assignerLatency, craftLatency, migrationLatency };
+    }
+
+    /**
+     * Timer cost as a percentage of total handler time: samples × calibrated
+     * cost per sample ÷ recorded handler time. Counter increments are not
+     * included.
+     */
+    public double getTimerOverheadPercent() {
+        long samples = 0;
+        long handlerNanos = 0;
+        for (LatencyHistogram h : getHistograms()) {
+            samples += h.getCount();
+            handlerNanos += h.getSumNanos();
+        }
+        if (handlerNanos <= 0) return 0;
+        return samples * getSampleCostNanos() * 100.0 / handlerNanos;
+    }
+
+    /** Clears all counters and histograms. */
+    public void reset() {
+        for (LongAdder a : events) a.reset();
+        for (LongAdder a : rejections) a.reset();
+        for (LongAdder[] bySource : rolls) for (LongAdder a : bySource) a.reset();
+        slotRewrites.reset();
+        itemsMigrated.reset();
+        joinsScanned.reset();
+        joinsSkipped.reset();
+        craftsHandled.reset();
+        for (LatencyHistogram h : getHistograms()) h.reset();
+    }
+
+    // ── JSON dump ──
+
+    @Nonnull
+    public JsonObject toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("enabled", enabled);
+        root.addProperty("uptimeMs", System.currentTimeMillis() - startedAt);
+
+        JsonObject eventsJson = new JsonObject();
+        for (TxType t : TxType.values()) eventsJson.addProperty(t.name(), getEvents(t));
+        root.add("events", eventsJson);
+
+        JsonObject rejectionsJson = new JsonObject();
+        for (RejectReason r : RejectReason.values()) rejectionsJson.addProperty(r.name(), getRejections(r));
+        root.add("rejections", rejectionsJson);
+
+        JsonObject rollsJson = new JsonObject();
+        for (RollSource s : RollSource.values()) {
+            JsonObject bySource = new JsonObject();
+            for (ItemQuality q : ItemQuality.values()) bySource.addProperty(q.name(), getRolls(s, q));
+            rollsJson.add(s.name(), bySource);
+        }
+        root.add("rolls", rollsJson);
+        // Loot drops are only rolled by the plugin with LootRuntimeRolling
+        root.addProperty("lootRollsScope", "LootRuntimeRolling only");
+
+        JsonObject counters = new JsonObject();
+        counters.addProperty("slotRewrites", getSlotRewrites());
+        counters.addProperty("itemsMigrated", getItemsMigrated());
+        counters.addProperty("joinsScanned", getJoinsScanned());
+        counters.addProperty("joinsSkipped", getJoinsSkipped());
+        counters.addProperty("craftsHandled", getCraftsHandled());
+        root.add("counters", counters);
+
+        JsonArray latency = new JsonArray();
+        for (LatencyHistogram h : getHistograms()) {
+            JsonObject hj = new JsonObject();
+            hj.addProperty("name", h.getName());
+            hj.addProperty("count", h.getCount());
+            hj.addProperty("meanNs", Math.round(h.getMeanNanos()));
+            hj.addProperty("p50Ns", h.getPercentileNanos(50));
+            hj.addProperty("p90Ns", h.getPercentileNanos(90));
+            hj.addProperty("p99Ns", h.getPercentileNanos(99));
+            hj.addProperty("p999Ns", h.getPercentileNanos(99.9));
+            hj.addProperty("maxNs", h.getMaxNanos());
+            latency.add(hj);
+        }
+        root.add("latency", latency);
+
+        root.addProperty("timerSampleCostNs", Math.round(getSampleCostNanos() * 10) / 10.0);
+        root.addProperty("timerOverheadPercent", Math.round(getTimerOverheadPercent() * 1000) / 1000.0);
+        return root;
+    }
+
+    /**
+     * Writes {@link #toJson()} to {@code metrics-<timestamp>.json} in the
+     * given directory and returns the file.
+     */
+    @Nonnull
+    public Path dump(@Nonnull Path dir) throws IOException {
+        Files.createDirectories(dir);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = dir.resolve("metrics-" + stamp + ".json");
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            gson.toJson(toJson(), out);
+        }
+        return file;
+    }
+
+    // ── Internals ──
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] a = new LongAdder[n];
+        for (int i = 0; i < n; i++) a[i] = new LongAdder();
+        return a;
+    }
+
+    /** Average cost of startTimer + stopTimer on a scratch histogram. */
+    private static double calibrate() {
+        LatencyHistogram scratch = new LatencyHistogram("calibration");
+        final int warmup = 20_000;
+        final int rounds = 100_000;
+        for (int i = 0; i < warmup; i++) {
+            long s = System.nanoTime();
+            scratch.record(System.nanoTime() - s);
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            long s = System.nanoTime();
+            scratch.record(System.nanoTime() - s);
+        }
+        return (double) (System.nanoTime() - begin) / rounds;
+    }
+}
@@ -0,0 +1,47 @@
+package dev.hytalemodding.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nonnull;
+
+/**
+ * JFR event: one phase of {@code onAssetsLoaded} (scan, variants, loot, ...).
+ * Enabled by default — a handful of events per server start.
+ */
+@Name("dev.hytalemodding.rqc.StartupPhase")
+@Label("RQC Startup Phase")
+@Category({"Romna's Quality Crafting", "Startup"})
+@Description("One phase of the asset-loaded startup pipeline")
+@StackTrace(false)
+public final class StartupPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Items")
+    @Description("Number of items the phase produced or processed")
+    long items;
+
+    /** Creates and begins an event for the given phase. */
+    @Nonnull
+    public static StartupPhaseEvent start(@Nonnull String phase) {
+        StartupPhaseEvent event = new StartupPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    /** Ends the phase and commits it if recording. */
+    public void finish(long items) {
+        end();
+        if (shouldCommit()) {
+            this.items = items;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.hytalemodding.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event: the quality variants of one base item cloned into the item
+ * asset map (one batch = every tier of one base).
+ */
+@Name("dev.hytalemodding.rqc.VariantClone")
+@Label("RQC Variant Clone Batch")
+@Category({"Romna's Quality Crafting", "Startup"})
+@Description("Quality variants cloned for one base item")
+@StackTrace(false)
+public final class VariantCloneEvent extends Event {
+
+    @Label("Base Item")
+    public String baseId;
+
+    @Label("Created")
+    public int created;
+
+    @Label("Failed")
+    public int failed;
+}
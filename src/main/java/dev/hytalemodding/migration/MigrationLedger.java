@@ -0,0 +1,290 @@
+package dev.hytalemodding.migration;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent, thread-safe record of which keys (player UUIDs, container
+ * positions, ...) have already been migrated, and to which migration version.
+ *
+ * Stored as a compact append-only log in the plugin data directory:
+ * <pre>
+ *   header : int magic, int format
+ *   record : long hi, long lo, int version     (20 bytes, last record wins)
+ * </pre>
+ *
+ * Lookups are a single ConcurrentHashMap get. Writes are queued and flushed
+ * in batches by a daemon thread, so the game thread never touches the disk.
+ * When superseded records make up most of the log, it is compacted into a
+ * temp file and atomically moved over the old one, so the file stays bounded
+ * by the number of distinct keys.
+ *
+ * A truncated trailing record (crash mid-write) is ignored on load; the key
+ * it described is simply migrated again.
+ */
+public final class MigrationLedger implements AutoCloseable {
+
+    private static final String LOG_PREFIX = "[RQC] Migration: ";
+
+    private static final int MAGIC = 0x52514331; // "RQC1"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_BYTES = 20;
+
+    /** Delay between a write and its flush — groups joins that arrive together. */
+    private static final long FLUSH_DELAY_MS = 2000;
+
+    /** Compact once the log holds this many more records than live keys. */
+    private static final int COMPACT_SLACK = 1024;
+
+    private final Path file;
+    private final Map<Key, Integer> versions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService writer;
+
+    /** Records currently in the file (live + superseded). Only touched by the writer thread. */
+    private long recordsOnDisk = 0;
+    private volatile boolean closed = false;
+
+    private MigrationLedger(@Nullable Path file) {
+        this.file = file;
+        if (file != null) {
+            this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "RQC-MigrationLedger");
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Opens (or creates) the ledger file. If the file cannot be read, the
+     * ledger still works in memory for this session and a warning is logged.
+     */
+    @Nonnull
+    public static MigrationLedger open(@Nonnull Path file) {
+        MigrationLedger ledger = new MigrationLedger(file);
+        try {
+            ledger.load();
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "WARNING: Could not read " + file.getFileName()
+                    + ", starting a new ledger: " + e.getMessage());
+            ledger.versions.clear();
+            ledger.recordsOnDisk = -1; // forces a rewrite on first flush
+        }
+        return ledger;
+    }
+
+    /** A ledger that is never persisted (e.g. when the data directory is unavailable). */
+    @Nonnull
+    public static MigrationLedger inMemory() {
+        return new MigrationLedger(null);
+    }
+
+    // ── Queries / updates ──
+
+    /** Returns the recorded migration version for a player, or 0 if never migrated. */
+    public int getVersion(@Nonnull UUID uuid) {
+        return getVersion(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /** Returns the recorded migration version for a two-long key, or 0. */
+    public int getVersion(long hi, long lo) {
+        Integer v = versions.get(new Key(hi, lo));
+        return v != null ? v : 0;
+    }
+
+    /** Records that a player has been migrated to the given version. */
+    public void record(@Nonnull UUID uuid, int version) {
+        record(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), version);
+    }
+
+    /** Records that a two-long key has been migrated to the given version. */
+    public void record(long hi, long lo, int version) {
+        Integer previous = versions.put(new Key(hi, lo), version);
+        if (previous != null && previous == version) return;
+        if (writer == null || closed) return;
+
+        pending.add(new Entry(hi, lo, version));
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /** Number of distinct keys in the ledger. */
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * Flushes pending writes and stops the writer thread. Blocks until the
+     * final flush is on disk (bounded wait).
+     */
+    @Override
+    public void close() {
+        if (writer == null || closed) return;
+        closed = true;
+        try {
+            writer.submit(this::flush);
+            writer.shutdown();
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "WARNING: Ledger flush on shutdown failed: " + e.getMessage());
+        }
+    }
+
+    // ── Disk I/O (writer thread only, except load) ──
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) return;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                recordsOnDisk = -1;
+                return;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT) {
+                throw new IOException("unknown ledger format");
+            }
+
+            long records = (size - HEADER_BYTES) / RECORD_BYTES;
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            long remaining = records;
+            while (remaining > 0) {
+                buf.clear();
+                buf.limit((int) Math.min(buf.capacity(), remaining * RECORD_BYTES));
+                readFully(channel, buf);
+                buf.flip();
+                while (buf.remaining() >= RECORD_BYTES) {
+                    versions.put(new Key(buf.getLong(), buf.getLong()), buf.getInt());
+                    remaining--;
+                }
+            }
+            recordsOnDisk = records;
+
+            // Drop a torn trailing record so later appends stay aligned
+            if (size != HEADER_BYTES + records * RECORD_BYTES) {
+                recordsOnDisk = -1;
+            }
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        if (pending.isEmpty()) return;
+
+        try {
+            if (recordsOnDisk < 0 || recordsOnDisk > 2L * versions.size() + COMPACT_SLACK) {
+                compact();
+                return;
+            }
+
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 256);
+            int appended = 0;
+            Files.createDirectories(file.getParent());
+            boolean fresh = !Files.exists(file);
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                if (fresh) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT);
+                    header.flip();
+                    writeFully(channel, header);
+                }
+                Entry entry;
+                while ((entry = pending.poll()) != null) {
+                    if (buf.remaining() < RECORD_BYTES) {
+                        buf.flip();
+                        writeFully(channel, buf);
+                        buf.clear();
+                    }
+                    buf.putLong(entry.hi).putLong(entry.lo).putInt(entry.version);
+                    appended++;
+                }
+                buf.flip();
+                writeFully(channel, buf);
+                channel.force(false);
+            }
+            recordsOnDisk += appended;
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "WARNING: Ledger write failed: " + e.getMessage());
+            recordsOnDisk = -1; // rewrite everything next time
+        }
+    }
+
+    /** Rewrites the log with one record per live key (temp file + atomic move). */
+    private void compact() throws IOException {
+        pending.clear(); // every pending entry is already in the map
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            buf.putInt(MAGIC).putInt(FORMAT);
+            for (Map.Entry<Key, Integer> e : versions.entrySet()) {
+                if (buf.remaining() < RECORD_BYTES) {
+                    buf.flip();
+                    writeFully(channel, buf);
+                    buf.clear();
+                }
+                buf.putLong(e.getKey().hi).putLong(e.getKey().lo).putInt(e.getValue());
+                written++;
+            }
+            buf.flip();
+            writeFully(channel, buf);
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException atomicUnsupported) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        recordsOnDisk = written;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) break;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    private record Key(long hi, long lo) {}
+
+    private record Entry(long hi, long lo, int version) {}
+}
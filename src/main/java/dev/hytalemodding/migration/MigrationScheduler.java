@@ -0,0 +1,313 @@
+package dev.hytalemodding.migration;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.inventory.Inventory;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.metrics.MigrationRunEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incremental v1.x → v2.0 inventory migration, spread across ticks.
+ *
+ * Instead of scanning every inventory section inside PlayerReadyEvent, each
+ * player gets a queued job that is advanced by at most
+ * {@code MigrationSlotsPerTick} slots per world tick (shared by all jobs).
+ * Sections are visited in priority order — hotbar and armor first — so what
+ * the player sees and wears is converted within the first tick or two.
+ *
+ * Jobs are only advanced on the tick of the world the player is in, so slot
+ * writes always happen on that world's thread. Disconnecting cancels the job;
+ * the ledger is only written once a job scans every slot without a failure,
+ * so a cancelled, aborted or partly failed job is picked up again on the
+ * next join.
+ *
+ * Registration (in plugin setup):
+ * <pre>
+ *   this.getEntityStoreRegistry().registerSystem(new MigrationScheduler(...));
+ * </pre>
+ */
+public final class MigrationScheduler extends TickingSystem<EntityStore> {
+
+    private static final String LOG_PREFIX = "[RQC] Migration: ";
+
+    private final QualityMigration migration;
+    private final QualityConfig config;
+
+    private final ConcurrentLinkedQueue<Job> jobs = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong slotsProcessed = new AtomicLong();
+    private final AtomicInteger jobsCompleted = new AtomicInteger();
+
+    public MigrationScheduler(@Nonnull QualityMigration migration, @Nonnull QualityConfig config) {
+        this.migration = migration;
+        this.config = config;
+    }
+
+    // ── Queueing ──
+
+    /**
+     * Queues a player for incremental migration. A player already queued is
+     * not queued twice (a forced request upgrades the existing job).
+     *
+     * @param force   run even if the ledger says the player is migrated,
+     *                and report the result to the player
+     * @param batch   optional /rqc migrate all batch to report progress to
+     * @return true if a new job was queued
+     */
+    public boolean enqueue(@Nonnull Player player, boolean force, @Nullable Batch batch) {
+        UUID uuid = player.getUuid();
+        for (Job job : jobs) {
+            if (job.uuid.equals(uuid)) {
+                if (force) job.force = true;
+                if (batch != null && job.batch == null) {
+                    job.batch = batch;
+                    return true;
+                }
+                return false;
+            }
+        }
+        jobs.add(new Job(player, uuid, force, batch));
+        return true;
+    }
+
+    /**
+     * Queues every online player under the same per-tick budget and reports
+     * progress to the requester (25% steps and a final summary).
+     *
+     * @return the number of players queued
+     */
+    public int enqueueAll(@Nullable CommandSender requester) {
+        List<Player> players = List.copyOf(migration.getOnlinePlayers());
+        Batch batch = new Batch(requester, players.size());
+        int queued = 0;
+        for (Player player : players) {
+            if (enqueue(player, true, batch)) queued++;
+        }
+        batch.total.set(queued);
+        if (queued == 0) batch.finish();
+        return queued;
+    }
+
+    /** Drops a pending job (player disconnected). */
+    public void cancel(@Nonnull UUID uuid) {
+        jobs.removeIf(job -> {
+            if (!job.uuid.equals(uuid)) return false;
+            if (job.batch != null) job.batch.complete(job.migrated);
+            return true;
+        });
+    }
+
+    // ── Ticking ──
+
+    @Override
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        if (jobs.isEmpty()) return;
+
+        int budget = Math.max(1, config.getMigrationSlotsPerTick());
+        World world = worldOf(store);
+
+        Iterator<Job> it = jobs.iterator();
+        while (budget > 0 && it.hasNext()) {
+            Job job = it.next();
+            if (world == null || !job.isIn(world)) continue;
+
+            try {
+                budget -= job.step(budget);
+            } catch (Exception e) {
+                // Player gone or inventory unavailable — drop the job; it is not
+                // recorded in the ledger, so the next join retries
+                job.aborted = true;
+                job.done = true;
+            }
+
+            if (job.done) {
+                it.remove();
+                finish(job);
+            }
+        }
+    }
+
+    private void finish(Job job) {
+        jobsCompleted.incrementAndGet();
+        QualityMigration.commitRunEvent(job.runEvent, job.player, job.migrated, job.force, true);
+        boolean clean = !job.aborted && job.failed == 0;
+        if (job.force) {
+            migration.reportForced(job.player, job.migrated);
+            migration.completePlayer(job.player, 0, clean);
+        } else {
+            migration.completePlayer(job.player, job.migrated, clean);
+        }
+        if (job.batch != null) job.batch.complete(job.migrated);
+    }
+
+    @Nullable
+    private static World worldOf(Store<EntityStore> store) {
+        try {
+            return store.getExternalData().getWorld();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ── Stats ──
+
+    public int getQueuedJobs() { return jobs.size(); }
+    public long getSlotsProcessed() { return slotsProcessed.get(); }
+    public int getJobsCompleted() { return jobsCompleted.get(); }
+
+    /** Slots still to scan across all queued jobs (sections not yet resolved count as unknown). */
+    public long getRemainingSlots() {
+        long remaining = 0;
+        for (Job job : jobs) remaining += job.remainingSlots();
+        return remaining;
+    }
+
+    // ── Job ──
+
+    /** One player's migration, advanced slot by slot across ticks. */
+    private final class Job {
+        final Player player;
+        final UUID uuid;
+        volatile boolean force;
+        volatile Batch batch;
+        final MigrationRunEvent runEvent = new MigrationRunEvent();
+
+        List<ItemContainer> sections;
+        int sectionIndex = 0;
+        short slot = 0;
+        int migrated = 0;
+        int failed = 0;
+        boolean aborted = false;
+        boolean done = false;
+
+        Job(Player player, UUID uuid, boolean force, Batch batch) {
+            this.player = player;
+            this.uuid = uuid;
+            this.force = force;
+            this.batch = batch;
+            runEvent.begin();
+        }
+
+        /** False when the player's world is unknown; the job waits rather than write off-thread. */
+        boolean isIn(World world) {
+            try {
+                World playerWorld = player.getWorld();
+                return playerWorld != null && playerWorld == world;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        /** Scans up to {@code budget} slots. Returns the number of slots used. */
+        int step(int budget) {
+            if (sections == null) {
+                Inventory inventory = player.getInventory();
+                if (inventory == null) {
+                    aborted = true;
+                    done = true;
+                    return 1;
+                }
+                sections = QualityMigration.getSections(inventory);
+            }
+
+            int used = 0;
+            while (used < budget && sectionIndex < sections.size()) {
+                ItemContainer container = sections.get(sectionIndex);
+                short capacity = container.getCapacity();
+                while (used < budget && slot < capacity) {
+                    int result = migration.migrateSlot(container, slot);
+                    if (result == QualityMigration.SLOT_MIGRATED) migrated++;
+                    else if (result == QualityMigration.SLOT_FAILED) failed++;
+                    slot++;
+                    used++;
+                }
+                if (slot >= capacity) {
+                    sectionIndex++;
+                    slot = 0;
+                }
+            }
+            slotsProcessed.addAndGet(used);
+
+            if (sectionIndex >= sections.size()) done = true;
+            return Math.max(used, 1);
+        }
+
+        long remainingSlots() {
+            List<ItemContainer> s = sections;
+            if (s == null) return 0;
+            long remaining = 0;
+            for (int i = sectionIndex; i < s.size(); i++) {
+                remaining += s.get(i).getCapacity();
+            }
+            return remaining - slot;
+        }
+    }
+
+    // ── Batch (/rqc migrate all) ──
+
+    /** Progress of a /rqc migrate all run, reported back to the requester. */
+    public static final class Batch {
+        private final CommandSender requester;
+        private final AtomicInteger total;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger migrated = new AtomicInteger();
+        private final long startTime = System.currentTimeMillis();
+        private int lastReportedQuarter = 0;
+
+        Batch(@Nullable CommandSender requester, int total) {
+            this.requester = requester;
+            this.total = new AtomicInteger(total);
+        }
+
+        void complete(int itemsMigrated) {
+            migrated.addAndGet(itemsMigrated);
+            int done = completed.incrementAndGet();
+            int all = total.get();
+            if (all <= 0) return;
+
+            if (done >= all) {
+                finish();
+                return;
+            }
+            int quarter = done * 4 / all;
+            synchronized (this) {
+                if (quarter > lastReportedQuarter) {
+                    lastReportedQuarter = quarter;
+                    send("[RQC] Migration: " + done + "/" + all + " player(s) done ("
+                            + (quarter * 25) + "%)", "#ffaa00");
+                }
+            }
+        }
+
+        void finish() {
+            long elapsed = System.currentTimeMillis() - startTime;
+            String summary = "[RQC] Migration complete: " + completed.get() + " player(s), "
+                    + migrated.get() + " item(s) converted (" + elapsed + "ms)";
+            System.out.println(LOG_PREFIX + summary.substring("[RQC] ".length()));
+            send(summary, "#55ff55");
+        }
+
+        private void send(String text, String color) {
+            if (requester == null) return;
+            try {
+                requester.sendMessage(Message.raw(text).color(color));
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
@@ -3,10 +3,16 @@ package dev.hytalemodding.migration;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.inventory.Inventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.world.World;
+import dev.hytalemodding.metrics.DecisionRecorder;
+import dev.hytalemodding.metrics.DecisionRecorder.Outcome;
+import dev.hytalemodding.metrics.MigrationRunEvent;
+import dev.hytalemodding.metrics.QualityMetrics;
 import dev.hytalemodding.quality.ItemQuality;
 import dev.hytalemodding.quality.QualityRegistry;
 import dev.hytalemodding.quality.QualityTierMapper;
@@ -14,7 +20,10 @@ import dev.hytalemodding.quality.QualityTierMapper;
 import org.bson.BsonDocument;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Handles migration from v1.x quality items to v2.0 format.
@@ -29,22 +38,54 @@ import java.util.*;
  * 3. Preserves durability ratio
  *
  * No metadata is used — quality is determined entirely by the item ID.
+ *
+ * Players already migrated (in this or any earlier session) are recorded in
+ * a persistent {@link MigrationLedger}, so their inventory is only scanned
+ * again when {@link #MIGRATION_VERSION} is bumped. A player is only recorded
+ * after a full pass with no failed slot, run once the variants and the
+ * legacy ID table exist; anything less is retried on the next join.
+ *
+ * When a {@link MigrationScheduler} is attached, joins only queue a job and
+ * the slots are migrated incrementally under a per-tick budget, so a wave of
+ * logins after a restart does not spike the join tick.
  */
 public final class QualityMigration {
 
     private static final String LOG_PREFIX = "[RQC] Migration: ";
 
-    private final Set<UUID> migratedPlayers = new HashSet<>();
+    /** Source tag in the decision recorder. */
+    private static final String SOURCE = "migrate";
+
+    /** Bump when the migration logic changes so every player is scanned again. */
+    public static final int MIGRATION_VERSION = 1;
+
+    // ── migrateSlot results ──
+    static final int SLOT_UNCHANGED = 0;
+    static final int SLOT_MIGRATED = 1;
+    static final int SLOT_FAILED = -1;
+
+    /** Outcome of a synchronous pass; {@code clean} = every section scanned, no slot failed. */
+    private record Pass(int migrated, boolean clean) {}
 
     private final QualityRegistry registry;
     private final QualityTierMapper tierMapper;
+    private final MigrationLedger ledger;
+
+    /** Players currently online (for /rqc migrate all). */
+    private final Map<UUID, Player> onlinePlayers = new ConcurrentHashMap<>();
+
+    /** Incremental scheduler; null = migrate synchronously on join. */
+    private MigrationScheduler scheduler;
 
     private int totalMigrated = 0;
     private int totalReverted = 0;
 
-    public QualityMigration(@Nonnull QualityRegistry registry, @Nonnull QualityTierMapper tierMapper) {
+    public QualityMigration(@Nonnull QualityRegistry registry,
+                            @Nonnull QualityTierMapper tierMapper,
+                            @Nonnull MigrationLedger ledger) {
         this.registry = registry;
         this.tierMapper = tierMapper;
+        this.ledger = ledger;
     }
 
     /**
@@ -52,6 +93,15 @@ public final class QualityMigration {
      */
     public void registerEvents(@Nonnull EventRegistry eventRegistry) {
         eventRegistry.registerGlobal(PlayerReadyEvent.class, this::onPlayerReady);
+        eventRegistry.registerGlobal(PlayerDisconnectEvent.class, this::onPlayerDisconnect);
+    }
+
+    /**
+     * Routes join-time migration through an incremental scheduler instead of
+     * scanning the whole inventory inside PlayerReadyEvent.
+     */
+    public void setScheduler(MigrationScheduler scheduler) {
+        this.scheduler = scheduler;
     }
 
     @SuppressWarnings("removal")
@@ -59,11 +109,51 @@ public final class QualityMigration {
         Player player = event.getPlayer();
         if (player == null) return;
 
-        UUID uuid = player.getUuid();
-        if (migratedPlayers.contains(uuid)) return;
+        QualityMetrics metrics = QualityMetrics.get();
+        long start = metrics.startTimer();
+        try {
+            UUID uuid = player.getUuid();
+            onlinePlayers.put(uuid, player);
+            // While a variant cap leaves bases out, every join is scanned: stacks of
+            // their variants are migrated back to the base, whatever the ledger says
+            if (!tierMapper.hasCappedBases() && ledger.getVersion(uuid) >= MIGRATION_VERSION) {
+                metrics.joinSkipped();
+                return;
+            }
+            metrics.joinScanned();
+
+            if (scheduler != null) {
+                scheduler.enqueue(player, false, null);
+                return;
+            }
+
+            Pass pass = migratePlayer(player, false);
+            completePlayer(player, pass.migrated(), pass.clean());
+        } finally {
+            metrics.stopTimer(metrics.migrationLatency(), start);
+        }
+    }
+
+    private void onPlayerDisconnect(@Nonnull PlayerDisconnectEvent event) {
+        try {
+            UUID uuid = event.getPlayerRef().getUuid();
+            onlinePlayers.remove(uuid);
+            if (scheduler != null) scheduler.cancel(uuid);
+        } catch (Exception ignored) {
+        }
+    }
 
-        int migrated = migratePlayer(player);
-        migratedPlayers.add(uuid);
+    /**
+     * Records a finished player migration in the ledger and notifies the
+     * player if anything was converted. The ledger is only written for a
+     * clean pass made after the variant pass (before it, the legacy ID table
+     * is empty and nothing could be detected).
+     */
+    @SuppressWarnings("removal")
+    void completePlayer(@Nonnull Player player, int migrated, boolean clean) {
+        if (clean && tierMapper.isVariantsReady()) {
+            ledger.record(player.getUuid(), MIGRATION_VERSION);
+        }
 
         if (migrated > 0) {
             totalMigrated += migrated;
@@ -80,83 +170,122 @@ public final class QualityMigration {
      * Scans all of a player's inventory sections and migrates v1.x quality items.
      * v1.x items have quality in their ID suffix → swap to proper variant ID.
      *
-     * @return number of items migrated
+     * @return number of items migrated, and whether the pass was clean
      */
-    private int migratePlayer(@Nonnull Player player) {
+    private Pass migratePlayer(@Nonnull Player player, boolean forced) {
+        MigrationRunEvent runEvent = new MigrationRunEvent();
+        runEvent.begin();
         int migrated = 0;
+        boolean clean = false;
 
         try {
             Inventory inventory = player.getInventory();
             if (inventory == null) {
-                return 0;
+                return new Pass(0, false);
             }
 
             // Migrate all inventory sections
-            migrated += migrateContainer("hotbar", inventory.getHotbar());
-            migrated += migrateContainer("storage", inventory.getStorage());
-            migrated += migrateContainer("armor", inventory.getArmor());
-            migrated += migrateContainer("utility", inventory.getUtility());
-            migrated += migrateContainer("tools", inventory.getTools());
-
-            try {
-                migrated += migrateContainer("backpack", inventory.getBackpack());
-            } catch (Exception ignored) {
-                // Backpack may not exist
+            clean = true;
+            for (ItemContainer container : getSections(inventory)) {
+                short capacity = container.getCapacity();
+                for (short slot = 0; slot < capacity; slot++) {
+                    int result = migrateSlot(container, slot);
+                    if (result == SLOT_MIGRATED) migrated++;
+                    else if (result == SLOT_FAILED) clean = false;
+                }
             }
         } catch (Exception e) {
+            clean = false;
             System.out.println(LOG_PREFIX + "Error migrating player: " + e.getClass().getSimpleName() + " - " + e.getMessage());
         }
 
-        return migrated;
+        commitRunEvent(runEvent, player, migrated, forced, false);
+        return new Pass(migrated, clean);
+    }
+
+    /** Ends and commits a JFR migration run event if recording. */
+    static void commitRunEvent(@Nonnull MigrationRunEvent event, @Nonnull Player player,
+                               int migrated, boolean forced, boolean incremental) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = String.valueOf(player.getUuid());
+            event.migrated = migrated;
+            event.forced = forced;
+            event.incremental = incremental;
+            event.commit();
+        }
     }
 
     /**
-     * Migrates v1.x quality items (ID suffix like _Legendary) to proper variant items.
+     * Returns a player's inventory sections in migration priority order:
+     * hotbar and armor first (what the player sees and wears), then the rest.
+     * Missing sections are skipped.
      */
-    private int migrateContainer(String sectionName, ItemContainer container) {
-        if (container == null) return 0;
-
-        int migrated = 0;
-        short capacity = container.getCapacity();
-
-        for (short slot = 0; slot < capacity; slot++) {
-            try {
-                ItemStack item = container.getItemStack(slot);
-                if (item == null || item.isEmpty()) continue;
-
-                String itemId = item.getItemId();
-                if (itemId == null) continue;
-
-                // Skip items that are already proper quality variants
-                if (tierMapper.isVariant(itemId)) continue;
-
-                // Check for v1.x suffixed ID (e.g. "Weapon_Sword_Copper_Legendary")
-                ItemQuality quality = ItemQuality.fromItemId(itemId);
-                if (quality == null) continue;
-
-                String baseId = ItemQuality.extractBaseId(itemId);
-
-                // Only migrate if the base ID is actually an eligible item
-                // (avoids false positives like "Furniture_Dungeon_Chest_Epic")
-                if (!registry.isEligible(baseId)) continue;
-
-                String targetId = tierMapper.isInitialized()
-                        ? tierMapper.getVariantId(baseId, quality) : baseId;
+    @Nonnull
+    static List<ItemContainer> getSections(@Nonnull Inventory inventory) {
+        List<ItemContainer> sections = new ArrayList<>(6);
+        addSection(sections, inventory::getHotbar);
+        addSection(sections, inventory::getArmor);
+        addSection(sections, inventory::getUtility);
+        addSection(sections, inventory::getTools);
+        addSection(sections, inventory::getStorage);
+        // Backpack may not exist
+        addSection(sections, inventory::getBackpack);
+        return sections;
+    }
 
-                // Preserve metadata from the original item (enchantments, etc.)
-                BsonDocument originalMetadata = item.getMetadata();
-                ItemStack migratedItem = new ItemStack(targetId, item.getQuantity(), originalMetadata);
-                migratedItem = preserveDurability(item, migratedItem);
+    private static void addSection(List<ItemContainer> sections, Supplier<ItemContainer> getter) {
+        try {
+            ItemContainer container = getter.get();
+            if (container != null) sections.add(container);
+        } catch (Exception ignored) {
+        }
+    }
 
-                container.setItemStackForSlot(slot, migratedItem);
-                migrated++;
-                totalReverted++;
+    /**
+     * Migrates a single slot if it holds a v1.x quality item (ID suffix like
+     * _Legendary). Used by {@link #migratePlayer} and, one slot budget at a
+     * time, by the {@link MigrationScheduler}.
+     *
+     * @return {@link #SLOT_MIGRATED}, {@link #SLOT_UNCHANGED} or {@link #SLOT_FAILED}
+     */
+    int migrateSlot(@Nonnull ItemContainer container, short slot) {
+        String itemId = null;
+        try {
+            ItemStack item = container.getItemStack(slot);
+            if (item == null || item.isEmpty()) return SLOT_UNCHANGED;
+
+            itemId = item.getItemId();
+            if (itemId == null) return SLOT_UNCHANGED;
+
+            // Skip items that are already proper quality variants
+            if (tierMapper.isVariant(itemId)) return SLOT_UNCHANGED;
+
+            // v1.x suffixed ID of an eligible item (e.g. "Weapon_Sword_Copper_Legendary"):
+            // one probe into the precomputed legacy table, which only holds IDs built
+            // from eligible bases (no "Furniture_Dungeon_Chest_Epic" false positives)
+            String targetId = tierMapper.getLegacyIdTable().getTarget(itemId);
+            if (targetId == null) return SLOT_UNCHANGED;
+
+            // Preserve metadata from the original item (enchantments, etc.)
+            BsonDocument originalMetadata = item.getMetadata();
+            ItemStack migratedItem = new ItemStack(targetId, item.getQuantity(), originalMetadata);
+            migratedItem = preserveDurability(item, migratedItem);
+
+            container.setItemStackForSlot(slot, migratedItem);
+            totalReverted++;
+            QualityMetrics metrics = QualityMetrics.get();
+            metrics.itemMigrated();
+            metrics.slotRewrite();
+            DecisionRecorder.get().record(SOURCE, itemId, Outcome.MIGRATED,
+                    tierMapper.getLegacyIdTable().getQuality(itemId), null, null, container, slot);
+            return SLOT_MIGRATED;
 
-            } catch (Exception ignored) {
-            }
+        } catch (Exception e) {
+            DecisionRecorder.get().record(SOURCE, itemId, Outcome.FAILED, null,
+                    QualityMetrics.RejectReason.ERROR, e, container, slot);
+            return SLOT_FAILED;
         }
-
-        return migrated;
     }
 
     /**
@@ -184,13 +313,53 @@ public final class QualityMigration {
     public int getTotalMigrated() { return totalMigrated; }
     public int getTotalReverted() { return totalReverted; }
 
+    /** Players currently online, keyed by UUID. */
+    @Nonnull
+    public Collection<Player> getOnlinePlayers() {
+        return Collections.unmodifiableCollection(onlinePlayers.values());
+    }
+
+    @Nullable
+    public Player getOnlinePlayer(@Nonnull UUID uuid) {
+        return onlinePlayers.get(uuid);
+    }
+
+    @Nullable
+    public MigrationScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * Force-runs migration on a player's inventory (can be triggered by /rqc migrate).
-     * Bypasses the "already migrated this session" check.
+     * Bypasses the ledger's "already migrated" check. With a scheduler attached,
+     * the player is queued under the per-tick budget instead; otherwise the
+     * pass is posted to the executor of the player's world, so slot writes
+     * never happen on the command thread.
+     *
+     * @return false if the player is in no world (nothing was run or queued)
      */
     @SuppressWarnings("removal")
-    public void forceMigrate(@Nonnull Player player) {
-        int migrated = migratePlayer(player);
+    public boolean forceMigrate(@Nonnull Player player) {
+        if (scheduler != null) {
+            scheduler.enqueue(player, true, null);
+            return true;
+        }
+
+        World world;
+        try {
+            world = player.getWorld();
+        } catch (Exception e) {
+            world = null;
+        }
+        if (world == null) return false;
+
+        world.execute(() -> reportForced(player, migratePlayer(player, true).migrated()));
+        return true;
+    }
+
+    /** Sends the result of a forced migration to the player. */
+    @SuppressWarnings("removal")
+    void reportForced(@Nonnull Player player, int migrated) {
         totalMigrated += migrated;
 
         try {
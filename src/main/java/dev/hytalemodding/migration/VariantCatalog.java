@@ -0,0 +1,134 @@
+package dev.hytalemodding.migration;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import dev.hytalemodding.quality.QualityRegistry;
+import dev.hytalemodding.quality.QualityTierMapper;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of the eligible base items and quality variants of a running
+ * server, written to the plugin data directory at startup so offline tools
+ * (see {@link dev.hytalemodding.tools.OfflineMigrationTool}) can apply the
+ * same rules as {@link QualityMigration} without loading the game assets.
+ *
+ * Tab-separated, one entry per line:
+ * <pre>
+ *   B  baseId     maxDurability
+ *   V  variantId  baseId  maxDurability
+ * </pre>
+ */
+public final class VariantCatalog {
+
+    public static final String FILE_NAME = "variant-catalog.tsv";
+
+    private final Set<String> eligibleBases;
+    private final Set<String> variants;
+    private final Set<String> variantBases;
+    private final Map<String, Double> maxDurability;
+
+    private VariantCatalog(Set<String> eligibleBases, Set<String> variants, Set<String> variantBases,
+                           Map<String, Double> maxDurability) {
+        this.eligibleBases = eligibleBases;
+        this.variants = variants;
+        this.variantBases = variantBases;
+        this.maxDurability = maxDurability;
+    }
+
+    public boolean isEligible(@Nonnull String baseId) { return eligibleBases.contains(baseId); }
+    public boolean isVariant(@Nonnull String itemId) { return variants.contains(itemId); }
+    public int getEligibleCount() { return eligibleBases.size(); }
+    public int getVariantCount() { return variants.size(); }
+
+    @Nonnull
+    public Set<String> getEligibleBases() { return Collections.unmodifiableSet(eligibleBases); }
+
+    /** Base items that had at least one variant when the catalog was written. */
+    @Nonnull
+    public Set<String> getVariantBases() { return Collections.unmodifiableSet(variantBases); }
+
+    /** Max durability of an item (base or variant), 0 if unknown or not damageable. */
+    public double getMaxDurability(@Nonnull String itemId) {
+        Double d = maxDurability.get(itemId);
+        return d != null ? d : 0;
+    }
+
+    // ── Write (plugin side) ──
+
+    /**
+     * Writes the catalog for the current registry + variants (temp file + move).
+     */
+    public static void write(@Nonnull Path file,
+                             @Nonnull QualityRegistry registry,
+                             @Nonnull QualityTierMapper tierMapper) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (String baseId : registry.getEligibleItemIds()) {
+                out.write("B\t" + baseId + "\t" + maxDurabilityOf(baseId));
+                out.newLine();
+            }
+            for (Map.Entry<String, String> e : tierMapper.getVariantToBaseMap().entrySet()) {
+                out.write("V\t" + e.getKey() + "\t" + e.getValue() + "\t" + maxDurabilityOf(e.getKey()));
+                out.newLine();
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static double maxDurabilityOf(String itemId) {
+        try {
+            Item item = Item.getAssetMap().getAsset(itemId);
+            return item != null ? item.getMaxDurability() : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    // ── Read (offline side) ──
+
+    @Nonnull
+    public static VariantCatalog read(@Nonnull Path file) throws IOException {
+        Set<String> bases = new HashSet<>();
+        Set<String> variants = new HashSet<>();
+        Set<String> variantBases = new HashSet<>();
+        Map<String, Double> durability = new HashMap<>();
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] cols = line.split("\t");
+                if (cols.length >= 3 && cols[0].equals("B")) {
+                    bases.add(cols[1]);
+                    putDurability(durability, cols[1], cols[2]);
+                } else if (cols.length >= 4 && cols[0].equals("V")) {
+                    variants.add(cols[1]);
+                    variantBases.add(cols[2]);
+                    putDurability(durability, cols[1], cols[3]);
+                }
+            }
+        }
+        return new VariantCatalog(bases, variants, variantBases, durability);
+    }
+
+    private static void putDurability(Map<String, Double> durability, String itemId, String value) {
+        try {
+            double d = Double.parseDouble(value);
+            if (d > 0) durability.put(itemId, d);
+        } catch (NumberFormatException ignored) {
+        }
+    }
+}
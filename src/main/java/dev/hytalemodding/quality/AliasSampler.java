@@ -0,0 +1,107 @@
+package dev.hytalemodding.quality;
+
+import javax.annotation.Nonnull;
+import java.util.random.RandomGenerator;
+
+/**
+ * Constant-time weighted sampler (Vose's alias method).
+ *
+ * Built once from a set of weights; every {@link #sample} call then costs a
+ * single random draw and one table lookup, regardless of the number of
+ * outcomes. Instances are immutable and safe to share between threads as
+ * long as each thread passes its own RNG (e.g. ThreadLocalRandom.current())
+ * or uniform draw.
+ *
+ * Used by {@link QualityRollingDropContainer} to pick a quality tier at drop
+ * time from the LootWeight* config values.
+ */
+public final class AliasSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights non-negative weights, one per outcome; at least one must be positive
+     * @throws IllegalArgumentException if no weight is positive
+     */
+    public AliasSampler(@Nonnull double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double w : weights) {
+            if (w > 0) total += w;
+        }
+        if (n == 0 || total <= 0) {
+            throw new IllegalArgumentException("AliasSampler needs at least one positive weight");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+
+        // Scale weights so the average bucket holds exactly 1.0
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(weights[i], 0) * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Pair each under-full bucket with an over-full one
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Remaining buckets are full (modulo floating-point drift)
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * Draws an outcome index in O(1) using a single random number.
+     */
+    public int sample(@Nonnull RandomGenerator rng) {
+        return sample(rng.nextDouble());
+    }
+
+    /**
+     * Draws an outcome index from one uniform value in [0, 1), e.g. the
+     * server's drop chance provider.
+     */
+    public int sample(double uniform) {
+        double u = uniform * probability.length;
+        int bucket = (int) u;
+        if (bucket >= probability.length) bucket = probability.length - 1;
+        return (u - bucket) < probability[bucket] ? bucket : alias[bucket];
+    }
+
+    /** Number of outcomes this sampler draws from. */
+    public int size() {
+        return probability.length;
+    }
+}
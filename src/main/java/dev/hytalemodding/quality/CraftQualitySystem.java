@@ -14,6 +14,11 @@ import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.component.system.EntityEventSystem;
 import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.metrics.DecisionRecorder;
+import dev.hytalemodding.metrics.DecisionRecorder.Outcome;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.metrics.QualityMetrics.RejectReason;
+import dev.hytalemodding.metrics.QualityMetrics.RollSource;
 
 import org.bson.BsonDocument;
 
@@ -45,6 +50,9 @@ public final class CraftQualitySystem
 
     private static final String LOG_PREFIX = "[RQC] CraftSystem: ";
 
+    /** Source tag in the decision recorder. */
+    private static final String SOURCE = "craft";
+
     private final QualityRegistry registry;
     private final QualityConfig config;
     private final QualityTierMapper tierMapper;
@@ -74,7 +82,19 @@ public final class CraftQualitySystem
                        @Nonnull Store<EntityStore> store,
                        @Nonnull CommandBuffer<EntityStore> commandBuffer,
                        @Nonnull CraftRecipeEvent.Post event) {
+        QualityMetrics metrics = QualityMetrics.get();
+        metrics.craftHandled();
+        long start = metrics.startTimer();
+        try {
+            handleCraft(index, archetypeChunk, event);
+        } finally {
+            metrics.stopTimer(metrics.craftLatency(), start);
+        }
+    }
 
+    private void handleCraft(int index,
+                             @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+                             @Nonnull CraftRecipeEvent.Post event) {
         // ── Resolve the crafting Player from the ECS entity ──
         Player player;
         try {
@@ -162,11 +182,12 @@ public final class CraftQualitySystem
         int remaining = maxCount;
 
         for (short slot = 0; slot < capacity && remaining > 0; slot++) {
+            String itemId = null;
             try {
                 ItemStack item = container.getItemStack(slot);
                 if (item == null || item.isEmpty()) continue;
 
-                String itemId = item.getItemId();
+                itemId = item.getItemId();
                 if (!baseItemId.equals(itemId)) continue;
 
                 // Skip if already a variant (already processed by QualityAssigner)
@@ -177,6 +198,7 @@ public final class CraftQualitySystem
 
                 // This is a freshly crafted base item — assign quality
                 ItemQuality quality = ItemQuality.random(config);
+                QualityMetrics.get().roll(RollSource.CRAFT, quality);
 
                 String targetId = tierMapper.isInitialized()
                         ? tierMapper.getVariantId(baseItemId, quality) : baseItemId;
@@ -191,9 +213,13 @@ public final class CraftQualitySystem
                 }
 
                 container.setItemStackForSlot(slot, modified);
+                QualityMetrics.get().slotRewrite();
+                DecisionRecorder.get().record(SOURCE, itemId, Outcome.ASSIGNED, quality, null, null, container, slot);
                 remaining--;
 
-            } catch (Exception ignored) {
+            } catch (Exception e) {
+                DecisionRecorder.get().record(SOURCE, itemId, Outcome.FAILED, null,
+                        RejectReason.ERROR, e, container, slot);
             }
         }
 
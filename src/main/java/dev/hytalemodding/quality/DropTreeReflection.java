@@ -0,0 +1,184 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ChoiceItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.MultipleItemDropContainer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Cached reflective access to the private parts of the drop tree
+ * (ItemDropList.container, MultipleItemDropContainer.containers,
+ * ChoiceItemDropContainer.containers and its IWeightedMap).
+ *
+ * All lookups are resolved once and shared, so walking a drop tree costs
+ * plain Field/Method invocations instead of a getDeclaredField/getMethod
+ * per visited node. Every accessor is safe to call from several threads.
+ */
+final class DropTreeReflection {
+
+    private static final String LOG_PREFIX = "[RQC] LootDrop: ";
+
+    private static volatile DropTreeReflection instance;
+
+    private final Field dropListContainerField;
+    private final Field multipleContainersField;
+    private final Field choiceContainersField;
+    private final Method weightedMapBuilder;
+
+    /** IWeightedMap implementation → internalKeys() */
+    private final ClassValue<Method> internalKeysMethods = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod("internalKeys");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    /** WeightedMap builder implementation → { put(Object, double), build() } */
+    private final ClassValue<Method[]> builderMethods = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            try {
+                return new Method[] {
+                        type.getMethod("put", Object.class, double.class),
+                        type.getMethod("build")
+                };
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private DropTreeReflection() {
+        dropListContainerField = findFieldOrNull(ItemDropList.class, "container");
+        multipleContainersField = findFieldOrNull(MultipleItemDropContainer.class, "containers");
+        choiceContainersField = findFieldOrNull(ChoiceItemDropContainer.class, "containers");
+
+        Method builder = null;
+        try {
+            builder = com.hypixel.hytale.common.map.WeightedMap.class.getMethod("builder", Object[].class);
+        } catch (Exception e) {
+            System.out.println(LOG_PREFIX + "  Warning: WeightedMap.builder not found: " + e.getMessage());
+        }
+        weightedMapBuilder = builder;
+    }
+
+    @Nonnull
+    static DropTreeReflection get() {
+        DropTreeReflection result = instance;
+        if (result == null) {
+            synchronized (DropTreeReflection.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DropTreeReflection();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // ── ItemDropList ──
+
+    void setListContainer(@Nonnull ItemDropList dropList, @Nonnull ItemDropContainer container) throws Exception {
+        if (dropListContainerField == null) {
+            throw new NoSuchFieldException("container not found in " + ItemDropList.class.getName() + " hierarchy");
+        }
+        dropListContainerField.set(dropList, container);
+    }
+
+    // ── MultipleItemDropContainer ──
+
+    /** Returns the live children array (mutations are visible to the container). */
+    @Nullable
+    ItemDropContainer[] multipleChildren(@Nonnull MultipleItemDropContainer multiple) {
+        if (multipleContainersField == null) return null;
+        try {
+            return (ItemDropContainer[]) multipleContainersField.get(multiple);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ── ChoiceItemDropContainer ──
+
+    /** Returns the IWeightedMap backing a choice container. */
+    @Nullable
+    Object choiceWeightedMap(@Nonnull ChoiceItemDropContainer choice) {
+        if (choiceContainersField == null) return null;
+        try {
+            return choiceContainersField.get(choice);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /** Returns the children of a choice container (IWeightedMap.internalKeys()). */
+    @Nullable
+    ItemDropContainer[] choiceChildren(@Nonnull ChoiceItemDropContainer choice) {
+        Object weightedMap = choiceWeightedMap(choice);
+        if (weightedMap == null) return null;
+        Method internalKeys = internalKeysMethods.get(weightedMap.getClass());
+        if (internalKeys == null) return null;
+        try {
+            return (ItemDropContainer[]) internalKeys.invoke(weightedMap);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the children of a choice container by rebuilding its immutable
+     * WeightedMap (each child keeps its own getWeight()).
+     */
+    void setChoiceChildren(@Nonnull ChoiceItemDropContainer choice,
+                           @Nonnull ItemDropContainer[] children) throws Exception {
+        if (weightedMapBuilder == null || choiceContainersField == null) {
+            throw new NoSuchMethodException("WeightedMap builder not available");
+        }
+
+        // WeightedMap.builder(new ItemDropContainer[0])
+        Object builder = weightedMapBuilder.invoke(null, (Object) new ItemDropContainer[0]);
+        Method[] methods = builderMethods.get(builder.getClass());
+        if (methods == null) {
+            throw new NoSuchMethodException("put/build not found on " + builder.getClass().getName());
+        }
+
+        // For each container, builder.put(container, container.getWeight())
+        for (ItemDropContainer c : children) {
+            if (c == null) continue;
+            methods[0].invoke(builder, c, c.getWeight());
+        }
+
+        // builder.build()
+        choiceContainersField.set(choice, methods[1].invoke(builder));
+    }
+
+    // ── Helpers ──
+
+    @Nullable
+    private static Field findFieldOrNull(Class<?> clazz, String fieldName) {
+        Class<?> current = clazz;
+        while (current != null) {
+            try {
+                Field field = current.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                current = current.getSuperclass();
+            } catch (Exception e) {
+                break;
+            }
+        }
+        System.out.println(LOG_PREFIX + "  Warning: " + fieldName + " not found in " + clazz.getName() + " hierarchy");
+        return null;
+    }
+}
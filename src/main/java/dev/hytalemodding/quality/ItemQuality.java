@@ -181,11 +181,11 @@ public enum ItemQuality {
     }
 
     /**
-     * Internal helper: rolls from explicit weights.
+     * Internal helper: rolls from explicit weights (package-private for benchmarks).
      */
     @Nonnull
-    private static ItemQuality rollFromWeights(int wPoor, int wCommon, int wUncommon,
-                                                int wRare, int wEpic, int wLegendary) {
+    static ItemQuality rollFromWeights(int wPoor, int wCommon, int wUncommon,
+                                       int wRare, int wEpic, int wLegendary) {
         int total = wPoor + wCommon + wUncommon + wRare + wEpic + wLegendary;
         if (total <= 0) return COMMON;
 
@@ -0,0 +1,144 @@
+package dev.hytalemodding.quality;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Exact set of v1.x item IDs ({baseId}_{qualityDisplayName} for every
+ * eligible base item), each mapped straight to its target variant ID.
+ *
+ * Replaces the fromItemId → extractBaseId → isEligible chain (a suffix loop,
+ * a substring and a hash lookup per call) with a single probe into an
+ * open-addressing table: no string slicing, and IDs that merely end in a
+ * quality word (e.g. "Furniture_Dungeon_Chest_Epic") are never matched
+ * because only IDs built from eligible bases are in the table.
+ *
+ * Bases left out by a MaxVariants / MaxVariantHeapMB cap can be added too:
+ * their quality IDs (v1.x items and variants created before the cap) map
+ * back to the plain base ID, since no variant exists for them.
+ *
+ * Immutable once built; safe to share between threads.
+ */
+public final class LegacyIdTable {
+
+    private static final LegacyIdTable EMPTY = new LegacyIdTable(new String[1], new String[1], new byte[1], 0);
+
+    private final String[] keys;
+    private final String[] targets;
+    private final byte[] qualities;
+    private final int mask;
+    private final int size;
+
+    private LegacyIdTable(String[] keys, String[] targets, byte[] qualities, int size) {
+        this.keys = keys;
+        this.targets = targets;
+        this.qualities = qualities;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /** A table that matches nothing (before variants are created). */
+    @Nonnull
+    public static LegacyIdTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the table for the given eligible base items.
+     *
+     * @param targetFor maps (baseId, quality) to the ID a legacy item is rewritten to
+     */
+    @Nonnull
+    public static LegacyIdTable build(@Nonnull Collection<String> eligibleBases,
+                                      @Nonnull BiFunction<String, ItemQuality, String> targetFor) {
+        return build(eligibleBases, targetFor, List.of());
+    }
+
+    /**
+     * Builds the table for the given eligible base items, plus the bases a
+     * variant cap left out, whose quality IDs are rewritten to the base ID.
+     */
+    @Nonnull
+    public static LegacyIdTable build(@Nonnull Collection<String> eligibleBases,
+                                      @Nonnull BiFunction<String, ItemQuality, String> targetFor,
+                                      @Nonnull Collection<String> cappedBases) {
+        ItemQuality[] tiers = ItemQuality.values();
+        int entries = (eligibleBases.size() + cappedBases.size()) * tiers.length;
+
+        // Power-of-two capacity, load factor <= 0.5
+        int capacity = Integer.highestOneBit(Math.max(entries * 2, 2) - 1) << 1;
+        String[] keys = new String[capacity];
+        String[] targets = new String[capacity];
+        byte[] qualities = new byte[capacity];
+        int size = 0;
+
+        for (String baseId : cappedBases) {
+            for (ItemQuality quality : tiers) {
+                size += put(keys, targets, qualities, ItemQuality.qualityItemId(baseId, quality), baseId, quality);
+            }
+        }
+        // Eligible bases last: they win if a base is in both sets
+        for (String baseId : eligibleBases) {
+            for (ItemQuality quality : tiers) {
+                size += put(keys, targets, qualities, ItemQuality.qualityItemId(baseId, quality),
+                        targetFor.apply(baseId, quality), quality);
+            }
+        }
+        return new LegacyIdTable(keys, targets, qualities, size);
+    }
+
+    /** Inserts or replaces one entry; returns 1 if the key is new. */
+    private static int put(String[] keys, String[] targets, byte[] qualities,
+                           String legacyId, String target, ItemQuality quality) {
+        int mask = keys.length - 1;
+        int slot = mix(legacyId.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(legacyId)) {
+            slot = (slot + 1) & mask;
+        }
+        int added = keys[slot] == null ? 1 : 0;
+        keys[slot] = legacyId;
+        targets[slot] = target;
+        qualities[slot] = (byte) quality.ordinal();
+        return added;
+    }
+
+    /** Returns true if the ID is a v1.x ID of an eligible item. */
+    public boolean isLegacy(@Nonnull String itemId) {
+        return find(itemId) >= 0;
+    }
+
+    /** Returns the variant ID a v1.x item should become, or null if the ID is not a v1.x ID. */
+    @Nullable
+    public String getTarget(@Nonnull String itemId) {
+        int slot = find(itemId);
+        return slot >= 0 ? targets[slot] : null;
+    }
+
+    /** Returns the quality encoded in a v1.x ID, or null if the ID is not a v1.x ID. */
+    @Nullable
+    public ItemQuality getQuality(@Nonnull String itemId) {
+        int slot = find(itemId);
+        return slot >= 0 ? ItemQuality.values()[qualities[slot]] : null;
+    }
+
+    public int size() { return size; }
+
+    private int find(String itemId) {
+        int slot = mix(itemId.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(itemId)) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** Spreads String.hashCode() bits so similar IDs do not cluster. */
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
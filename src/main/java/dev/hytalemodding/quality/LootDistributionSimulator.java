@@ -0,0 +1,394 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ItemDropContainer;
+import dev.hytalemodding.config.QualityConfig;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Monte Carlo check of the rewritten drop tables: evaluates every
+ * {@link ItemDropList} that can drop an eligible item many times, through
+ * the server's own {@code getDrops}, and compares the tier histogram of the
+ * dropped variants with the configured {@code LootWeight*} values of the
+ * tiers that have variants, renormalized the way the drop rewrite does it.
+ *
+ * Catches distortions that are hard to see by reading the tree — nested
+ * ChoiceItemDropContainer weights, MultipleItemDropContainer parents,
+ * droplist references, drops that were not rewritten at all ("unrolled").
+ * Each list gets a chi-square goodness-of-fit test; a list is flagged when
+ * its p-value is below {@link #ALPHA} divided by the number of lists tested
+ * (Bonferroni), or when it still drops unrolled base items.
+ *
+ * Work is split into chunks over one worker thread per core; each worker
+ * owns its RNG, and the trees are only read. Rolls made by the simulation
+ * are not counted in {@code /rqc stats}. Run with {@code /rqc lootsim run}.
+ */
+public final class LootDistributionSimulator {
+
+    /** Family-wise significance level. */
+    public static final double ALPHA = 0.001;
+
+    /** Tiers whose expected count is below this make the chi-square test unreliable. */
+    private static final double MIN_EXPECTED = 5;
+
+    private static final int CHUNK = 16_384;
+
+    private static final int TIERS = ItemQuality.values().length;
+
+    /** Tier histogram of one drop list; {@code tierCounts} is indexed by ItemQuality ordinal. */
+    public record ListResult(String dropListId, long evaluations, long[] tierCounts, long unrolled,
+                             double chiSquare, double pValue, boolean flagged) {
+
+        public long variantDrops() {
+            long total = 0;
+            for (long c : tierCounts) total += c;
+            return total;
+        }
+    }
+
+    /** Whole-catalog result; {@code lists} holds only lists that can drop eligible items. */
+    public record Result(List<ListResult> lists, long[] tierCounts, long unrolled, double[] expected,
+                         double chiSquare, double pValue, long evaluations, long elapsedNanos, int threads) {
+
+        public int flaggedCount() {
+            int flagged = 0;
+            for (ListResult list : lists) {
+                if (list.flagged()) flagged++;
+            }
+            return flagged;
+        }
+    }
+
+    /** Simulation thread; owns its RNG. */
+    static final class Worker extends Thread {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+        final SimulatedChance chance;
+
+        Worker(Runnable task, SplittableRandom random) {
+            super(task, "RQC-LootSim-" + COUNT.incrementAndGet());
+            this.chance = new SimulatedChance(random);
+            setDaemon(true);
+            setPriority(Thread.MIN_PRIORITY);
+        }
+    }
+
+    /** Worker RNG as a chance provider; its no-op roll sink keeps simulated rolls out of the metrics. */
+    private static final class SimulatedChance implements DoubleSupplier, QualityRollingDropContainer.RollSink {
+        private final SplittableRandom random;
+
+        SimulatedChance(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public double getAsDouble() {
+            return random.nextDouble();
+        }
+
+        @Override
+        public void roll(int tierOrdinal) {
+            // Simulated drops (/rqc lootsim) are not real rolls
+        }
+    }
+
+    private final QualityRegistry registry;
+    private final QualityTierMapper tierMapper;
+    private final QualityConfig config;
+
+    public LootDistributionSimulator(@Nonnull QualityRegistry registry,
+                                     @Nonnull QualityTierMapper tierMapper,
+                                     @Nonnull QualityConfig config) {
+        this.registry = registry;
+        this.tierMapper = tierMapper;
+        this.config = config;
+    }
+
+    /**
+     * Evaluates every drop list {@code samplesPerList} times on {@code threads}
+     * workers (0 = one per core). Blocks until done.
+     */
+    @Nonnull
+    public Result run(int samplesPerList, int threads, long seed) throws Exception {
+        long start = System.nanoTime();
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Taken per run: the mapped tiers change with the variant pass (MaxVariants, reloads)
+        double[] expected = expectedDistribution(config, tierMapper);
+
+        List<ItemDropList> lists = new ArrayList<>();
+        Map<String, ItemDropList> assetMap = ItemDropList.getAssetMap().getAssetMap();
+        for (ItemDropList list : assetMap.values()) {
+            if (list != null && list.getContainer() != null && canDropEligible(list.getContainer())) {
+                lists.add(list);
+            }
+        }
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, task -> new Worker(task, seeds.split()));
+        try {
+            // One future per chunk; counts[0..TIERS-1] = tiers, counts[TIERS] = unrolled
+            List<List<Future<long[]>>> futures = new ArrayList<>(lists.size());
+            for (ItemDropList list : lists) {
+                List<Future<long[]>> chunks = new ArrayList<>();
+                for (int done = 0; done < samplesPerList; done += CHUNK) {
+                    int n = Math.min(CHUNK, samplesPerList - done);
+                    ItemDropContainer container = list.getContainer();
+                    chunks.add(pool.submit(() -> evaluate(container, n)));
+                }
+                futures.add(chunks);
+            }
+
+            long[] totals = new long[TIERS];
+            long totalUnrolled = 0;
+            List<long[]> perList = new ArrayList<>(lists.size());
+            for (List<Future<long[]>> chunks : futures) {
+                long[] counts = new long[TIERS + 1];
+                for (Future<long[]> chunk : chunks) {
+                    long[] c = chunk.get();
+                    for (int i = 0; i <= TIERS; i++) counts[i] += c[i];
+                }
+                for (int i = 0; i < TIERS; i++) totals[i] += counts[i];
+                totalUnrolled += counts[TIERS];
+                perList.add(counts);
+            }
+
+            double threshold = ALPHA / Math.max(1, lists.size());
+            List<ListResult> results = new ArrayList<>(lists.size());
+            for (int l = 0; l < lists.size(); l++) {
+                long[] counts = perList.get(l);
+                long[] tiers = new long[TIERS];
+                System.arraycopy(counts, 0, tiers, 0, TIERS);
+                double[] test = chiSquareTest(tiers, expected);
+                boolean flagged = counts[TIERS] > 0 || (!Double.isNaN(test[1]) && test[1] < threshold);
+                results.add(new ListResult(lists.get(l).getId(), samplesPerList, tiers, counts[TIERS],
+                        test[0], test[1], flagged));
+            }
+
+            double[] overall = chiSquareTest(totals, expected);
+            return new Result(results, totals, totalUnrolled, expected.clone(), overall[0], overall[1],
+                    (long) samplesPerList * lists.size(), System.nanoTime() - start, workers);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Runs on a worker: evaluates one tree {@code n} times and counts the tiers dropped. */
+    private long[] evaluate(ItemDropContainer container, int n) {
+        SimulatedChance chance = ((Worker) Thread.currentThread()).chance;
+        long[] counts = new long[TIERS + 1];
+        for (int i = 0; i < n; i++) {
+            for (ItemDrop drop : container.getDrops(chance)) {
+                String itemId = drop.getItemId();
+                if (itemId == null) continue;
+                if (tierMapper.isVariant(itemId)) {
+                    ItemQuality quality = tierMapper.getQualityFromVariantId(itemId);
+                    if (quality != null) counts[quality.ordinal()]++;
+                } else if (registry.isEligible(itemId)) {
+                    counts[TIERS]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private boolean canDropEligible(ItemDropContainer container) {
+        try {
+            for (ItemDrop drop : container.getAllDrops(new ArrayList<>())) {
+                String itemId = drop.getItemId();
+                if (itemId != null && (tierMapper.isVariant(itemId) || registry.isEligible(itemId))) return true;
+            }
+        } catch (Exception e) {
+            // Unreadable tree - not simulated
+        }
+        return false;
+    }
+
+    // ── Statistics ──
+
+    /**
+     * The LootWeight* values of the mapped tiers as probabilities, by
+     * ItemQuality ordinal. Unmapped tiers have no variant drop, so the
+     * rewrite leaves them out and the other weights share their mass; with
+     * no positive weight left everything rolls Common, as in
+     * {@code LootDropModifier.buildLootTierSampler}.
+     */
+    @Nonnull
+    static double[] expectedDistribution(@Nonnull QualityConfig config, @Nonnull QualityTierMapper tierMapper) {
+        double[] p = new double[TIERS];
+        double total = 0;
+        for (ItemQuality quality : ItemQuality.values()) {
+            if (!tierMapper.isTierMapped(quality)) continue;
+            p[quality.ordinal()] = Math.max(0, quality.getLootWeight(config));
+            total += p[quality.ordinal()];
+        }
+        if (total <= 0) {
+            p[ItemQuality.COMMON.ordinal()] = 1;
+            return p;
+        }
+        for (int i = 0; i < TIERS; i++) p[i] /= total;
+        return p;
+    }
+
+    /**
+     * Pearson chi-square statistic and p-value of {@code observed} against
+     * the {@code expected} probabilities. Tiers with zero expected probability
+     * are left out (and any count in them makes the p-value 0). Returns NaN
+     * for both when some expected count is below {@link #MIN_EXPECTED}.
+     */
+    @Nonnull
+    static double[] chiSquareTest(@Nonnull long[] observed, @Nonnull double[] expected) {
+        long total = 0;
+        for (long o : observed) total += o;
+        if (total == 0) return new double[] { Double.NaN, Double.NaN };
+
+        double chi = 0;
+        int categories = 0;
+        for (int i = 0; i < observed.length; i++) {
+            if (expected[i] <= 0) {
+                if (observed[i] > 0) return new double[] { Double.POSITIVE_INFINITY, 0 };
+                continue;
+            }
+            double e = expected[i] * total;
+            if (e < MIN_EXPECTED) return new double[] { Double.NaN, Double.NaN };
+            double d = observed[i] - e;
+            chi += d * d / e;
+            categories++;
+        }
+        if (categories < 2) return new double[] { chi, 1 };
+        return new double[] { chi, chiSquareSurvival(chi, categories - 1) };
+    }
+
+    /** P(X ≥ x) for a chi-square distribution with {@code df} degrees of freedom. */
+    static double chiSquareSurvival(double x, int df) {
+        if (x <= 0) return 1;
+        return regularizedGammaQ(df / 2.0, x / 2.0);
+    }
+
+    /** Upper regularized incomplete gamma Q(a, x): series below a + 1, continued fraction above. */
+    private static double regularizedGammaQ(double a, double x) {
+        double logPrefix = -x + a * Math.log(x) - logGamma(a);
+        if (x < a + 1) {
+            double term = 1 / a;
+            double sum = term;
+            for (int n = 1; n < 500; n++) {
+                term *= x / (a + n);
+                sum += term;
+                if (Math.abs(term) < Math.abs(sum) * 1e-15) break;
+            }
+            return Math.max(0, 1 - sum * Math.exp(logPrefix));
+        }
+        // Lentz's method
+        double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+        for (int i = 1; i < 500; i++) {
+            double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = b + an / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) break;
+        }
+        return Math.min(1, Math.exp(logPrefix) * h);
+    }
+
+    /** Lanczos approximation of ln Γ(x), x > 0. */
+    private static double logGamma(double x) {
+        double[] g = { 76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5 };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : g) series += coefficient / ++y;
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    // ── Report ──
+
+    /** Writes the full report to {@code lootsim-<timestamp>.txt} in the given directory. */
+    @Nonnull
+    public static Path write(@Nonnull Result result, @Nonnull Path dir) throws IOException {
+        Files.createDirectories(dir);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = dir.resolve("lootsim-" + stamp + ".txt");
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(summary(result));
+            out.newLine();
+            out.write(String.format(Locale.ROOT, "Expected: %s%n", formatShares(result.expected())));
+            out.newLine();
+            StringBuilder header = new StringBuilder(String.format(Locale.ROOT, "%-40s %10s", "drop list", "variants"));
+            for (ItemQuality quality : ItemQuality.values()) {
+                header.append(String.format(Locale.ROOT, " %9s", quality.getDisplayName()));
+            }
+            header.append(String.format(Locale.ROOT, " %9s %10s %10s %s", "unrolled", "chi2", "p", "flag"));
+            out.write(header.toString());
+            out.newLine();
+            for (ListResult list : result.lists()) {
+                long variants = list.variantDrops();
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-40s %10d", list.dropListId(), variants));
+                for (long count : list.tierCounts()) {
+                    line.append(String.format(Locale.ROOT, " %8.2f%%", variants > 0 ? 100.0 * count / variants : 0));
+                }
+                line.append(String.format(Locale.ROOT, " %9d %10.2f %10.3g %s", list.unrolled(),
+                        list.chiSquare(), list.pValue(), list.flagged() ? "FLAGGED" : ""));
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+        return file;
+    }
+
+    /** One-line summary: overall histogram, chi-square and flagged lists. */
+    @Nonnull
+    public static String summary(@Nonnull Result result) {
+        long variants = 0;
+        for (long c : result.tierCounts()) variants += c;
+        double seconds = result.elapsedNanos() / 1e9;
+        double[] observed = new double[result.tierCounts().length];
+        for (int i = 0; i < observed.length; i++) {
+            observed[i] = variants > 0 ? (double) result.tierCounts()[i] / variants : 0;
+        }
+        return String.format(Locale.ROOT,
+                "%d list(s), %,d evaluations in %.1fs (%,.0f/s on %d threads); %,d variant drops: %s; "
+                        + "chi2 %.2f, p %.3g; %d list(s) flagged, %,d unrolled drop(s)",
+                result.lists().size(), result.evaluations(), seconds, result.evaluations() / Math.max(seconds, 1e-9),
+                result.threads(), variants, formatShares(observed), result.chiSquare(), result.pValue(),
+                result.flaggedCount(), result.unrolled());
+    }
+
+    private static String formatShares(double[] shares) {
+        StringBuilder s = new StringBuilder();
+        for (ItemQuality quality : ItemQuality.values()) {
+            if (s.length() > 0) s.append(' ');
+            s.append(quality.getDisplayName()).append(' ')
+                    .append(String.format(Locale.ROOT, "%.2f%%", 100 * shares[quality.ordinal()]));
+        }
+        return s.toString();
+    }
+}
@@ -11,6 +11,8 @@ import dev.hytalemodding.config.QualityConfig;
 import javax.annotation.Nonnull;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Modifies ItemDropList assets at startup so that eligible items drop as
@@ -24,6 +26,19 @@ import java.util.*;
  * This ensures that loot drops are quality-aware with separate probability
  * distribution from crafting (configurable via LootWeight* in config.json).
  *
+ * With LootRuntimeRolling enabled, the container is instead replaced with a
+ * single {@link QualityRollingDropContainer} that keeps the original drop and
+ * picks the variant at drop time through an O(1) alias sampler.
+ *
+ * Traversal visits every container node once, even when a subtree is shared
+ * by several drop lists (identity visited set + memoized replacements).
+ * Drop lists are rewritten sequentially: the fork-join path (independent
+ * lists on the common pool) is thread-safe but only used by
+ * DropListRewriteBenchmark until a multi-core measurement shows a gain.
+ *
+ * While rewriting, every (base item, drop list) reference is recorded into
+ * the {@link QualityReverseIndex.Builder} passed to modifyDropLists.
+ *
  * The QualityAssigner already handles items entering inventories; items that
  * arrive as quality variants (from modified drop tables) are recognized by
  * their quality suffix and skipped by the assigner (no double-assignment).
@@ -36,8 +51,34 @@ public final class LootDropModifier {
     private final QualityTierMapper tierMapper;
     private final QualityRegistry registry;
 
-    private int dropListsModified = 0;
-    private int dropsReplaced = 0;
+    private final AtomicInteger dropListsModified = new AtomicInteger();
+    private final AtomicInteger dropsReplaced = new AtomicInteger();
+
+    /** Shared tier sampler for runtime rolling (built from loot weights before traversal). */
+    private AliasSampler lootTierSampler;
+
+    // ── Interned tier subtrees (shared across all drop lists) ──
+    private final Map<DropKey, ItemDrop[]> internedVariantDrops = new ConcurrentHashMap<>();
+    private final Map<DropKey, ItemDropContainer[]> internedTierContainers = new ConcurrentHashMap<>();
+    private final Map<ChoiceKey, ItemDropContainer> internedChoices = new ConcurrentHashMap<>();
+    private final Map<ChoiceKey, ItemDropContainer> internedRolling = new ConcurrentHashMap<>();
+    private final AtomicInteger containersSaved = new AtomicInteger();
+    private final AtomicInteger itemDropsSaved = new AtomicInteger();
+
+    // ── Traversal state (one entry per distinct container node) ──
+    /** Multiple/Choice nodes already walked (or being walked by another thread). */
+    private final Set<NodeKey> visited = ConcurrentHashMap.newKeySet();
+    /** Single nodes → their replacement (or themselves if unchanged). */
+    private final Map<NodeKey, ItemDropContainer> replacements = new ConcurrentHashMap<>();
+    private final AtomicInteger sharedNodeHits = new AtomicInteger();
+
+    private final DropTreeReflection reflection = DropTreeReflection.get();
+
+    /** List count from which the rewrite runs in parallel; never by default (see class comment). */
+    private int parallelThreshold = Integer.MAX_VALUE;
+
+    /** Receives (base ordinal, drop list ID) references; null when not indexing. */
+    private QualityReverseIndex.Builder indexBuilder;
 
     public LootDropModifier(@Nonnull QualityConfig config,
                             @Nonnull QualityTierMapper tierMapper,
@@ -52,11 +93,23 @@ public final class LootDropModifier {
      * with weighted quality variant choices.
      */
     public void modifyDropLists() {
-        if (!config.isLootQualityEnabled()) {
+        modifyDropLists(null);
+    }
+
+    /**
+     * Same as {@link #modifyDropLists()}, and records every drop list that
+     * references an eligible base item (or one of its variants) into the
+     * given reverse index builder.
+     */
+    public void modifyDropLists(QualityReverseIndex.Builder indexBuilder) {
+        this.indexBuilder = indexBuilder;
+        if (!config.isLootQualityEnabled() && indexBuilder == null) {
             return;
         }
 
         long startTime = System.currentTimeMillis();
+        int listCount = 0;
+        boolean parallel = false;
 
         try {
             // Access all ItemDropList assets
@@ -65,28 +118,80 @@ public final class LootDropModifier {
                 return;
             }
 
-            for (Map.Entry<String, ItemDropList> entry : dropListMap.entrySet()) {
-                String dropListId = entry.getKey();
-                ItemDropList dropList = entry.getValue();
-                if (dropList == null) continue;
+            // Built up front so worker threads only ever read it
+            lootTierSampler = buildLootTierSampler(null);
 
-                ItemDropContainer container = dropList.getContainer();
-                if (container == null) continue;
+            List<ItemDropList> dropLists = new ArrayList<>(dropListMap.values());
+            listCount = dropLists.size();
+            parallel = listCount >= parallelThreshold;
 
-                ItemDropContainer modified = processContainer(container);
-                if (modified != container) {
-                    // Container was replaced — update the ItemDropList
-                    setFieldValue(dropList, "container", modified);
-                    dropListsModified++;
+            if (parallel) {
+                dropLists.parallelStream().forEach(this::processAndIndex);
+            } else {
+                for (ItemDropList dropList : dropLists) {
+                    processAndIndex(dropList);
                 }
             }
         } catch (Exception e) {
             System.out.println(LOG_PREFIX + "ERROR during drop list modification: "
                     + e.getClass().getSimpleName() + " - " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            // Traversal memo is only valid for this pass
+            visited.clear();
+            replacements.clear();
+            this.indexBuilder = null;
+        }
+
+        if (!config.isLootQualityEnabled()) {
+            return;
         }
 
         long elapsed = System.currentTimeMillis() - startTime;
+        System.out.println(LOG_PREFIX + "Rewrote " + dropsReplaced.get() + " drop(s) in " + dropListsModified.get()
+                + "/" + listCount + " list(s)" + (parallel ? " in parallel" : "")
+                + "; " + sharedNodeHits.get() + " shared node(s) skipped; interning saved "
+                + containersSaved.get() + " container(s) and " + itemDropsSaved.get()
+                + " item drop(s) (" + elapsed + "ms)");
+    }
+
+    /**
+     * Overrides the list count from which the rewrite runs in parallel
+     * (benchmarks: 0 = always parallel, Integer.MAX_VALUE = never).
+     */
+    void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    private void processAndIndex(ItemDropList dropList) {
+        if (config.isLootQualityEnabled()) {
+            processDropList(dropList);
+        }
+        if (indexBuilder != null) {
+            indexDropList(dropList);
+        }
+    }
+
+    /**
+     * Rewrites one ItemDropList. Safe to run concurrently for different lists:
+     * shared subtrees are claimed by the first thread that reaches them.
+     */
+    private void processDropList(ItemDropList dropList) {
+        if (dropList == null) return;
+
+        ItemDropContainer container = dropList.getContainer();
+        if (container == null) return;
+
+        try {
+            ItemDropContainer modified = processContainer(container);
+            if (modified != container) {
+                // Container was replaced — update the ItemDropList
+                reflection.setListContainer(dropList, modified);
+                dropListsModified.incrementAndGet();
+            }
+        } catch (Exception e) {
+            // Reflection failed — skip this drop list
+        }
     }
 
     // ── Container tree traversal ──
@@ -94,17 +199,26 @@ public final class LootDropModifier {
     /**
      * Recursively processes a container, replacing SingleItemDropContainers
      * that reference eligible items with ChoiceItemDropContainers.
+     * Each distinct node is processed once per pass.
      *
      * @return the same container if no changes, or a replacement container
      */
-    private ItemDropContainer processContainer(ItemDropContainer container) {
-        if (container instanceof SingleItemDropContainer) {
-            return processSingleDrop((SingleItemDropContainer) container);
-        } else if (container instanceof MultipleItemDropContainer) {
-            processMultiple((MultipleItemDropContainer) container);
+    ItemDropContainer processContainer(ItemDropContainer container) {
+        if (container instanceof SingleItemDropContainer single) {
+            NodeKey key = new NodeKey(single);
+            ItemDropContainer memo = replacements.get(key);
+            if (memo != null) {
+                sharedNodeHits.incrementAndGet();
+                return memo;
+            }
+            ItemDropContainer replacement = processSingleDrop(single);
+            ItemDropContainer winner = replacements.putIfAbsent(key, replacement);
+            return winner != null ? winner : replacement;
+        } else if (container instanceof MultipleItemDropContainer multiple) {
+            if (claim(multiple)) processMultiple(multiple);
             return container;
-        } else if (container instanceof ChoiceItemDropContainer) {
-            processChoice((ChoiceItemDropContainer) container);
+        } else if (container instanceof ChoiceItemDropContainer choice) {
+            if (claim(choice)) processChoice(choice);
             return container;
         }
         // DroplistItemDropContainer: references another ItemDropList by ID —
@@ -113,6 +227,17 @@ public final class LootDropModifier {
         return container;
     }
 
+    /**
+     * Marks a Multiple/Choice node as visited. Returns false if it was already
+     * walked (or is being walked by another thread) — its children are rewritten
+     * in place, so every parent sees the result without a second walk.
+     */
+    private boolean claim(ItemDropContainer container) {
+        if (visited.add(new NodeKey(container))) return true;
+        sharedNodeHits.incrementAndGet();
+        return false;
+    }
+
     /**
      * If this SingleItemDropContainer references an eligible item,
      * replaces it with a ChoiceItemDropContainer containing 6 quality variant drops.
@@ -124,36 +249,38 @@ public final class LootDropModifier {
         String itemId = drop.getItemId();
         if (itemId == null || itemId.isEmpty()) return single;
 
+        // Skip if already replaced by a runtime-rolling container
+        if (single instanceof QualityRollingDropContainer) return single;
+
         // Skip if already a quality variant
         if (tierMapper.isVariant(itemId)) return single;
 
         // Skip if not eligible for quality
         if (!registry.isEligible(itemId)) return single;
 
+        // ── Runtime rolling: one compact container, tier picked at drop time ──
+        if (config.isLootRuntimeRolling()) {
+            return buildRollingContainer(itemId, drop, single);
+        }
+
         // ── Build a ChoiceItemDropContainer with 6 quality variant drops ──
         return buildQualityChoice(itemId, drop, single);
     }
 
     /**
      * Processes containers inside a MultipleItemDropContainer array.
-     * Replaces elements in the array in-place via reflection.
+     * Replaces elements in the array in-place.
      */
     private void processMultiple(MultipleItemDropContainer multiple) {
-        try {
-            Field containersField = MultipleItemDropContainer.class.getDeclaredField("containers");
-            containersField.setAccessible(true);
-            ItemDropContainer[] containers = (ItemDropContainer[]) containersField.get(multiple);
-            if (containers == null) return;
-
-            for (int i = 0; i < containers.length; i++) {
-                if (containers[i] == null) continue;
-                ItemDropContainer replacement = processContainer(containers[i]);
-                if (replacement != containers[i]) {
-                    containers[i] = replacement;
-                }
+        ItemDropContainer[] containers = reflection.multipleChildren(multiple);
+        if (containers == null) return;
+
+        for (int i = 0; i < containers.length; i++) {
+            if (containers[i] == null) continue;
+            ItemDropContainer replacement = processContainer(containers[i]);
+            if (replacement != containers[i]) {
+                containers[i] = replacement;
             }
-        } catch (Exception e) {
-            // Reflection failed — skip this container
         }
     }
 
@@ -162,66 +289,97 @@ public final class LootDropModifier {
      * Since WeightedMap is immutable, we rebuild it if any child was modified.
      */
     private void processChoice(ChoiceItemDropContainer choice) {
-        try {
-            Field containersField = ChoiceItemDropContainer.class.getDeclaredField("containers");
-            containersField.setAccessible(true);
-            Object weightedMap = containersField.get(choice);
-            if (weightedMap == null) return;
-
-            // IWeightedMap.internalKeys() returns the elements array
-            java.lang.reflect.Method internalKeysMethod = weightedMap.getClass().getMethod("internalKeys");
-            ItemDropContainer[] keys = (ItemDropContainer[]) internalKeysMethod.invoke(weightedMap);
-            if (keys == null || keys.length == 0) return;
-
-            boolean anyChanged = false;
-            ItemDropContainer[] processed = new ItemDropContainer[keys.length];
-            for (int i = 0; i < keys.length; i++) {
-                if (keys[i] == null) {
-                    processed[i] = null;
-                    continue;
-                }
-                processed[i] = processContainer(keys[i]);
-                if (processed[i] != keys[i]) {
-                    anyChanged = true;
-                }
+        ItemDropContainer[] keys = reflection.choiceChildren(choice);
+        if (keys == null || keys.length == 0) return;
+
+        boolean anyChanged = false;
+        ItemDropContainer[] processed = new ItemDropContainer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                processed[i] = null;
+                continue;
+            }
+            processed[i] = processContainer(keys[i]);
+            if (processed[i] != keys[i]) {
+                anyChanged = true;
             }
+        }
 
-            if (anyChanged) {
-                // Rebuild the WeightedMap with the modified containers
-                // Use WeightedMap.builder(emptyArray).putAll(containers, getWeight).build()
-                rebuildWeightedMap(containersField, choice, processed);
+        if (anyChanged) {
+            // Rebuild the WeightedMap with the modified containers
+            try {
+                reflection.setChoiceChildren(choice, processed);
+            } catch (Exception e) {
+                System.out.println(LOG_PREFIX + "  Warning: failed to rebuild WeightedMap: " + e.getMessage());
             }
-        } catch (Exception e) {
-            // Reflection failed — skip this choice container
         }
     }
 
+    // ── Reverse index ──
+
     /**
-     * Rebuilds the IWeightedMap for a ChoiceItemDropContainer with modified containers.
+     * Records the eligible base items referenced by one (already rewritten)
+     * drop list. Variant drops count for their base item; nodes shared
+     * inside the list are walked once.
      */
-    private void rebuildWeightedMap(Field containersField,
-                                     ChoiceItemDropContainer choice,
-                                     ItemDropContainer[] newContainers) {
-        try {
-            // WeightedMap.builder(new ItemDropContainer[0])
-            java.lang.reflect.Method builderMethod = 
-                com.hypixel.hytale.common.map.WeightedMap.class.getMethod("builder", Object[].class);
-            Object builder = builderMethod.invoke(null, (Object) new ItemDropContainer[0]);
-
-            // For each container, builder.put(container, container.getWeight())
-            java.lang.reflect.Method putMethod = builder.getClass().getMethod("put", Object.class, double.class);
-            for (ItemDropContainer c : newContainers) {
-                if (c == null) continue;
-                putMethod.invoke(builder, c, c.getWeight());
+    private void indexDropList(ItemDropList dropList) {
+        if (dropList == null || dropList.getId() == null) return;
+        ItemDropContainer root = dropList.getContainer();
+        if (root == null) return;
+
+        String dropListId = dropList.getId();
+        Set<ItemDropContainer> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<ItemDropContainer> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            ItemDropContainer node = stack.pop();
+            if (!seen.add(node)) continue;
+
+            if (node instanceof SingleItemDropContainer single) {
+                ItemDrop drop = single.getDrop();
+                String itemId = drop != null ? drop.getItemId() : null;
+                if (itemId != null && !itemId.isEmpty()) {
+                    int ordinal = registry.getOrdinal(itemId);
+                    if (ordinal < 0 && tierMapper.isVariant(itemId)) {
+                        ordinal = registry.getOrdinal(tierMapper.getBaseId(itemId));
+                    }
+                    indexBuilder.addDropList(ordinal, dropListId);
+                }
+            } else if (node instanceof MultipleItemDropContainer multiple) {
+                pushChildren(stack, reflection.multipleChildren(multiple));
+            } else if (node instanceof ChoiceItemDropContainer choice) {
+                pushChildren(stack, reflection.choiceChildren(choice));
             }
+        }
+    }
+
+    private static void pushChildren(Deque<ItemDropContainer> stack, ItemDropContainer[] children) {
+        if (children == null) return;
+        for (ItemDropContainer child : children) {
+            if (child != null) stack.push(child);
+        }
+    }
 
-            // builder.build()
-            java.lang.reflect.Method buildMethod = builder.getClass().getMethod("build");
-            Object newWeightedMap = buildMethod.invoke(builder);
+    /**
+     * Identity key for container nodes — drop containers are compared by
+     * reference, never by value, so shared subtrees are recognized exactly.
+     */
+    private static final class NodeKey {
+        private final ItemDropContainer node;
 
-            containersField.set(choice, newWeightedMap);
-        } catch (Exception e) {
-            System.out.println(LOG_PREFIX + "  Warning: failed to rebuild WeightedMap: " + e.getMessage());
+        NodeKey(ItemDropContainer node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NodeKey other && other.node == node;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(node);
         }
     }
 
@@ -231,6 +389,10 @@ public final class LootDropModifier {
      * Creates a ChoiceItemDropContainer containing 6 SingleItemDropContainers,
      * one per quality tier, weighted by the loot config.
      *
+     * The tier children are interned by (base ID, quantity min/max, metadata):
+     * every drop list that drops the same item shares one immutable set of
+     * children, and choices with the same outer weight are shared whole.
+     *
      * @param baseItemId  the original (base) item ID
      * @param originalDrop the original ItemDrop (used for quantity/metadata)
      * @param originalContainer the original SingleItemDropContainer (used for outer weight)
@@ -238,55 +400,194 @@ public final class LootDropModifier {
     private ItemDropContainer buildQualityChoice(String baseItemId,
                                                   ItemDrop originalDrop,
                                                   SingleItemDropContainer originalContainer) {
-        ItemDropContainer[] tierContainers = new ItemDropContainer[ItemQuality.values().length];
-        int idx = 0;
+        DropKey key = DropKey.of(baseItemId, originalDrop);
 
+        // Create a ChoiceItemDropContainer with the original container's weight
+        // so it fits in the parent's probability correctly
+        double outerWeight = originalContainer.getWeight();
+        ChoiceKey choiceKey = new ChoiceKey(key, outerWeight);
+
+        ItemDropContainer shared = internedChoices.get(choiceKey);
+        if (shared != null) {
+            // Whole subtree reused: the choice plus its tier children
+            int children = tierChildCount(key);
+            containersSaved.addAndGet(1 + children);
+            itemDropsSaved.addAndGet(children);
+            dropsReplaced.incrementAndGet();
+            return shared;
+        }
+
+        ItemDropContainer[] tierContainers = internedTierContainers.get(key);
+        if (tierContainers == null) {
+            ItemDrop[] variantDrops = internVariantDrops(key, baseItemId, originalDrop);
+            tierContainers = new ItemDropContainer[ItemQuality.values().length];
+            int idx = 0;
+
+            for (ItemQuality quality : ItemQuality.values()) {
+                ItemDrop variantDrop = variantDrops[quality.ordinal()];
+                if (variantDrop == null) {
+                    // Variant not found — skip this tier
+                    continue;
+                }
+
+                // Weight for this quality tier from loot config
+                double tierWeight = quality.getLootWeight(config);
+
+                // Create a SingleItemDropContainer for this variant
+                tierContainers[idx++] = new SingleItemDropContainer(variantDrop, tierWeight);
+            }
+
+            // Trim array to actual size
+            if (idx < tierContainers.length) {
+                ItemDropContainer[] trimmed = new ItemDropContainer[idx];
+                System.arraycopy(tierContainers, 0, trimmed, 0, idx);
+                tierContainers = trimmed;
+            }
+            // Another thread may have interned the same key meanwhile — use its children
+            ItemDropContainer[] winner = internedTierContainers.putIfAbsent(key, tierContainers);
+            if (winner != null) tierContainers = winner;
+        } else {
+            // Tier children reused, only the outer choice is new
+            containersSaved.addAndGet(tierContainers.length);
+            itemDropsSaved.addAndGet(tierContainers.length);
+        }
+
+        if (tierContainers.length == 0) {
+            // No variants could be created — keep original
+            return originalContainer;
+        }
+
+        ItemDropContainer qualityChoice = new ChoiceItemDropContainer(tierContainers, outerWeight);
+        ItemDropContainer winner = internedChoices.putIfAbsent(choiceKey, qualityChoice);
+        if (winner != null) qualityChoice = winner;
+
+        dropsReplaced.incrementAndGet();
+
+        return qualityChoice;
+    }
+
+    /**
+     * Creates a QualityRollingDropContainer that keeps the original drop and
+     * rolls the variant at drop time. Variant drops are interned like the
+     * choice children, and containers with the same outer weight are shared.
+     *
+     * @param baseItemId  the original (base) item ID
+     * @param originalDrop the original ItemDrop (used for quantity/metadata)
+     * @param originalContainer the original SingleItemDropContainer (used for outer weight)
+     */
+    private ItemDropContainer buildRollingContainer(String baseItemId,
+                                                     ItemDrop originalDrop,
+                                                     SingleItemDropContainer originalContainer) {
+        DropKey key = DropKey.of(baseItemId, originalDrop);
+        double outerWeight = originalContainer.getWeight();
+        ChoiceKey containerKey = new ChoiceKey(key, outerWeight);
+
+        ItemDropContainer shared = internedRolling.get(containerKey);
+        if (shared != null) {
+            containersSaved.incrementAndGet();
+            for (ItemDrop d : ((QualityRollingDropContainer) shared).getVariantDrops()) {
+                if (d != null) itemDropsSaved.incrementAndGet();
+            }
+            dropsReplaced.incrementAndGet();
+            return shared;
+        }
+
+        ItemDrop[] variantDrops = internVariantDrops(key, baseItemId, originalDrop);
+        int present = 0;
+        for (ItemDrop variantDrop : variantDrops) {
+            if (variantDrop != null) present++;
+        }
+
+        if (present == 0) {
+            // No variants exist — keep original
+            return originalContainer;
+        }
+
+        // Every complete item shares one sampler; items with missing
+        // variants get their own so missing tiers are never rolled
+        AliasSampler sampler = present == variantDrops.length
+                ? lootTierSampler : buildLootTierSampler(variantDrops);
+
+        ItemDropContainer rolling =
+                new QualityRollingDropContainer(originalDrop, outerWeight, variantDrops, sampler,
+                        QualityRollingDropContainer.METRICS_SINK);
+        ItemDropContainer winner = internedRolling.putIfAbsent(containerKey, rolling);
+        if (winner != null) rolling = winner;
+
+        dropsReplaced.incrementAndGet();
+
+        return rolling;
+    }
+
+    /**
+     * Returns the interned per-tier variant drops for a drop key (indexed by
+     * ItemQuality ordinal, null for tiers without a variant), creating them
+     * on first use.
+     */
+    private ItemDrop[] internVariantDrops(DropKey key, String baseItemId, ItemDrop originalDrop) {
+        ItemDrop[] variantDrops = internedVariantDrops.get(key);
+        if (variantDrops != null) {
+            for (ItemDrop d : variantDrops) {
+                if (d != null) itemDropsSaved.incrementAndGet();
+            }
+            return variantDrops;
+        }
+
+        variantDrops = new ItemDrop[ItemQuality.values().length];
         for (ItemQuality quality : ItemQuality.values()) {
             String variantId = tierMapper.getVariantId(baseItemId, quality);
-            if (variantId == null) {
-                // Variant not found — skip this tier
-                continue;
-            }
+            if (!tierMapper.isVariant(variantId)) continue;
 
             // Create a new ItemDrop with the variant ID but same quantity/metadata
-            ItemDrop variantDrop = new ItemDrop(
+            variantDrops[quality.ordinal()] = new ItemDrop(
                     variantId,
                     originalDrop.getMetadata(),
                     originalDrop.getQuantityMin(),
                     originalDrop.getQuantityMax()
             );
-
-            // Weight for this quality tier from loot config
-            double tierWeight = quality.getLootWeight(config);
-
-            // Create a SingleItemDropContainer for this variant
-            SingleItemDropContainer tierContainer = new SingleItemDropContainer(variantDrop, tierWeight);
-
-            tierContainers[idx++] = tierContainer;
         }
+        ItemDrop[] winner = internedVariantDrops.putIfAbsent(key, variantDrops);
+        return winner != null ? winner : variantDrops;
+    }
 
-        if (idx == 0) {
-            // No variants could be created — keep original
-            return originalContainer;
-        }
+    private int tierChildCount(DropKey key) {
+        ItemDropContainer[] children = internedTierContainers.get(key);
+        return children != null ? children.length : 0;
+    }
 
-        // Trim array to actual size
-        if (idx < tierContainers.length) {
-            ItemDropContainer[] trimmed = new ItemDropContainer[idx];
-            System.arraycopy(tierContainers, 0, trimmed, 0, idx);
-            tierContainers = trimmed;
+    /**
+     * Builds a tier sampler from the loot weights. If {@code presentDrops} is
+     * given, tiers whose drop is null get zero weight.
+     * Mirrors ItemQuality.randomLoot(): all-zero weights fall back to COMMON.
+     */
+    private AliasSampler buildLootTierSampler(ItemDrop[] presentDrops) {
+        ItemQuality[] qualities = ItemQuality.values();
+        double[] weights = new double[qualities.length];
+        double total = 0;
+        for (ItemQuality quality : qualities) {
+            if (presentDrops != null && presentDrops[quality.ordinal()] == null) continue;
+            double w = Math.max(quality.getLootWeight(config), 0);
+            weights[quality.ordinal()] = w;
+            total += w;
         }
+        if (total <= 0) {
+            weights[ItemQuality.COMMON.ordinal()] = 1;
+        }
+        return new AliasSampler(weights);
+    }
 
-        // Create a ChoiceItemDropContainer with the original container's weight
-        // so it fits in the parent's probability correctly
-        double outerWeight = originalContainer.getWeight();
-        ChoiceItemDropContainer qualityChoice = new ChoiceItemDropContainer(tierContainers, outerWeight);
-
-        dropsReplaced++;
+    // ── Interning keys ──
 
-        return qualityChoice;
+    /** Identifies a base drop: same item, quantity range and metadata → same tier subtree. */
+    private record DropKey(String baseItemId, int quantityMin, int quantityMax, Object metadata) {
+        static DropKey of(String baseItemId, ItemDrop drop) {
+            return new DropKey(baseItemId, drop.getQuantityMin(), drop.getQuantityMax(), drop.getMetadata());
+        }
     }
 
+    /** A drop key plus the outer weight of the container that wraps the tier subtree. */
+    private record ChoiceKey(DropKey drop, double outerWeight) {}
+
     // ── Asset map access ──
 
     /**
@@ -328,28 +629,11 @@ public final class LootDropModifier {
         }
     }
 
-    // ── Reflection utility ──
-
-    private static void setFieldValue(Object target, String fieldName, Object value) throws Exception {
-        Field field = findField(target.getClass(), fieldName);
-        field.setAccessible(true);
-        field.set(target, value);
-    }
-
-    private static Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
-        Class<?> current = clazz;
-        while (current != null) {
-            try {
-                return current.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
-        }
-        throw new NoSuchFieldException(fieldName + " not found in " + clazz.getName() + " hierarchy");
-    }
-
     // ── Getters ──
 
-    public int getDropListsModified() { return dropListsModified; }
-    public int getDropsReplaced() { return dropsReplaced; }
+    public int getDropListsModified() { return dropListsModified.get(); }
+    public int getDropsReplaced() { return dropsReplaced.get(); }
+    public int getContainersSaved() { return containersSaved.get(); }
+    public int getItemDropsSaved() { return itemDropsSaved.get(); }
+    public int getSharedNodeHits() { return sharedNodeHits.get(); }
 }
@@ -0,0 +1,200 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.RootInteraction;
+import dev.hytalemodding.metrics.StartupPhaseEvent;
+
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the network packets of variant items and cloned interactions in the
+ * background, right after the variant pass.
+ *
+ * Variants and interaction clones start with {@code cachedPacket} cleared
+ * (the stats and interactionVars differ from the base), so without this the
+ * packets are built on the world thread when the first client syncs assets.
+ * Each asset is independent: the work is split into chunks over low-priority
+ * daemon threads, one per core minus one. A newer {@link #start} (asset
+ * reload) supersedes a run still in progress.
+ */
+public final class PacketPrewarmer {
+
+    private static final String LOG_PREFIX = "[RQC] Prewarm: ";
+    private static final String CLONE_MARKER = "_RQC_";
+    private static final int CHUNK = 256;
+
+    /** One finished run; bytes are allocated by the workers (-1 if the JVM cannot tell). */
+    public record Result(int items, int interactions, int failed, long elapsedNanos,
+                         long allocatedBytes, long heapDeltaBytes, int threads, boolean superseded) {}
+
+    /** Prewarm thread; the allocation counter is per thread. */
+    static final class Worker extends Thread {
+        private static final AtomicInteger COUNT = new AtomicInteger();
+
+        Worker(Runnable task) {
+            super(task, "RQC-Prewarm-" + COUNT.incrementAndGet());
+            setDaemon(true);
+            setPriority(Thread.MIN_PRIORITY);
+        }
+    }
+
+    /** {@code toPacket()} per interaction class; null when the class has none. */
+    private static final ClassValue<Method> TO_PACKET = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                Method method = type.getMethod("toPacket");
+                method.setAccessible(true);
+                return method;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    };
+
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile Result lastResult;
+
+    /**
+     * Starts a prewarm of every variant in {@code variantToBase} and every
+     * cloned interaction on a background thread; returns immediately.
+     */
+    public void start(@Nonnull Map<String, String> variantToBase) {
+        int run = generation.incrementAndGet();
+        List<String> variantIds = new ArrayList<>(variantToBase.keySet());
+        Thread thread = new Worker(() -> {
+            try {
+                Result result = run(variantIds, run);
+                lastResult = result;
+                System.out.println(LOG_PREFIX + summary(result));
+            } catch (Exception e) {
+                System.out.println(LOG_PREFIX + "WARNING: Packet prewarm failed: " + e.getMessage());
+            }
+        });
+        thread.start();
+    }
+
+    /** Result of the last finished run, or null. */
+    public Result getLastResult() {
+        return lastResult;
+    }
+
+    /** Builds all packets on the worker pool; blocks until done. */
+    @Nonnull
+    Result run(@Nonnull List<String> variantIds, int run) throws Exception {
+        StartupPhaseEvent phase = StartupPhaseEvent.start("prewarm");
+        long start = System.nanoTime();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        List<Item> items = new ArrayList<>(variantIds.size());
+        for (String id : variantIds) {
+            Item item = Item.getAssetMap().getAsset(id);
+            if (item != null) items.add(item);
+        }
+        List<Object> interactions = new ArrayList<>();
+        for (Map.Entry<String, Interaction> entry : Interaction.getAssetMap().getAssetMap().entrySet()) {
+            if (entry.getValue() != null && entry.getKey().contains(CLONE_MARKER)) interactions.add(entry.getValue());
+        }
+        for (Map.Entry<String, RootInteraction> entry : RootInteraction.getAssetMap().getAssetMap().entrySet()) {
+            if (entry.getValue() != null && entry.getKey().contains(CLONE_MARKER)) interactions.add(entry.getValue());
+        }
+
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger itemsBuilt = new AtomicInteger();
+        AtomicInteger interactionsBuilt = new AtomicInteger();
+        LongAdder allocated = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, Worker::new);
+        boolean superseded = false;
+        try {
+            List<Future<Boolean>> chunks = new ArrayList<>();
+            for (int from = 0; from < items.size(); from += CHUNK) {
+                List<Item> chunk = items.subList(from, Math.min(from + CHUNK, items.size()));
+                chunks.add(pool.submit(() -> measure(allocated, () -> {
+                    for (Item item : chunk) {
+                        if (generation.get() != run) return false;
+                        try {
+                            item.toPacket();
+                            itemsBuilt.incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return true;
+                })));
+            }
+            for (int from = 0; from < interactions.size(); from += CHUNK) {
+                List<Object> chunk = interactions.subList(from, Math.min(from + CHUNK, interactions.size()));
+                chunks.add(pool.submit(() -> measure(allocated, () -> {
+                    for (Object interaction : chunk) {
+                        if (generation.get() != run) return false;
+                        Method toPacket = TO_PACKET.get(interaction.getClass());
+                        if (toPacket == null) continue;
+                        try {
+                            toPacket.invoke(interaction);
+                            interactionsBuilt.incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return true;
+                })));
+            }
+            for (Future<Boolean> chunk : chunks) {
+                if (!chunk.get()) superseded = true;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        phase.finish(itemsBuilt.get() + interactionsBuilt.get());
+        return new Result(itemsBuilt.get(), interactionsBuilt.get(), failed.get(), System.nanoTime() - start,
+                threadAllocatedBytes() >= 0 ? allocated.sum() : -1, heapAfter - heapBefore, workers, superseded);
+    }
+
+    /** Runs one chunk and adds what the worker allocated while doing it. */
+    private static boolean measure(LongAdder allocated, Callable<Boolean> task) throws Exception {
+        long before = threadAllocatedBytes();
+        try {
+            return task.call();
+        } finally {
+            if (before >= 0) allocated.add(threadAllocatedBytes() - before);
+        }
+    }
+
+    private static long threadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /** One-line summary for the console. */
+    @Nonnull
+    public static String summary(@Nonnull Result result) {
+        String memory = result.allocatedBytes() >= 0
+                ? String.format("%.1f MB allocated", result.allocatedBytes() / (1024.0 * 1024.0))
+                : "allocation unknown";
+        return String.format("%s%,d variant item and %,d interaction packets built in %d ms on %d threads"
+                        + " (%s, heap %+.1f MB)%s",
+                result.superseded() ? "Superseded after " : "",
+                result.items(), result.interactions(), result.elapsedNanos() / 1_000_000, result.threads(),
+                memory, result.heapDeltaBytes() / (1024.0 * 1024.0),
+                result.failed() > 0 ? ", " + result.failed() + " failed" : "");
+    }
+}
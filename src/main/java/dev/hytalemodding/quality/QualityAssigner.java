@@ -16,6 +16,14 @@ import com.hypixel.hytale.server.core.inventory.transaction.ListTransaction;
 import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.metrics.DecisionRecorder;
+import dev.hytalemodding.metrics.DecisionRecorder.Outcome;
+import dev.hytalemodding.metrics.EventTraceRecorder;
+import dev.hytalemodding.metrics.QualityAssignmentEvent;
+import dev.hytalemodding.metrics.QualityMetrics;
+import dev.hytalemodding.metrics.QualityMetrics.RejectReason;
+import dev.hytalemodding.metrics.QualityMetrics.RollSource;
+import dev.hytalemodding.metrics.QualityMetrics.TxType;
 
 import org.bson.BsonDocument;
 
@@ -50,6 +58,9 @@ public final class QualityAssigner
 
     private static final String LOG_PREFIX = "[RQC] Assigner: ";
 
+    /** Source tag in the decision recorder. */
+    private static final String SOURCE = "assign";
+
     private final QualityRegistry registry;
     private final QualityConfig config;
     private final QualityTierMapper tierMapper;
@@ -83,35 +94,53 @@ public final class QualityAssigner
                        @Nonnull Store<EntityStore> store,
                        @Nonnull CommandBuffer<EntityStore> commandBuffer,
                        @Nonnull InventoryChangeEvent event) {
+        // Before the succeeded check, so replayed traces keep failed transactions
+        EventTraceRecorder trace = EventTraceRecorder.get();
+        if (trace.isRecording()) trace.record(event);
+
         Transaction transaction = event.getTransaction();
-        if (!transaction.succeeded()) return;
+        QualityMetrics metrics = QualityMetrics.get();
+        if (!transaction.succeeded()) {
+            metrics.reject(RejectReason.TX_FAILED);
+            return;
+        }
 
         ItemContainer container = event.getItemContainer();
-
-        if (transaction instanceof SlotTransaction slotTx) {
-            // Covers SlotTransaction AND ItemStackSlotTransaction (subclass)
-            handleSlotTransaction(slotTx, container);
-        } else if (transaction instanceof ItemStackTransaction itemStackTx) {
-            // Crafting and item-add operations — has getSlotTransactions()
-            handleItemStackTransaction(itemStackTx, container);
-        } else if (transaction instanceof MoveTransaction<?> moveTx) {
-            // Item movement between containers
-            handleMoveTransaction(moveTx, container);
-        } else if (transaction instanceof ListTransaction<?> listTx) {
-            // Batch transaction — contains a list of inner transactions
-            handleListTransaction(listTx, container);
-        } else {
-            // Unknown transaction type — try scanning all slots
-            scanContainerForUnqualifiedItems(container);
+        long start = metrics.startTimer();
+        try {
+            if (transaction instanceof SlotTransaction slotTx) {
+                // Covers SlotTransaction AND ItemStackSlotTransaction (subclass)
+                metrics.event(TxType.SLOT);
+                handleSlotTransaction(slotTx, container, TxType.SLOT);
+            } else if (transaction instanceof ItemStackTransaction itemStackTx) {
+                // Crafting and item-add operations — has getSlotTransactions()
+                metrics.event(TxType.ITEM_STACK);
+                handleItemStackTransaction(itemStackTx, container, TxType.ITEM_STACK);
+            } else if (transaction instanceof MoveTransaction<?> moveTx) {
+                // Item movement between containers
+                metrics.event(TxType.MOVE);
+                handleMoveTransaction(moveTx, container, TxType.MOVE);
+            } else if (transaction instanceof ListTransaction<?> listTx) {
+                // Batch transaction — contains a list of inner transactions
+                metrics.event(TxType.LIST);
+                handleListTransaction(listTx, container);
+            } else {
+                // Unknown transaction type — try scanning all slots
+                metrics.event(TxType.OTHER);
+                scanContainerForUnqualifiedItems(container);
+            }
+        } finally {
+            metrics.stopTimer(metrics.assignerLatency(), start);
         }
     }
 
     private void handleSlotTransaction(@Nonnull SlotTransaction slotTx,
-                                        @Nonnull ItemContainer container) {
+                                        @Nonnull ItemContainer container,
+                                        @Nonnull TxType txType) {
         ItemStack itemAfter = slotTx.getSlotAfter();
         if (itemAfter == null || itemAfter.isEmpty()) return;
 
-        tryAssignQuality(itemAfter, container, slotTx.getSlot());
+        tryAssignQuality(itemAfter, container, slotTx.getSlot(), txType);
     }
 
     /**
@@ -119,7 +148,8 @@ public final class QualityAssigner
      * and adding items to inventory. Contains a list of ItemStackSlotTransactions.
      */
     private void handleItemStackTransaction(@Nonnull ItemStackTransaction itemStackTx,
-                                             @Nonnull ItemContainer container) {
+                                             @Nonnull ItemContainer container,
+                                             @Nonnull TxType txType) {
         List<ItemStackSlotTransaction> slotTxList = itemStackTx.getSlotTransactions();
         if (slotTxList == null || slotTxList.isEmpty()) return;
 
@@ -129,7 +159,7 @@ public final class QualityAssigner
             ItemStack itemAfter = slotTx.getSlotAfter();
             if (itemAfter == null || itemAfter.isEmpty()) continue;
 
-            tryAssignQuality(itemAfter, container, slotTx.getSlot());
+            tryAssignQuality(itemAfter, container, slotTx.getSlot(), txType);
         }
     }
 
@@ -139,7 +169,8 @@ public final class QualityAssigner
      */
     @SuppressWarnings("unchecked")
     private void handleMoveTransaction(@Nonnull MoveTransaction<?> moveTx,
-                                        @Nonnull ItemContainer container) {
+                                        @Nonnull ItemContainer container,
+                                        @Nonnull TxType txType) {
         Transaction addTx = moveTx.getAddTransaction();
         if (addTx == null || !addTx.succeeded()) return;
 
@@ -149,10 +180,10 @@ public final class QualityAssigner
         if (addTx instanceof SlotTransaction slotTx) {
             ItemStack itemAfter = slotTx.getSlotAfter();
             if (itemAfter != null && !itemAfter.isEmpty()) {
-                tryAssignQuality(itemAfter, destContainer, slotTx.getSlot());
+                tryAssignQuality(itemAfter, destContainer, slotTx.getSlot(), txType);
             }
         } else if (addTx instanceof ItemStackTransaction itemStackTx) {
-            handleItemStackTransaction(itemStackTx, destContainer);
+            handleItemStackTransaction(itemStackTx, destContainer, txType);
         }
     }
 
@@ -171,13 +202,13 @@ public final class QualityAssigner
                     if (!slotTx.succeeded()) continue;
                     ItemStack itemAfter = slotTx.getSlotAfter();
                     if (itemAfter == null || itemAfter.isEmpty()) continue;
-                    tryAssignQuality(itemAfter, container, slotTx.getSlot());
+                    tryAssignQuality(itemAfter, container, slotTx.getSlot(), TxType.LIST);
                 } else if (txObj instanceof ItemStackTransaction itemStackTx) {
                     if (!itemStackTx.succeeded()) continue;
-                    handleItemStackTransaction(itemStackTx, container);
+                    handleItemStackTransaction(itemStackTx, container, TxType.LIST);
                 } else if (txObj instanceof MoveTransaction<?> moveTx) {
                     if (!moveTx.succeeded()) continue;
-                    handleMoveTransaction(moveTx, container);
+                    handleMoveTransaction(moveTx, container, TxType.LIST);
                 }
             }
         } catch (Exception e) {
@@ -187,21 +218,46 @@ public final class QualityAssigner
 
     /**
      * Fallback: Scans all slots in a container for unqualified eligible items.
-     * Used when we encounter an unknown transaction type.
+     * Used when we encounter an unknown transaction type, and by
+     * {@link WorldContainerProcessor} for block containers.
      */
-    private void scanContainerForUnqualifiedItems(@Nonnull ItemContainer container) {
+    void scanContainerForUnqualifiedItems(@Nonnull ItemContainer container) {
         try {
             short capacity = container.getCapacity();
             for (short slot = 0; slot < capacity; slot++) {
                 ItemStack item = container.getItemStack(slot);
                 if (item == null || item.isEmpty()) continue;
-                tryAssignQuality(item, container, slot);
+                tryAssignQuality(item, container, slot, TxType.OTHER);
             }
         } catch (Exception e) {
             // Container scan failed - skip silently
         }
     }
 
+    /**
+     * True if any slot holds an item {@link #tryAssignQuality} would change
+     * (a v1.x item or an eligible base item). Read-only and not counted in
+     * the metrics, so a processed container can be checked on every open.
+     */
+    boolean hasUnprocessedItems(@Nonnull ItemContainer container) {
+        short capacity = container.getCapacity();
+        for (short slot = 0; slot < capacity; slot++) {
+            ItemStack item = container.getItemStack(slot);
+            if (item == null || item.isEmpty()) continue;
+
+            String itemId = item.getItemId();
+            if (itemId == null || itemId.isEmpty() || tierMapper.isVariant(itemId)) continue;
+            if (QualityItemFactory.isIgnored(itemId)) continue;
+            // A legacy ID whose target is itself is a tier without a variant:
+            // migrating it would rewrite the same ID on every open
+            String legacyTarget = tierMapper.getLegacyIdTable().getTarget(itemId);
+            if (legacyTarget != null ? !legacyTarget.equals(itemId) : registry.isEligible(itemId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════
     //  Synchronous quality assignment
     // ═══════════════════════════════════════════════════════════════════════════
@@ -210,41 +266,77 @@ public final class QualityAssigner
      * Checks if this item needs quality assignment and, if so, swaps it
      * to a quality variant immediately on the game thread.
      */
-    private void tryAssignQuality(@Nonnull ItemStack itemStack,
-                                   @Nonnull ItemContainer container,
-                                   short slot) {
+    void tryAssignQuality(@Nonnull ItemStack itemStack,
+                          @Nonnull ItemContainer container,
+                          short slot,
+                          @Nonnull TxType txType) {
         String itemId = itemStack.getItemId();
         if (itemId == null || itemId.isEmpty()) return;
 
         // Already a quality variant — nothing to do
-        if (tierMapper.isVariant(itemId)) return;
+        QualityMetrics metrics = QualityMetrics.get();
+        if (tierMapper.isVariant(itemId)) {
+            metrics.reject(RejectReason.ALREADY_VARIANT);
+            return;
+        }
 
         // Runtime ignore-list check — catches state variants (e.g.
         // *Tool_Watering_Can_State_Filled_Water) that share a prefix with
         // an ignored base item. Strips Hytale's '*' prefix before matching.
-        if (QualityItemFactory.isIgnored(itemId)) return;
-
-        // v1.x item (has quality suffix like _Legendary) — migrate to variant
-        // Only if the extracted base ID is actually an eligible item
-        boolean isV1Item = false;
-        if (ItemQuality.fromItemId(itemId) != null) {
-            String candidateBase = ItemQuality.extractBaseId(itemId);
-            isV1Item = registry.isEligible(candidateBase);
+        // Counted only: ammo and consumables would flood the decision ring
+        if (QualityItemFactory.isIgnored(itemId)) {
+            metrics.reject(RejectReason.IGNORED);
+            return;
         }
 
+        // v1.x item (has quality suffix like _Legendary) — migrate to variant.
+        // The legacy table only holds IDs built from eligible bases, so this is
+        // a single probe instead of a suffix loop + substring + eligibility check
+        String legacyTarget = tierMapper.getLegacyIdTable().getTarget(itemId);
+        boolean isV1Item = legacyTarget != null;
+
         // Eligible base item — assign random quality
         boolean isEligibleBase = !isV1Item && registry.isEligible(itemId);
 
-        if (!isV1Item && !isEligibleBase) return;
+        if (!isV1Item && !isEligibleBase) {
+            metrics.reject(RejectReason.NOT_ELIGIBLE);
+            return;
+        }
 
+        // JFR event only allocated while a recording has it enabled
+        QualityAssignmentEvent jfrEvent = QualityAssignmentEvent.isRecording() ? new QualityAssignmentEvent() : null;
+        if (jfrEvent != null) jfrEvent.begin();
         try {
+            ItemQuality quality;
             if (isV1Item) {
-                migrateV1Item(itemStack, container, slot, itemId);
+                migrateV1Item(itemStack, container, slot, legacyTarget);
+                quality = tierMapper.getLegacyIdTable().getQuality(itemId);
+                metrics.itemMigrated();
             } else {
-                assignNewQuality(itemStack, container, slot, itemId);
+                quality = assignNewQuality(itemStack, container, slot, itemId);
+            }
+            metrics.slotRewrite();
+            DecisionRecorder.get().record(SOURCE, itemId, isV1Item ? Outcome.MIGRATED : Outcome.ASSIGNED,
+                    quality, null, null, container, slot);
+
+            // Fields are only filled for events that pass the throttle
+            if (jfrEvent != null) {
+                jfrEvent.end();
+                if (jfrEvent.shouldCommit()) {
+                    jfrEvent.itemId = itemId;
+                    jfrEvent.tier = quality != null ? quality.name() : null;
+                    jfrEvent.container = container.getClass().getSimpleName();
+                    jfrEvent.slot = slot;
+                    jfrEvent.transactionType = txType.name();
+                    jfrEvent.migrated = isV1Item;
+                    jfrEvent.commit();
+                }
             }
         } catch (Exception e) {
-            // Assignment failed - skip silently
+            // Assignment failed - skip silently (kept in the decision recorder)
+            metrics.reject(RejectReason.ERROR);
+            DecisionRecorder.get().record(SOURCE, itemId, Outcome.FAILED, null,
+                    RejectReason.ERROR, e, container, slot);
         }
     }
 
@@ -255,14 +347,7 @@ public final class QualityAssigner
     private void migrateV1Item(@Nonnull ItemStack item,
                                 @Nonnull ItemContainer container,
                                 short slot,
-                                @Nonnull String itemId) {
-        ItemQuality v1Quality = ItemQuality.fromItemId(itemId);
-        if (v1Quality == null) return;
-
-        String baseId = ItemQuality.extractBaseId(itemId);
-        String targetId = tierMapper.isInitialized()
-                ? tierMapper.getVariantId(baseId, v1Quality) : baseId;
-
+                                @Nonnull String targetId) {
         // Preserve metadata from the original item (enchantments, etc.)
         BsonDocument originalMetadata = item.getMetadata();
         ItemStack migrated = new ItemStack(targetId, item.getQuantity(), originalMetadata);
@@ -280,12 +365,16 @@ public final class QualityAssigner
     /**
      * Assigns a random quality to an eligible base item.
      * Preserves all metadata (e.g. enchantments from other mods) during assignment.
+     *
+     * @return the rolled quality
      */
-    private void assignNewQuality(@Nonnull ItemStack item,
-                                   @Nonnull ItemContainer container,
-                                   short slot,
-                                   @Nonnull String itemId) {
+    @Nonnull
+    private ItemQuality assignNewQuality(@Nonnull ItemStack item,
+                                         @Nonnull ItemContainer container,
+                                         short slot,
+                                         @Nonnull String itemId) {
         ItemQuality quality = ItemQuality.random(config);
+        QualityMetrics.get().roll(RollSource.ASSIGN, quality);
 
         String targetId = tierMapper.isInitialized()
                 ? tierMapper.getVariantId(itemId, quality) : itemId;
@@ -303,6 +392,7 @@ public final class QualityAssigner
         }
 
         container.setItemStackForSlot(slot, modified);
+        return quality;
     }
 
     // ═══════════════════════════════════════════════════════════════════════════
@@ -45,19 +45,29 @@ public final class QualityItemFactory {
      * even if the server's config file was generated by an older version.
      */
     public static void initIgnoreList(@Nullable QualityConfig config) {
-        Set<String> prefixes = new HashSet<>(Arrays.asList(DEFAULT_IGNORED_PREFIXES));
-        if (config != null) {
-            String[] configPrefixes = config.getIgnoredItemPrefixes();
-            if (configPrefixes != null) {
-                // Merge: keep hardcoded defaults AND add config values
-                Collections.addAll(prefixes, configPrefixes);
-            }
-        }
+        Set<String> prefixes = mergeWithDefaults(config != null ? config.getIgnoredItemPrefixes() : null);
         cachedIgnorePrefixes = prefixes;
         System.out.println("[RQC] Ignore list initialized with " + prefixes.size()
                 + " prefixes: " + prefixes);
     }
 
+    /**
+     * Sets the ignore list to the defaults plus the given prefixes, without
+     * a config or logging (benchmarks and offline fixtures).
+     */
+    static void initIgnoreList(@Nullable String[] extraPrefixes) {
+        cachedIgnorePrefixes = mergeWithDefaults(extraPrefixes);
+    }
+
+    private static Set<String> mergeWithDefaults(@Nullable String[] extraPrefixes) {
+        Set<String> prefixes = new HashSet<>(Arrays.asList(DEFAULT_IGNORED_PREFIXES));
+        if (extraPrefixes != null) {
+            // Merge: keep hardcoded defaults AND add config values
+            Collections.addAll(prefixes, extraPrefixes);
+        }
+        return prefixes;
+    }
+
     /**
      * Checks if an item ID is on the ignore list (matches any prefix).
      *
@@ -1,6 +1,7 @@
 package dev.hytalemodding.quality;
 
 import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Field;
@@ -15,23 +16,46 @@ import java.util.*;
  * applied at runtime via the ECS damage system.
  *
  * This class only tracks WHICH items are eligible for quality assignment.
+ *
+ * World threads query it while an asset reload rescans, so every scan or
+ * change builds new collections and publishes them in one volatile write:
+ * a reader sees either the old eligible set or the new one, never a set
+ * being cleared and refilled.
  */
 public final class QualityRegistry {
 
     private static final String LOG_PREFIX = "[RQC] Registry: ";
 
-    /** Base item IDs that are eligible for quality (weapons, armor, tools). */
-    private final Set<String> eligibleItemIds = new HashSet<>();
-
-    /** Cached map of item ID → Item for runtime lookups. */
-    private final Map<String, Item> itemCache = new HashMap<>();
+    /**
+     * One published state of the registry; never modified after publication.
+     *
+     * @param eligibleItemIds   base item IDs that are eligible for quality (weapons, armor, tools)
+     * @param itemCache         item ID → Item for runtime lookups
+     * @param eligibleByOrdinal eligible base IDs in a stable (sorted) order — index = item ordinal
+     * @param ordinals          base item ID → ordinal, -1 if not eligible
+     */
+    private record Snapshot(Set<String> eligibleItemIds, Map<String, Item> itemCache,
+                            String[] eligibleByOrdinal, Object2IntOpenHashMap<String> ordinals,
+                            int totalScanned) {
+
+        static Snapshot of(Set<String> eligibleItemIds, Map<String, Item> itemCache, int totalScanned) {
+            String[] sorted = eligibleItemIds.toArray(new String[0]);
+            Arrays.sort(sorted);
+            Object2IntOpenHashMap<String> ordinals = new Object2IntOpenHashMap<>(sorted.length);
+            ordinals.defaultReturnValue(-1);
+            for (int i = 0; i < sorted.length; i++) {
+                ordinals.put(sorted[i], i);
+            }
+            return new Snapshot(eligibleItemIds, itemCache, sorted, ordinals, totalScanned);
+        }
+    }
 
-    private int totalEligible = 0;
-    private int totalScanned = 0;
+    private volatile Snapshot snapshot = Snapshot.of(Set.of(), Map.of(), 0);
 
     /**
      * Scans all loaded items and identifies those eligible for quality assignment.
-     * Should be called once after assets are loaded.
+     * Called after every asset load; each scan starts from scratch, so items
+     * removed by a reload are dropped and nothing is counted twice.
      */
     public void scanEligibleItems() {
         long startTime = System.currentTimeMillis();
@@ -39,10 +63,12 @@ public final class QualityRegistry {
         Map<String, Item> allItems = getItemMap();
         if (allItems == null || allItems.isEmpty()) {
             System.out.println(LOG_PREFIX + "ERROR: Could not access Item asset map. Quality system inactive.");
+            snapshot = Snapshot.of(Set.of(), Map.of(), 0);
             return;
         }
 
-        totalScanned = allItems.size();
+        Set<String> eligibleItemIds = new HashSet<>();
+        Map<String, Item> itemCache = new HashMap<>();
 
         for (Map.Entry<String, Item> entry : allItems.entrySet()) {
             String itemId = entry.getKey();
@@ -56,18 +82,47 @@ public final class QualityRegistry {
             if (QualityItemFactory.isEligibleForQuality(itemId, item)) {
                 eligibleItemIds.add(itemId);
                 itemCache.put(itemId, item);
-                totalEligible++;
             }
         }
 
+        // Ordinals: every eligible base item gets a compact int, used by
+        // primitive-array indexes such as QualityReverseIndex
+        snapshot = Snapshot.of(eligibleItemIds, itemCache, allItems.size());
+
         long elapsed = System.currentTimeMillis() - startTime;
     }
 
+    /**
+     * Marks item IDs as eligible without scanning the Item asset map
+     * (benchmarks and offline fixtures, where no game assets are loaded).
+     */
+    void registerEligible(@Nonnull Collection<String> itemIds) {
+        Snapshot current = snapshot;
+        Set<String> eligibleItemIds = new HashSet<>(current.eligibleItemIds());
+        eligibleItemIds.addAll(itemIds);
+        snapshot = Snapshot.of(eligibleItemIds, current.itemCache(), current.totalScanned());
+    }
+
+    /**
+     * Keeps only the given item IDs eligible — the rest get no variants and
+     * no quality this session (variant budget fallback, see
+     * {@link VariantBudgetPlanner#fit}).
+     */
+    public void retainEligible(@Nonnull Collection<String> itemIds) {
+        Snapshot current = snapshot;
+        Set<String> keep = new HashSet<>(itemIds);
+        Set<String> eligibleItemIds = new HashSet<>(current.eligibleItemIds());
+        eligibleItemIds.retainAll(keep);
+        Map<String, Item> itemCache = new HashMap<>(current.itemCache());
+        itemCache.keySet().retainAll(keep);
+        snapshot = Snapshot.of(eligibleItemIds, itemCache, current.totalScanned());
+    }
+
     // ── Query methods ──
 
     /** Returns true if this item ID is eligible for quality assignment. */
     public boolean isEligible(@Nonnull String itemId) {
-        if (!eligibleItemIds.contains(itemId)) return false;
+        if (!snapshot.eligibleItemIds().contains(itemId)) return false;
         // Belt-and-suspenders: re-check the ignore list at runtime in case
         // the eligible set was populated before the ignore list was fully
         // initialized (e.g. stale server config missing new defaults).
@@ -77,16 +132,30 @@ public final class QualityRegistry {
 
     /** Returns the cached Item object for the given ID, or null. */
     public Item getCachedItem(@Nonnull String itemId) {
-        return itemCache.get(itemId);
+        return snapshot.itemCache().get(itemId);
     }
 
-    /** Returns the set of all eligible item IDs (unmodifiable). */
+    /** Returns the set of all eligible item IDs (unmodifiable; the set of the scan it was taken from). */
     public Set<String> getEligibleItemIds() {
-        return Collections.unmodifiableSet(eligibleItemIds);
+        return Collections.unmodifiableSet(snapshot.eligibleItemIds());
     }
 
-    public int getTotalEligible() { return totalEligible; }
-    public int getTotalScanned() { return totalScanned; }
+    /** Returns the ordinal of an eligible base item, or -1. */
+    public int getOrdinal(@Nonnull String itemId) {
+        return snapshot.ordinals().getInt(itemId);
+    }
+
+    /** Returns the base item ID for an ordinal (see {@link #getOrdinal}). */
+    @Nonnull
+    public String getItemIdByOrdinal(int ordinal) {
+        return snapshot.eligibleByOrdinal()[ordinal];
+    }
+
+    /** Number of ordinals handed out (= eligible base items). */
+    public int getOrdinalCount() { return snapshot.eligibleByOrdinal().length; }
+
+    public int getTotalEligible() { return snapshot.eligibleItemIds().size(); }
+    public int getTotalScanned() { return snapshot.totalScanned(); }
 
     // ── Asset map access (read-only, no injection) ──
 
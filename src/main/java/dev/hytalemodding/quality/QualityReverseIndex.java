@@ -0,0 +1,198 @@
+package dev.hytalemodding.quality;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reverse index from eligible base item → the ItemDropLists and Salvage_
+ * recipes that reference it.
+ *
+ * Built once during startup (LootDropModifier.modifyDropLists and
+ * QualityTierMapper.cloneRecipesForVariants record every reference they
+ * see), then frozen into compressed-row primitive arrays keyed by the
+ * registry's item ordinal:
+ *
+ * <pre>
+ *   dropListOffsets[ordinal] .. dropListOffsets[ordinal + 1]  → indices into dropListIds
+ *   recipeOffsets[ordinal]   .. recipeOffsets[ordinal + 1]    → indices into recipeIds
+ * </pre>
+ *
+ * Lookups are O(references) instead of a walk over every asset.
+ * Exposed through {@code /rqc where <item>} and the plugin's getReverseIndex().
+ */
+public final class QualityReverseIndex {
+
+    private static final QualityReverseIndex EMPTY =
+            new QualityReverseIndex(null, new String[0], new int[1], new int[0], new String[0], new int[1], new int[0]);
+
+    private final QualityRegistry registry;
+
+    private final String[] dropListIds;
+    private final int[] dropListOffsets;
+    private final int[] dropListRefs;
+
+    private final String[] recipeIds;
+    private final int[] recipeOffsets;
+    private final int[] recipeRefs;
+
+    private QualityReverseIndex(QualityRegistry registry,
+                                String[] dropListIds, int[] dropListOffsets, int[] dropListRefs,
+                                String[] recipeIds, int[] recipeOffsets, int[] recipeRefs) {
+        this.registry = registry;
+        this.dropListIds = dropListIds;
+        this.dropListOffsets = dropListOffsets;
+        this.dropListRefs = dropListRefs;
+        this.recipeIds = recipeIds;
+        this.recipeOffsets = recipeOffsets;
+        this.recipeRefs = recipeRefs;
+    }
+
+    /** An index with no references (before assets are loaded). */
+    @Nonnull
+    public static QualityReverseIndex empty() {
+        return EMPTY;
+    }
+
+    // ── Queries ──
+
+    /** IDs of the ItemDropLists that can drop this base item (or any of its variants). */
+    @Nonnull
+    public List<String> getDropListIds(@Nonnull String baseItemId) {
+        return resolve(baseItemId, dropListOffsets, dropListRefs, dropListIds);
+    }
+
+    /** IDs of the Salvage_ recipes that take this base item as input. */
+    @Nonnull
+    public List<String> getRecipeIds(@Nonnull String baseItemId) {
+        return resolve(baseItemId, recipeOffsets, recipeRefs, recipeIds);
+    }
+
+    public int getDropListCount() { return dropListIds.length; }
+    public int getRecipeCount() { return recipeIds.length; }
+    public int getDropListReferenceCount() { return dropListRefs.length; }
+    public int getRecipeReferenceCount() { return recipeRefs.length; }
+
+    private List<String> resolve(String baseItemId, int[] offsets, int[] refs, String[] ids) {
+        if (registry == null) return Collections.emptyList();
+        int ordinal = registry.getOrdinal(baseItemId);
+        if (ordinal < 0 || ordinal + 1 >= offsets.length) return Collections.emptyList();
+
+        int from = offsets[ordinal];
+        int to = offsets[ordinal + 1];
+        if (from == to) return Collections.emptyList();
+
+        List<String> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(ids[refs[i]]);
+        }
+        return result;
+    }
+
+    // ── Builder ──
+
+    /**
+     * Collects (base ordinal, asset) pairs during startup. Thread-safe:
+     * drop lists are rewritten in parallel.
+     */
+    public static final class Builder {
+
+        private final QualityRegistry registry;
+        private final Pairs dropLists = new Pairs();
+        private final Pairs recipes = new Pairs();
+
+        public Builder(@Nonnull QualityRegistry registry) {
+            this.registry = registry;
+        }
+
+        /** Records that a drop list references an eligible base item (by ordinal). */
+        public void addDropList(int baseOrdinal, @Nonnull String dropListId) {
+            if (baseOrdinal >= 0) dropLists.add(baseOrdinal, dropListId);
+        }
+
+        /** Records that a Salvage_ recipe takes an eligible base item as input. */
+        public void addRecipe(@Nonnull String baseItemId, @Nonnull String recipeId) {
+            int ordinal = registry.getOrdinal(baseItemId);
+            if (ordinal >= 0) recipes.add(ordinal, recipeId);
+        }
+
+        @Nonnull
+        public QualityReverseIndex build() {
+            int bases = registry.getOrdinalCount();
+            Frozen frozenLists = dropLists.freeze(bases);
+            Frozen frozenRecipes = recipes.freeze(bases);
+            return new QualityReverseIndex(registry,
+                    frozenLists.ids, frozenLists.offsets, frozenLists.refs,
+                    frozenRecipes.ids, frozenRecipes.offsets, frozenRecipes.refs);
+        }
+    }
+
+    /** Growable (ordinal, asset index) pair list with asset-ID interning. */
+    private static final class Pairs {
+        private final Object2IntOpenHashMap<String> idIndex = new Object2IntOpenHashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private int[] ordinals = new int[256];
+        private int[] targets = new int[256];
+        private int size = 0;
+
+        Pairs() {
+            idIndex.defaultReturnValue(-1);
+        }
+
+        synchronized void add(int ordinal, String id) {
+            int target = idIndex.getInt(id);
+            if (target < 0) {
+                target = ids.size();
+                ids.add(id);
+                idIndex.put(id, target);
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            ordinals[size] = ordinal;
+            targets[size] = target;
+            size++;
+        }
+
+        /** Counting sort by ordinal, then sort + dedupe each row. */
+        synchronized Frozen freeze(int bases) {
+            int[] offsets = new int[bases + 1];
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] < bases) offsets[ordinals[i] + 1]++;
+            }
+            for (int i = 0; i < bases; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] refs = new int[offsets[bases]];
+            int[] cursor = Arrays.copyOf(offsets, bases);
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] < bases) refs[cursor[ordinals[i]]++] = targets[i];
+            }
+
+            // Dedupe within each row, compacting in place
+            int write = 0;
+            int[] compactOffsets = new int[bases + 1];
+            for (int b = 0; b < bases; b++) {
+                int from = offsets[b];
+                int to = offsets[b + 1];
+                Arrays.sort(refs, from, to);
+                compactOffsets[b] = write;
+                for (int i = from; i < to; i++) {
+                    if (i > from && refs[i] == refs[i - 1]) continue;
+                    refs[write++] = refs[i];
+                }
+            }
+            compactOffsets[bases] = write;
+
+            return new Frozen(ids.toArray(new String[0]), compactOffsets, Arrays.copyOf(refs, write));
+        }
+    }
+
+    private record Frozen(String[] ids, int[] offsets, int[] refs) {}
+}
@@ -0,0 +1,102 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.SingleItemDropContainer;
+import dev.hytalemodding.metrics.QualityMetrics;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Compact replacement for the 6-way quality ChoiceItemDropContainer.
+ *
+ * Keeps the original single drop (returned by {@link #getDrop()}, so other
+ * code reading the drop table still sees the base item) and picks the
+ * quality variant only when the drop is actually evaluated, using an
+ * {@link AliasSampler} over the loot weights.
+ *
+ * Compared to the ChoiceItemDropContainer expansion this adds one object per
+ * eligible drop instead of a choice container, a weighted map and six
+ * SingleItemDropContainers, and each evaluation is an O(1) alias draw
+ * instead of a weighted pick over six children.
+ *
+ * Every roll is reported to the {@link RollSink} given at construction
+ * (the runtime metrics), unless the chance provider of the evaluation is a
+ * RollSink itself: drop trees are shared, so an evaluation that must not be
+ * counted (the loot simulator) brings its own no-op sink along with its RNG.
+ *
+ * Enabled by {@code LootRuntimeRolling} in config.json.
+ */
+public final class QualityRollingDropContainer extends SingleItemDropContainer {
+
+    /** Receives the ItemQuality ordinal of each roll. */
+    @FunctionalInterface
+    public interface RollSink {
+        void roll(int tierOrdinal);
+    }
+
+    /** Counts rolls as LOOT rolls in {@link QualityMetrics}. */
+    public static final RollSink METRICS_SINK = tier -> QualityMetrics.get().roll(QualityMetrics.RollSource.LOOT, tier);
+
+    /** One drop per quality tier (ItemQuality ordinal), null for missing variants. */
+    private final ItemDrop[] variantDrops;
+
+    /** Samples an ItemQuality ordinal; tiers without a variant have zero weight. */
+    private final AliasSampler tierSampler;
+
+    private final RollSink rollSink;
+
+    public QualityRollingDropContainer(@Nonnull ItemDrop baseDrop,
+                                       double weight,
+                                       @Nonnull ItemDrop[] variantDrops,
+                                       @Nonnull AliasSampler tierSampler,
+                                       @Nonnull RollSink rollSink) {
+        super(baseDrop, weight);
+        this.variantDrops = variantDrops;
+        this.tierSampler = tierSampler;
+        this.rollSink = rollSink;
+    }
+
+    /**
+     * Rolls a quality tier with one draw from {@code chanceProvider} (the
+     * server's drop RNG, so seeded evaluations stay reproducible) and returns
+     * the matching variant drop. Falls back to the base drop if the rolled
+     * variant does not exist.
+     */
+    @Nonnull
+    public ItemDrop rollDrop(@Nonnull DoubleSupplier chanceProvider) {
+        int tier = tierSampler.sample(chanceProvider.getAsDouble());
+        RollSink sink = chanceProvider instanceof RollSink own ? own : rollSink;
+        sink.roll(tier);
+        ItemDrop variant = variantDrops[tier];
+        return variant != null ? variant : getDrop();
+    }
+
+    @Override
+    protected void populateDrops(List<ItemDrop> drops, DoubleSupplier chanceProvider, Set<String> droplistReferences) {
+        drops.add(rollDrop(chanceProvider));
+    }
+
+    @Override
+    public List<ItemDrop> getAllDrops(List<ItemDrop> drops) {
+        // Every tier is a possible outcome
+        for (ItemDrop variant : variantDrops) {
+            if (variant != null) drops.add(variant);
+        }
+        return drops;
+    }
+
+    /** Per-tier variant drops (indexed by ItemQuality ordinal). */
+    @Nonnull
+    ItemDrop[] getVariantDrops() {
+        return variantDrops;
+    }
+
+    /** The sampler used to pick a tier at drop time. */
+    @Nonnull
+    AliasSampler getTierSampler() {
+        return tierSampler;
+    }
+}
@@ -6,6 +6,8 @@ import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
 import com.hypixel.hytale.server.core.modules.interaction.interaction.config.RootInteraction;
 import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.metrics.AssetRegistrationEvent;
+import dev.hytalemodding.metrics.VariantCloneEvent;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -52,7 +54,14 @@ public final class QualityTierMapper {
     // (contains particleSystemId for ground drop glow per rarity)
     private final Map<ItemQuality, Object> qualityToItemEntityConfig = new EnumMap<>(ItemQuality.class);
 
+    // v1.x item ID → target variant ID (rebuilt after variants are created)
+    private volatile LegacyIdTable legacyIds = LegacyIdTable.empty();
+
+    // Bases left out by a variant cap; their quality IDs revert to the base
+    private volatile Set<String> cappedBases = Set.of();
+
     private boolean initialized = false;
+    private volatile boolean variantsReady = false;
     private int variantsCreated = 0;
 
     /**
@@ -72,6 +81,16 @@ public final class QualityTierMapper {
      * Item asset so that client tooltips display the correct values.
      */
     public void createVariants(@Nonnull QualityRegistry registry, @Nonnull QualityConfig config) {
+        createVariants(registry, config, null);
+    }
+
+    /**
+     * Same as {@link #createVariants(QualityRegistry, QualityConfig)}, and
+     * records every Salvage_ recipe that takes an eligible base item as input
+     * into the given reverse index builder.
+     */
+    public void createVariants(@Nonnull QualityRegistry registry, @Nonnull QualityConfig config,
+                               @Nullable QualityReverseIndex.Builder indexBuilder) {
         if (!initialized) {
             System.out.println(LOG_PREFIX + "ERROR: Not initialized! Cannot create variants.");
             return;
@@ -79,6 +98,10 @@ public final class QualityTierMapper {
 
         long startTime = System.currentTimeMillis();
 
+        // Clones left over by a previous load that failed before registering them
+        pendingInteractions.clear();
+        pendingRootInteractions.clear();
+
         Map<String, Item> itemMap = getItemAssetMap();
         if (itemMap == null) {
             System.out.println(LOG_PREFIX + "ERROR: Cannot access item asset map for variant creation!");
@@ -93,6 +116,11 @@ public final class QualityTierMapper {
             Item baseItem = itemMap.get(baseId);
             if (baseItem == null) continue;
 
+            VariantCloneEvent cloneEvent = new VariantCloneEvent();
+            cloneEvent.begin();
+            int createdBefore = created;
+            int failedBefore = failed;
+
             // Create a variant for each quality tier (including COMMON)
             for (ItemQuality quality : ItemQuality.values()) {
                 Integer hytaleIdx = qualityToIndex.get(quality);
@@ -148,19 +176,26 @@ public final class QualityTierMapper {
                     // Register in the mutable backing asset map
                     itemMap.put(variantId, variant);
 
-                    variantItemIds.add(variantId);
-                    variantToBase.put(variantId, baseId);
-                    variantToQuality.put(variantId, quality);
+                    registerVariant(variantId, baseId, quality);
                     created++;
 
-
                 } catch (Exception e) {
                     failed++;
                 }
             }
+
+            cloneEvent.end();
+            if (cloneEvent.shouldCommit()) {
+                cloneEvent.baseId = baseId;
+                cloneEvent.created = created - createdBefore;
+                cloneEvent.failed = failed - failedBefore;
+                cloneEvent.commit();
+            }
         }
 
         variantsCreated = created;
+        legacyIds = LegacyIdTable.build(eligibleIds, this::getVariantId, cappedBases);
+        variantsReady = true;
         long elapsed = System.currentTimeMillis() - startTime;
         if (failed > 0) {
             System.out.println(LOG_PREFIX + "WARNING: " + failed + " variant(s) failed to create");
@@ -171,7 +206,7 @@ public final class QualityTierMapper {
 
         // Clone salvage/crafting recipes for all variants so they work in
         // workstations (e.g. salvage bench) without needing JSON files
-        cloneRecipesForVariants(eligibleIds);
+        cloneRecipesForVariants(eligibleIds, indexBuilder);
     }
 
     /**
@@ -186,8 +221,12 @@ public final class QualityTierMapper {
      * Recipes are registered via CraftingRecipe.getAssetStore().loadAssets(),
      * which uses DefaultAssetMap (not indexed) so it's safe to add dynamically.
      * The CraftingPlugin's onRecipeLoad listener auto-registers them with benches.
+     *
+     * Every (base item, salvage recipe) pair found is also recorded into the
+     * reverse index builder, if one is given.
      */
-    private void cloneRecipesForVariants(Set<String> eligibleIds) {
+    private void cloneRecipesForVariants(Set<String> eligibleIds,
+                                         @Nullable QualityReverseIndex.Builder indexBuilder) {
         try {
             Map<String, CraftingRecipe> recipeMap = CraftingRecipe.getAssetMap().getAssetMap();
             if (recipeMap == null || recipeMap.isEmpty()) {
@@ -213,6 +252,7 @@ public final class QualityTierMapper {
                     String inputItemId = input.getItemId();
                     if (inputItemId != null && eligibleIds.contains(inputItemId)) {
                         baseToRecipes.computeIfAbsent(inputItemId, k -> new ArrayList<>()).add(recipe);
+                        if (indexBuilder != null) indexBuilder.addRecipe(inputItemId, recipeId);
                     }
                 }
             }
@@ -274,7 +314,9 @@ public final class QualityTierMapper {
 
             // Batch-register all cloned recipes
             if (!pendingRecipes.isEmpty()) {
+                AssetRegistrationEvent registration = beginRegistration("CraftingRecipe", pendingRecipes.size());
                 CraftingRecipe.getAssetStore().loadAssets("RomnasQualityCrafting", pendingRecipes);
+                commitRegistration(registration, true);
             }
         } catch (Exception e) {
             System.out.println(LOG_PREFIX + "WARNING: Failed to clone recipes for variants: " + e.getMessage());
@@ -282,6 +324,29 @@ public final class QualityTierMapper {
         }
     }
 
+    private void registerVariant(String variantId, String baseId, ItemQuality quality) {
+        variantItemIds.add(variantId);
+        variantToBase.put(variantId, baseId);
+        variantToQuality.put(variantId, quality);
+    }
+
+    /**
+     * Registers the variant IDs of the given base items without cloning any
+     * Item asset, and builds the legacy ID table (benchmarks and offline
+     * fixtures, where no game assets are loaded).
+     */
+    void registerSyntheticVariants(@Nonnull Collection<String> baseIds) {
+        for (String baseId : baseIds) {
+            for (ItemQuality quality : ItemQuality.values()) {
+                registerVariant(getVariantId(baseId, quality), baseId, quality);
+            }
+        }
+        variantsCreated = variantItemIds.size();
+        legacyIds = LegacyIdTable.build(baseIds, this::getVariantId, cappedBases);
+        initialized = true;
+        variantsReady = true;
+    }
+
     /**
      * Gets the variant item ID for a base item at a given quality.
      */
@@ -330,7 +395,32 @@ public final class QualityTierMapper {
         return (idx != null) ? idx : 0;
     }
 
+    /** True if our tier maps to a Hytale quality (variants are only created for mapped tiers). */
+    public boolean isTierMapped(@Nonnull ItemQuality quality) {
+        return qualityToIndex.containsKey(quality);
+    }
+
+    /** Exact v1.x ID → variant ID table (empty until variants are created). */
+    @Nonnull
+    public LegacyIdTable getLegacyIdTable() { return legacyIds; }
+
     public boolean isInitialized() { return initialized; }
+
+    /**
+     * Sets the eligible bases a MaxVariants / MaxVariantHeapMB cap left out
+     * (empty when no cap applies). Taken into the legacy ID table by the next
+     * variant pass, so stacks of their quality IDs — created before the cap —
+     * are migrated back to the base item instead of being left unresolved.
+     */
+    public void setCappedBases(@Nonnull Collection<String> baseIds) {
+        cappedBases = Set.copyOf(baseIds);
+    }
+
+    /** True while a cap leaves bases out (their quality IDs are migrated back). */
+    public boolean hasCappedBases() { return !cappedBases.isEmpty(); }
+
+    /** True once a variant pass has created the variants and built the legacy ID table. */
+    public boolean isVariantsReady() { return variantsReady; }
     public int getVariantsCreated() { return variantsCreated; }
 
     /** Returns an unmodifiable view of the variant-ID → base-ID map. */
@@ -339,6 +429,11 @@ public final class QualityTierMapper {
         return Collections.unmodifiableMap(variantToBase);
     }
 
+    /** Cloned interactions waiting for registration (0 outside createVariants; soak harness). */
+    int getPendingInteractionCount() {
+        return pendingInteractions.size() + pendingRootInteractions.size();
+    }
+
     // ── Private helpers ──
 
     // ── Hardcoded base-game quality tier IDs ──
@@ -863,6 +958,45 @@ public final class QualityTierMapper {
     }
 
 
+    /**
+     * Adds the IDs of the interactions {@link #applyWeaponDamageBaked} would
+     * clone for one base item and tier (damage sub-interactions and their
+     * root) to {@code out}, without cloning or registering anything. Used by
+     * {@link VariantBudgetPlanner}; follows the same rules, so the planned
+     * clones match the real ones.
+     */
+    static void collectInteractionClones(@Nonnull Item baseItem, @Nonnull ItemQuality quality,
+                                         @Nonnull QualityConfig config, @Nonnull Collection<String> out) {
+        try {
+            if (getFieldValue(baseItem, "weapon") == null) return;
+            if (quality.getDamageMultiplier(config) == 1.0f) return;
+
+            @SuppressWarnings("unchecked")
+            Map<String, String> interactionVars = (Map<String, String>) getFieldValue(baseItem, "interactionVars");
+            if (interactionVars == null) return;
+
+            for (Map.Entry<String, String> entry : interactionVars.entrySet()) {
+                if (!entry.getKey().contains("Damage")) continue;
+                RootInteraction rootInteraction = RootInteraction.getAssetMap().getAsset(entry.getValue());
+                if (rootInteraction == null) continue;
+                String[] subIds = rootInteraction.getInteractionIds();
+                if (subIds == null) continue;
+
+                boolean hasDamage = false;
+                for (String subId : subIds) {
+                    Interaction sub = Interaction.getAssetMap().getAsset(subId);
+                    if (sub != null && isDamageEntityInteraction(sub)) {
+                        out.add(subId + "_RQC_" + quality.getDisplayName());
+                        hasDamage = true;
+                    }
+                }
+                if (hasDamage) out.add(entry.getValue() + "_RQC_" + quality.getDisplayName());
+            }
+        } catch (Exception ignored) {
+            // Unreadable item — createVariants would not clone its interactions either
+        }
+    }
+
     /**
      * Checks if an Interaction is a DamageEntityInteraction by class name.
      */
@@ -1029,34 +1163,59 @@ public final class QualityTierMapper {
             return;
         }
 
-        // Register cloned sub-Interactions first (DamageEntityInteraction etc.)
-        if (!pendingInteractions.isEmpty()) {
-            try {
-                Interaction.getAssetStore().loadAssets("RomnasQualityCrafting", pendingInteractions);
-            } catch (Exception e) {
-                System.out.println(LOG_PREFIX + "ERROR registering Interactions: " + e.getMessage());
+        // Cleared even if registration throws, so failed clones are not
+        // registered again (and kept alive) by the next asset load
+        try {
+            // Register cloned sub-Interactions first (DamageEntityInteraction etc.)
+            if (!pendingInteractions.isEmpty()) {
+                AssetRegistrationEvent registration = beginRegistration("Interaction", pendingInteractions.size());
+                try {
+                    Interaction.getAssetStore().loadAssets("RomnasQualityCrafting", pendingInteractions);
+                    commitRegistration(registration, true);
+                } catch (Exception e) {
+                    commitRegistration(registration, false);
+                    System.out.println(LOG_PREFIX + "ERROR registering Interactions: " + e.getMessage());
+                }
             }
-        }
 
-        // Then register cloned RootInteractions (which reference the sub-Interactions)
-        if (!pendingRootInteractions.isEmpty()) {
-            try {
-                RootInteraction.getAssetStore().loadAssets("RomnasQualityCrafting", pendingRootInteractions);
+            // Then register cloned RootInteractions (which reference the sub-Interactions)
+            if (!pendingRootInteractions.isEmpty()) {
+                AssetRegistrationEvent registration = beginRegistration("RootInteraction", pendingRootInteractions.size());
+                try {
+                    RootInteraction.getAssetStore().loadAssets("RomnasQualityCrafting", pendingRootInteractions);
 
-                // Rebuild each RootInteraction's operations (they were cleared during cloning)
-                for (RootInteraction ri : pendingRootInteractions) {
-                    try {
-                        ri.build();
-                    } catch (Exception ignored) {}
+                    // Rebuild each RootInteraction's operations (they were cleared during cloning)
+                    for (RootInteraction ri : pendingRootInteractions) {
+                        try {
+                            ri.build();
+                        } catch (Exception ignored) {}
+                    }
+                    commitRegistration(registration, true);
+                } catch (Exception e) {
+                    commitRegistration(registration, false);
+                    System.out.println(LOG_PREFIX + "ERROR registering RootInteractions: " + e.getMessage());
                 }
-            } catch (Exception e) {
-                System.out.println(LOG_PREFIX + "ERROR registering RootInteractions: " + e.getMessage());
             }
+        } finally {
+            pendingInteractions.clear();
+            pendingRootInteractions.clear();
         }
+    }
 
-        // Clear pending lists
-        pendingInteractions.clear();
-        pendingRootInteractions.clear();
+    private static AssetRegistrationEvent beginRegistration(String assetType, int count) {
+        AssetRegistrationEvent event = new AssetRegistrationEvent();
+        event.assetType = assetType;
+        event.count = count;
+        event.begin();
+        return event;
+    }
+
+    private static void commitRegistration(AssetRegistrationEvent event, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.succeeded = succeeded;
+            event.commit();
+        }
     }
 
     private static Object cloneObjectShallow(Object original) throws Exception {
@@ -0,0 +1,281 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ChoiceItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.MultipleItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.SingleItemDropContainer;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+import dev.hytalemodding.config.QualityConfig;
+import dev.hytalemodding.metrics.StartupPhaseEvent;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Dry run of the variant pass: computes what {@code createVariants} and the
+ * loot rewrite are about to add — variant items, interaction clones, salvage
+ * recipe clones, drop-tree nodes, and an estimate of the heap they keep —
+ * from the eligible set, the interaction chains, the recipes and the drop
+ * lists, without cloning or changing anything.
+ *
+ * Counts follow the same rules as the real pass: one variant per mapped
+ * tier; damage interactions and their root cloned once per (ID, tier) for
+ * weapons whose tier damage multiplier is not 1; one clone per Salvage_
+ * recipe, eligible input and tier; and in the drop trees, one interned
+ * subtree per distinct drop (2 × tiers nodes; with LootRuntimeRolling only
+ * the tiers' ItemDrops) plus one choice or rolling container per distinct
+ * drop and weight.
+ *
+ * With {@code MaxVariants} / {@code MaxVariantHeapMB} set, {@link #fit}
+ * picks the base items that stay eligible: the ones that had variants on
+ * the previous start first, so the cut does not move when mods add items,
+ * then obtainable ones (dropped by a loot table or crafted by a recipe),
+ * then the rest, each in ID order, skipping any item that would push the
+ * plan over a cap. The
+ * others lose quality for this session, as if they were on the ignore list.
+ * Variants cannot be generated lazily instead, since every variant asset
+ * must be registered before the item assets are sent to clients.
+ */
+public final class VariantBudgetPlanner {
+
+    // Retained heap per unit, from VariantHeapFootprint (benchmarks module) on a
+    // 5,000-item synthetic catalog. Rough: the server's real assets carry more
+    // fields than the stand-ins, so treat the estimate as a lower bound
+    /** Variant Item clone with its scaled armor/tool/weapon parts, tier-mapper and asset map entries. */
+    static final long BYTES_PER_VARIANT = 930;
+    /** Cloned DamageEntityInteraction or RootInteraction, with its asset map entry. */
+    static final long BYTES_PER_INTERACTION_CLONE = 570;
+    /** Cloned salvage recipe with its input array and asset map entry. */
+    static final long BYTES_PER_RECIPE_CLONE = 300;
+    /** Drop container or ItemDrop added to a drop tree. */
+    static final long BYTES_PER_DROP_NODE = 75;
+
+    /** What a variant pass adds, for one eligible set. */
+    public record Plan(int eligibleItems, int variants, int interactionClones, int recipeClones,
+                       int dropReferences, int dropTreeNodes, long estimatedBytes) {
+
+        public long estimatedMB() {
+            return (estimatedBytes + (1 << 20) - 1) >> 20;
+        }
+    }
+
+    /** Cost of one base item; interaction clones are shared by ID, so they are kept as a set. */
+    private record ItemCost(String baseId, int variants, Set<String> interactionClones, int recipeClones,
+                            int dropReferences, int dropTreeNodes, boolean obtainable) {}
+
+    /** Distinct drop (base item, quantities, metadata) — one interned tier subtree each. */
+    private record DropKey(String baseItemId, int quantityMin, int quantityMax, Object metadata) {}
+
+    /** Distinct drop and outer weight — one choice (or rolling) container each. */
+    private record ChoiceKey(DropKey drop, double weight) {}
+
+    private final QualityRegistry registry;
+    private final QualityTierMapper tierMapper;
+    private final QualityConfig config;
+    private final DropTreeReflection reflection = DropTreeReflection.get();
+
+    private List<ItemCost> costs = List.of();
+
+    public VariantBudgetPlanner(@Nonnull QualityRegistry registry,
+                                @Nonnull QualityTierMapper tierMapper,
+                                @Nonnull QualityConfig config) {
+        this.registry = registry;
+        this.tierMapper = tierMapper;
+        this.config = config;
+    }
+
+    /**
+     * Plans the variant pass for the current eligible set. Call after the
+     * registry scan and {@code tierMapper.initialize()}, before
+     * {@code createVariants}.
+     */
+    @Nonnull
+    public Plan plan() {
+        StartupPhaseEvent phase = StartupPhaseEvent.start("plan");
+        costs = computeCosts();
+        Plan plan = total(costs);
+        phase.finish(plan.variants());
+        return plan;
+    }
+
+    /** True if a cap is set and the plan is over it. */
+    public boolean exceedsCaps(@Nonnull Plan plan) {
+        return overCaps(plan.variants(), plan.estimatedBytes());
+    }
+
+    /**
+     * Chooses the base items that fit the caps (see the class comment) and
+     * returns the plan for them. Call after {@link #plan()}.
+     *
+     * @param previous base item IDs that had variants on the previous start
+     *                 (empty if unknown); they are kept first
+     * @param kept     receives the base item IDs that stay eligible
+     */
+    @Nonnull
+    public Plan fit(@Nonnull Set<String> previous, @Nonnull Collection<String> kept) {
+        List<ItemCost> ordered = new ArrayList<>(costs);
+        ordered.sort(Comparator.comparing((ItemCost c) -> !previous.contains(c.baseId()))
+                .thenComparing(c -> !c.obtainable())
+                .thenComparing(ItemCost::baseId));
+
+        List<ItemCost> chosen = new ArrayList<>();
+        Set<String> interactions = new HashSet<>();
+        int variants = 0;
+        long bytes = 0;
+        for (ItemCost cost : ordered) {
+            int newInteractions = 0;
+            for (String id : cost.interactionClones()) {
+                if (!interactions.contains(id)) newInteractions++;
+            }
+            long itemBytes = bytes(cost.variants(), newInteractions, cost.recipeClones(), cost.dropTreeNodes());
+            if (overCaps(variants + cost.variants(), bytes + itemBytes)) continue;
+
+            chosen.add(cost);
+            interactions.addAll(cost.interactionClones());
+            variants += cost.variants();
+            bytes += itemBytes;
+            kept.add(cost.baseId());
+        }
+        return total(chosen);
+    }
+
+    /** One-line summary for the log and {@code /rqc plan}. */
+    @Nonnull
+    public static String summary(@Nonnull Plan plan) {
+        return plan.eligibleItems() + " eligible item(s) → " + plan.variants() + " variant(s), "
+                + plan.interactionClones() + " interaction clone(s), " + plan.recipeClones() + " recipe clone(s), "
+                + plan.dropTreeNodes() + " drop-tree node(s) for " + plan.dropReferences()
+                + " drop(s), ~" + plan.estimatedMB() + " MB";
+    }
+
+    private boolean overCaps(int variants, long bytes) {
+        int maxVariants = config.getMaxVariants();
+        int maxMB = config.getMaxVariantHeapMB();
+        return (maxVariants > 0 && variants > maxVariants)
+                || (maxMB > 0 && bytes > (long) maxMB << 20);
+    }
+
+    private static long bytes(int variants, int interactionClones, int recipeClones, int dropTreeNodes) {
+        return variants * BYTES_PER_VARIANT
+                + interactionClones * BYTES_PER_INTERACTION_CLONE
+                + recipeClones * BYTES_PER_RECIPE_CLONE
+                + dropTreeNodes * BYTES_PER_DROP_NODE;
+    }
+
+    private static Plan total(List<ItemCost> costs) {
+        Set<String> interactions = new HashSet<>();
+        int variants = 0, recipes = 0, dropReferences = 0, dropNodes = 0;
+        for (ItemCost cost : costs) {
+            variants += cost.variants();
+            interactions.addAll(cost.interactionClones());
+            recipes += cost.recipeClones();
+            dropReferences += cost.dropReferences();
+            dropNodes += cost.dropTreeNodes();
+        }
+        return new Plan(costs.size(), variants, interactions.size(), recipes, dropReferences, dropNodes,
+                bytes(variants, interactions.size(), recipes, dropNodes));
+    }
+
+    // ── Counting ──
+
+    private List<ItemCost> computeCosts() {
+        List<ItemQuality> tiers = new ArrayList<>();
+        for (ItemQuality quality : ItemQuality.values()) {
+            if (tierMapper.isTierMapped(quality)) tiers.add(quality);
+        }
+
+        Map<String, Item> itemMap = Item.getAssetMap().getAssetMap();
+        Map<String, Integer> salvageInputs = new HashMap<>();
+        Set<String> crafted = new HashSet<>();
+        countRecipes(salvageInputs, crafted);
+
+        Map<String, Integer> dropReferences = new HashMap<>();
+        Map<String, Set<DropKey>> dropKeys = new HashMap<>();
+        Map<String, Set<ChoiceKey>> choiceKeys = new HashMap<>();
+        if (config.isLootQualityEnabled()) {
+            countDrops(dropReferences, dropKeys, choiceKeys);
+        }
+        // Interned per-tier subtree: ItemDrop + SingleItemDropContainer per tier,
+        // or only the ItemDrops when the rolling container holds them directly
+        int nodesPerDropKey = config.isLootRuntimeRolling() ? tiers.size() : 2 * tiers.size();
+
+        List<ItemCost> costs = new ArrayList<>();
+        for (String baseId : registry.getEligibleItemIds()) {
+            Item baseItem = itemMap.get(baseId);
+            if (baseItem == null) continue;
+
+            Set<String> interactions = new HashSet<>();
+            for (ItemQuality quality : tiers) {
+                QualityTierMapper.collectInteractionClones(baseItem, quality, config, interactions);
+            }
+            int references = dropReferences.getOrDefault(baseId, 0);
+            int nodes = choiceKeys.getOrDefault(baseId, Set.of()).size()
+                    + dropKeys.getOrDefault(baseId, Set.of()).size() * nodesPerDropKey;
+            costs.add(new ItemCost(baseId, tiers.size(), interactions,
+                    salvageInputs.getOrDefault(baseId, 0) * tiers.size(),
+                    references, nodes, references > 0 || crafted.contains(baseId)));
+        }
+        return costs;
+    }
+
+    /** Salvage recipes per eligible input (cloned per tier), and items crafted by other recipes. */
+    private void countRecipes(Map<String, Integer> salvageInputs, Set<String> crafted) {
+        for (CraftingRecipe recipe : CraftingRecipe.getAssetMap().getAssetMap().values()) {
+            String recipeId = recipe.getId();
+            if (recipeId == null) continue;
+            if (recipeId.startsWith("Salvage_")) {
+                if (recipe.getInput() == null) continue;
+                for (MaterialQuantity input : recipe.getInput()) {
+                    String itemId = input.getItemId();
+                    if (itemId != null && registry.isEligible(itemId)) salvageInputs.merge(itemId, 1, Integer::sum);
+                }
+            } else if (recipe.getPrimaryOutput() != null && recipe.getPrimaryOutput().getItemId() != null) {
+                crafted.add(recipe.getPrimaryOutput().getItemId());
+            }
+        }
+    }
+
+    /** Eligible single drops in every drop tree, each distinct node once (as LootDropModifier walks them). */
+    private void countDrops(Map<String, Integer> references, Map<String, Set<DropKey>> dropKeys,
+                            Map<String, Set<ChoiceKey>> choiceKeys) {
+        Set<ItemDropContainer> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<ItemDropContainer> stack = new ArrayDeque<>();
+        for (ItemDropList list : ItemDropList.getAssetMap().getAssetMap().values()) {
+            if (list != null && list.getContainer() != null) stack.push(list.getContainer());
+        }
+
+        while (!stack.isEmpty()) {
+            ItemDropContainer node = stack.pop();
+            if (!seen.add(node)) continue;
+
+            if (node instanceof SingleItemDropContainer single) {
+                // Already rewritten (asset reload): nothing new
+                if (single instanceof QualityRollingDropContainer) continue;
+                ItemDrop drop = single.getDrop();
+                if (drop == null || drop.getItemId() == null) continue;
+                String itemId = drop.getItemId();
+                if (tierMapper.isVariant(itemId) || !registry.isEligible(itemId)) continue;
+
+                DropKey key = new DropKey(itemId, drop.getQuantityMin(), drop.getQuantityMax(), drop.getMetadata());
+                references.merge(itemId, 1, Integer::sum);
+                dropKeys.computeIfAbsent(itemId, k -> new HashSet<>()).add(key);
+                choiceKeys.computeIfAbsent(itemId, k -> new HashSet<>()).add(new ChoiceKey(key, single.getWeight()));
+            } else if (node instanceof MultipleItemDropContainer multiple) {
+                push(stack, reflection.multipleChildren(multiple));
+            } else if (node instanceof ChoiceItemDropContainer choice) {
+                push(stack, reflection.choiceChildren(choice));
+            }
+        }
+    }
+
+    private static void push(Deque<ItemDropContainer> stack, ItemDropContainer[] children) {
+        if (children == null) return;
+        for (ItemDropContainer child : children) {
+            if (child != null) stack.push(child);
+        }
+    }
+}
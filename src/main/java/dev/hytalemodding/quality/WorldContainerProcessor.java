@@ -0,0 +1,128 @@
+package dev.hytalemodding.quality;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.event.events.ecs.UseBlockEvent;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.meta.state.ItemContainerState;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import dev.hytalemodding.config.QualityConfig;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Processes block containers (chests, barrels, ...) when they are opened:
+ * v1.x items are migrated and eligible base items get a quality roll,
+ * exactly as if a player had moved them into an inventory.
+ *
+ * {@link QualityAssigner} and QualityMigration only see entity inventories,
+ * so without this, world containers keep v1.x and unrolled base items until
+ * someone moves them. Doing the work on open (UseBlockEvent.Pre, before the
+ * container UI is sent) spreads the cost over normal play instead of piling
+ * it onto item moves.
+ *
+ * No marker is written to the container: the server API has no place for
+ * plugin data on a block container. Across restarts the contents are the
+ * marker — a processed container holds no v1.x or unrolled eligible base
+ * item, so the first open of a session only checks each slot's ID. Within
+ * a session, processed positions are remembered per world and later opens
+ * cost one set lookup, even if a stack kept its base ID (failed write).
+ * Block types without a container state are remembered too, so doors and
+ * crafting benches cost one map lookup instead of a block state lookup.
+ *
+ * Enabled by {@code WorldContainerQuality} in config.json (off by default).
+ */
+public final class WorldContainerProcessor
+        extends EntityEventSystem<EntityStore, UseBlockEvent.Pre> {
+
+    private final QualityConfig config;
+    private final QualityAssigner assigner;
+    private final QualityTierMapper tierMapper;
+
+    private final LongAdder containersProcessed = new LongAdder();
+
+    /** Block type → has a container state. Weak keys: a reload replaces the block types. */
+    private final Map<Object, Boolean> containerBlockTypes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Positions processed this session, per world (each set only touched by its world's thread). */
+    private final Map<World, LongSet> processedPositions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public WorldContainerProcessor(@Nonnull QualityConfig config,
+                                   @Nonnull QualityAssigner assigner,
+                                   @Nonnull QualityTierMapper tierMapper) {
+        super(UseBlockEvent.Pre.class);
+        this.config = config;
+        this.assigner = assigner;
+        this.tierMapper = tierMapper;
+    }
+
+    @Override
+    public void onSystemRegistered() {
+        // System registered in ECS
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Query.any();
+    }
+
+    @Override
+    public void handle(int index,
+                       @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+                       @Nonnull Store<EntityStore> store,
+                       @Nonnull CommandBuffer<EntityStore> commandBuffer,
+                       @Nonnull UseBlockEvent.Pre event) {
+        // Before the variant pass nothing can be migrated or rolled to a variant
+        if (!config.isWorldContainerQuality() || !tierMapper.isVariantsReady()) return;
+
+        try {
+            Vector3i pos = event.getTargetBlock();
+            if (pos == null) return;
+
+            // Doors, benches, ...: no block state lookup once the type is known
+            Object blockType = event.getBlockType();
+            if (blockType != null && Boolean.FALSE.equals(containerBlockTypes.get(blockType))) return;
+
+            World world = store.getExternalData().getWorld();
+            if (world == null) return;
+
+            LongSet processed = processedPositions.computeIfAbsent(world, w -> new LongOpenHashSet());
+            long key = pack(pos.getX(), pos.getY(), pos.getZ());
+            if (processed.contains(key)) return;
+
+            Object state = world.getState(pos.getX(), pos.getY(), pos.getZ(), true);
+            boolean isContainer = state instanceof ItemContainerState;
+            if (blockType != null) containerBlockTypes.put(blockType, isContainer);
+            if (!isContainer) return;
+
+            ItemContainer container = ((ItemContainerState) state).getItemContainer();
+            if (container == null) return;
+
+            if (assigner.hasUnprocessedItems(container)) {
+                assigner.scanContainerForUnqualifiedItems(container);
+                containersProcessed.increment();
+            }
+            processed.add(key);
+        } catch (Exception ignored) {
+            // Block state unavailable — try again on the next open
+        }
+    }
+
+    /** Block position as one long (26 bits x, 26 bits z, 12 bits y). */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public long getContainersProcessed() { return containersProcessed.sum(); }
+}
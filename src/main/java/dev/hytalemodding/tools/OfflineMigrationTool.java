@@ -0,0 +1,290 @@
+package dev.hytalemodding.tools;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import dev.hytalemodding.migration.VariantCatalog;
+import dev.hytalemodding.quality.ItemQuality;
+import dev.hytalemodding.quality.LegacyIdTable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Offline v1.x → v2.0 migration of a world save's player data files.
+ *
+ * Applies the same rules as {@code QualityMigration} (suffix → quality tier,
+ * eligible base only, durability ratio preserved) to every player file, so
+ * players who never log in again are migrated too and the live server does
+ * not pay for it at join time. Run it during a maintenance window, with the
+ * server stopped:
+ * <pre>
+ *   java -cp RomnasQualityCrafting.jar:HytaleServer.jar \
+ *        dev.hytalemodding.tools.OfflineMigrationTool &lt;save dir&gt; [--catalog &lt;file&gt;] [--dry-run]
+ * </pre>
+ *
+ * The catalog is the {@code variant-catalog.tsv} the plugin writes to its
+ * data directory at startup (start the server once with the plugin first).
+ * Every JSON file under a {@code players} directory of the save is streamed,
+ * rewritten on a virtual thread and atomically replaced (temp file + rename);
+ * unchanged files are never rewritten. A summary is printed at the end.
+ */
+public final class OfflineMigrationTool {
+
+    private static final String LOG_PREFIX = "[RQC] OfflineMigration: ";
+
+    /** Upper bound on files open at once (virtual threads are cheap, file handles are not). */
+    private static final int MAX_OPEN_FILES = 64;
+
+    private final VariantCatalog catalog;
+    private final LegacyIdTable legacyIds;
+    private final boolean dryRun;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    // ── Report ──
+    private final AtomicInteger filesScanned = new AtomicInteger();
+    private final AtomicInteger filesChanged = new AtomicInteger();
+    private final AtomicInteger filesFailed = new AtomicInteger();
+    private final AtomicLong itemsMigrated = new AtomicLong();
+    private final Map<ItemQuality, LongAdder> migratedByTier = new ConcurrentHashMap<>();
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+    OfflineMigrationTool(VariantCatalog catalog, boolean dryRun) {
+        this.catalog = catalog;
+        this.legacyIds = LegacyIdTable.build(catalog.getEligibleBases(), ItemQuality::qualityItemId);
+        this.dryRun = dryRun;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path saveDir = null;
+        Path catalogFile = null;
+        boolean dryRun = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--catalog" -> catalogFile = Path.of(args[++i]);
+                case "--dry-run" -> dryRun = true;
+                default -> saveDir = Path.of(args[i]);
+            }
+        }
+
+        if (saveDir == null || !Files.isDirectory(saveDir)) {
+            System.out.println("Usage: OfflineMigrationTool <save dir> [--catalog <variant-catalog.tsv>] [--dry-run]");
+            System.exit(2);
+            return;
+        }
+        if (catalogFile == null) {
+            catalogFile = findCatalog(saveDir);
+        }
+        if (catalogFile == null || !Files.isRegularFile(catalogFile)) {
+            System.out.println(LOG_PREFIX + "ERROR: " + VariantCatalog.FILE_NAME + " not found — start the server "
+                    + "once with the plugin installed, or pass --catalog <file>.");
+            System.exit(2);
+            return;
+        }
+
+        VariantCatalog catalog = VariantCatalog.read(catalogFile);
+        System.out.println(LOG_PREFIX + "Catalog: " + catalog.getEligibleCount() + " eligible item(s), "
+                + catalog.getVariantCount() + " variant(s)" + (dryRun ? " — DRY RUN, no file is written" : ""));
+
+        OfflineMigrationTool tool = new OfflineMigrationTool(catalog, dryRun);
+        tool.run(findPlayerFiles(saveDir));
+        System.exit(tool.filesFailed.get() > 0 ? 1 : 0);
+    }
+
+    // ── Run ──
+
+    void run(List<Path> files) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        Semaphore openFiles = new Semaphore(MAX_OPEN_FILES);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                executor.submit(() -> {
+                    openFiles.acquireUninterruptibly();
+                    try {
+                        migrateFile(file);
+                    } finally {
+                        openFiles.release();
+                    }
+                });
+            }
+        }
+
+        printReport(System.currentTimeMillis() - startTime);
+    }
+
+    private void migrateFile(Path file) {
+        filesScanned.incrementAndGet();
+        try {
+            JsonElement root;
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                root = JsonParser.parseReader(in);
+            }
+
+            int migrated = migrateTree(root);
+            if (migrated == 0) return;
+
+            itemsMigrated.addAndGet(migrated);
+            filesChanged.incrementAndGet();
+            if (!dryRun) writeAtomically(file, root);
+        } catch (Exception e) {
+            filesFailed.incrementAndGet();
+            failures.add(file + ": " + e.getClass().getSimpleName() + " - " + e.getMessage());
+        }
+    }
+
+    /** Walks the whole document and migrates every item stack object found. */
+    private int migrateTree(JsonElement root) {
+        int migrated = 0;
+        List<JsonElement> stack = new ArrayList<>();
+        stack.add(root);
+
+        while (!stack.isEmpty()) {
+            JsonElement element = stack.remove(stack.size() - 1);
+            if (element instanceof JsonObject obj) {
+                if (migrateItemStack(obj)) migrated++;
+                for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+                    JsonElement child = entry.getValue();
+                    if (child.isJsonObject() || child.isJsonArray()) stack.add(child);
+                }
+            } else if (element instanceof JsonArray array) {
+                for (JsonElement child : array) {
+                    if (child.isJsonObject() || child.isJsonArray()) stack.add(child);
+                }
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Migrates one serialized ItemStack ({"Id": ..., "Durability": ..., "MaxDurability": ...}).
+     * Same checks as QualityMigration.migrateSlot.
+     */
+    private boolean migrateItemStack(JsonObject item) {
+        JsonElement idElement = item.get("Id");
+        if (idElement == null || !idElement.isJsonPrimitive() || !idElement.getAsJsonPrimitive().isString()) {
+            return false;
+        }
+        String itemId = idElement.getAsString();
+
+        // Skip items that are already proper quality variants
+        if (catalog.isVariant(itemId)) return false;
+
+        // v1.x suffixed ID of an eligible item (e.g. "Weapon_Sword_Copper_Legendary")
+        String targetId = legacyIds.getTarget(itemId);
+        if (targetId == null) return false;
+        ItemQuality quality = legacyIds.getQuality(itemId);
+
+        item.addProperty("Id", targetId);
+        preserveDurability(item, catalog.getMaxDurability(targetId));
+
+        if (quality != null) {
+            migratedByTier.computeIfAbsent(quality, q -> new LongAdder()).increment();
+        }
+        return true;
+    }
+
+    /** Same durability-ratio rule as QualityMigration.preserveDurability. */
+    private static void preserveDurability(JsonObject item, double targetMax) {
+        if (targetMax <= 0) return;
+
+        double srcDurability = number(item, "Durability");
+        double srcMax = number(item, "MaxDurability");
+
+        if (srcMax > 0 && srcDurability > 0) {
+            double ratio = srcDurability / srcMax;
+            item.add("MaxDurability", new JsonPrimitive(targetMax));
+            item.add("Durability", new JsonPrimitive(targetMax * ratio));
+        } else {
+            item.add("MaxDurability", new JsonPrimitive(targetMax));
+            item.add("Durability", new JsonPrimitive(targetMax));
+        }
+    }
+
+    private static double number(JsonObject obj, String key) {
+        JsonElement e = obj.get(key);
+        if (e == null || !e.isJsonPrimitive() || !e.getAsJsonPrimitive().isNumber()) return 0;
+        return e.getAsDouble();
+    }
+
+    private void writeAtomically(Path file, JsonElement root) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".rqc.tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            gson.toJson(root, out);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ── File discovery ──
+
+    /** All *.json files below any directory named "players". */
+    static List<Path> findPlayerFiles(Path saveDir) throws IOException {
+        try (Stream<Path> paths = Files.walk(saveDir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .filter(OfflineMigrationTool::isUnderPlayersDir)
+                    .toList();
+        }
+    }
+
+    private static boolean isUnderPlayersDir(Path file) {
+        for (Path p = file.getParent(); p != null; p = p.getParent()) {
+            if (p.getFileName() != null && p.getFileName().toString().equalsIgnoreCase("players")) return true;
+        }
+        return false;
+    }
+
+    /** Looks for the catalog the plugin wrote in mods/&lt;plugin&gt;/ of the save. */
+    private static Path findCatalog(Path saveDir) throws IOException {
+        try (Stream<Path> paths = Files.walk(saveDir, 4)) {
+            return paths.filter(p -> p.getFileName().toString().equals(VariantCatalog.FILE_NAME))
+                    .findFirst().orElse(null);
+        }
+    }
+
+    // ── Report ──
+
+    private void printReport(long elapsed) {
+        System.out.println(LOG_PREFIX + (dryRun ? "Dry run" : "Done") + " in " + elapsed + "ms");
+        System.out.println("  Files scanned : " + filesScanned.get());
+        System.out.println("  Files changed : " + filesChanged.get() + (dryRun ? " (not written)" : ""));
+        System.out.println("  Files failed  : " + filesFailed.get());
+        System.out.println("  Items migrated: " + itemsMigrated.get());
+        for (ItemQuality q : ItemQuality.values()) {
+            LongAdder count = migratedByTier.get(q);
+            if (count != null) {
+                System.out.println("    " + q.getDisplayName() + ": " + count.sum());
+            }
+        }
+        for (String failure : failures) {
+            System.out.println("  FAILED " + failure);
+        }
+    }
+}
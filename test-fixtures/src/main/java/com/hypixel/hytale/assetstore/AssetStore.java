@@ -0,0 +1,46 @@
+package com.hypixel.hytale.assetstore;
+
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stand-in for the server's AssetStore. {@link #loadAssets} registers every
+ * asset in the backing map under its key; there is no pack tracking, event
+ * dispatch or client sync.
+ */
+public class AssetStore<K, T> {
+
+    private final DefaultAssetMap<K, T> assetMap;
+    private final Function<T, K> keyFunction;
+    private int loadCalls;
+
+    public AssetStore(DefaultAssetMap<K, T> assetMap, Function<T, K> keyFunction) {
+        this.assetMap = assetMap;
+        this.keyFunction = keyFunction;
+    }
+
+    public DefaultAssetMap<K, T> getAssetMap() {
+        return assetMap;
+    }
+
+    public void loadAssets(String packKey, List<T> assets) {
+        loadCalls++;
+        for (T asset : assets) {
+            assetMap.putAsset(keyFunction.apply(asset), asset);
+        }
+    }
+
+    // ── Fixture-only ──
+
+    /** Number of loadAssets calls since the last {@link #reset()}. */
+    public int getLoadCalls() {
+        return loadCalls;
+    }
+
+    public void reset() {
+        assetMap.clear();
+        loadCalls = 0;
+    }
+}
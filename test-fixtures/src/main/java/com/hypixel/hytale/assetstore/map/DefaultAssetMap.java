@@ -0,0 +1,39 @@
+package com.hypixel.hytale.assetstore.map;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stand-in for the server's DefaultAssetMap.
+ *
+ * Keeps the same shape the plugin relies on: a protected mutable
+ * {@code assetMap} field (written to reflectively when variants are injected)
+ * and an unmodifiable {@link #getAssetMap()} view.
+ */
+public class DefaultAssetMap<K, T> {
+
+    protected final Map<K, T> assetMap = new HashMap<>();
+
+    public T getAsset(K key) {
+        return assetMap.get(key);
+    }
+
+    public Map<K, T> getAssetMap() {
+        return Collections.unmodifiableMap(assetMap);
+    }
+
+    public int getAssetCount() {
+        return assetMap.size();
+    }
+
+    // ── Fixture-only ──
+
+    public void putAsset(K key, T asset) {
+        assetMap.put(key, asset);
+    }
+
+    public void clear() {
+        assetMap.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package com.hypixel.hytale.assetstore.map;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Stand-in for the server's IndexedLookupTableAssetMap: a
+ * {@link DefaultAssetMap} that hands out a stable int index per key, in
+ * insertion order.
+ */
+public class IndexedLookupTableAssetMap<K, T> extends DefaultAssetMap<K, T> {
+
+    private final Object2IntOpenHashMap<Object> indices = new Object2IntOpenHashMap<>();
+
+    public IndexedLookupTableAssetMap() {
+        indices.defaultReturnValue(-1);
+    }
+
+    public int getIndex(Object key) {
+        return indices.getInt(key);
+    }
+
+    @Override
+    public void putAsset(K key, T asset) {
+        super.putAsset(key, asset);
+        if (!indices.containsKey(key)) indices.put(key, indices.size());
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        indices.clear();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hypixel.hytale.codec;
+
+/**
+ * Stand-in for the server's Codec: only the value type is kept, nothing is
+ * encoded or decoded.
+ */
+public interface Codec<T> {
+
+    Codec<Integer> INTEGER = () -> Integer.class;
+    Codec<Double> DOUBLE = () -> Double.class;
+    Codec<Boolean> BOOLEAN = () -> Boolean.class;
+    Codec<String> STRING = () -> String.class;
+    Codec<String[]> STRING_ARRAY = () -> String[].class;
+
+    Class<?> getValueType();
+}
@@ -0,0 +1,18 @@
+package com.hypixel.hytale.codec;
+
+/**
+ * Stand-in for the server's KeyedCodec (a codec bound to a JSON key).
+ */
+public class KeyedCodec<T> {
+
+    private final String key;
+    private final Codec<T> childCodec;
+
+    public KeyedCodec(String key, Codec<T> childCodec) {
+        this.key = key;
+        this.childCodec = childCodec;
+    }
+
+    public String getKey() { return key; }
+    public Codec<T> getChildCodec() { return childCodec; }
+}
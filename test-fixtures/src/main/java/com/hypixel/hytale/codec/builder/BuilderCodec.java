@@ -0,0 +1,70 @@
+package com.hypixel.hytale.codec.builder;
+
+import com.hypixel.hytale.codec.KeyedCodec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stand-in for the server's BuilderCodec. Records the declared keys so
+ * config classes can be loaded offline; no serialization is done.
+ */
+public class BuilderCodec<T> {
+
+    private final Supplier<T> constructor;
+    private final List<String> keys;
+
+    private BuilderCodec(Supplier<T> constructor, List<String> keys) {
+        this.constructor = constructor;
+        this.keys = Collections.unmodifiableList(keys);
+    }
+
+    public static <T> Builder<T> builder(Class<T> type, Supplier<T> constructor) {
+        return new Builder<>(constructor);
+    }
+
+    /** A new instance with every field at its default. */
+    public T getDefaultValue() {
+        return constructor.get();
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public static class Builder<T> {
+        private final Supplier<T> constructor;
+        private final List<String> keys = new ArrayList<>();
+
+        private Builder(Supplier<T> constructor) {
+            this.constructor = constructor;
+        }
+
+        public <F> FieldBuilder<T, F> append(KeyedCodec<F> codec, BiConsumer<T, F> setter, Function<T, F> getter) {
+            return new FieldBuilder<>(this, codec.getKey());
+        }
+
+        public BuilderCodec<T> build() {
+            return new BuilderCodec<>(constructor, keys);
+        }
+    }
+
+    public static class FieldBuilder<T, F> {
+        private final Builder<T> parent;
+        private final String key;
+
+        private FieldBuilder(Builder<T> parent, String key) {
+            this.parent = parent;
+            this.key = key;
+        }
+
+        public Builder<T> add() {
+            parent.keys.add(key);
+            return parent;
+        }
+    }
+}
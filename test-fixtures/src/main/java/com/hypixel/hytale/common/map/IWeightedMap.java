@@ -0,0 +1,16 @@
+package com.hypixel.hytale.common.map;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's immutable weighted map.
+ */
+public interface IWeightedMap<T> {
+
+    T[] internalKeys();
+
+    double getTotalWeight();
+
+    /** Picks a key with probability proportional to its weight (null if empty). */
+    T get(DoubleSupplier random);
+}
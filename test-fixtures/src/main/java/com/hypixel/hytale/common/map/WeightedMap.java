@@ -0,0 +1,74 @@
+package com.hypixel.hytale.common.map;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's WeightedMap: immutable, built through
+ * {@link #builder(Object[])} (the plugin calls the builder reflectively).
+ */
+public final class WeightedMap<T> implements IWeightedMap<T> {
+
+    private final T[] keys;
+    private final double[] cumulative;
+
+    private WeightedMap(T[] keys, double[] cumulative) {
+        this.keys = keys;
+        this.cumulative = cumulative;
+    }
+
+    public static <T> Builder<T> builder(T[] emptyArray) {
+        return new Builder<>(emptyArray);
+    }
+
+    @Override
+    public T[] internalKeys() {
+        return keys;
+    }
+
+    @Override
+    public double getTotalWeight() {
+        return cumulative.length == 0 ? 0 : cumulative[cumulative.length - 1];
+    }
+
+    @Override
+    public T get(DoubleSupplier random) {
+        if (keys.length == 0) return null;
+        double target = random.getAsDouble() * getTotalWeight();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (target < cumulative[i]) return keys[i];
+        }
+        return keys[keys.length - 1];
+    }
+
+    public static final class Builder<T> {
+        private T[] keys;
+        private double[] weights = new double[8];
+        private int size;
+
+        private Builder(T[] emptyArray) {
+            this.keys = Arrays.copyOf(emptyArray, 8);
+        }
+
+        public Builder<T> put(T key, double weight) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            keys[size] = key;
+            weights[size] = weight;
+            size++;
+            return this;
+        }
+
+        public WeightedMap<T> build() {
+            double[] cumulative = new double[size];
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+            return new WeightedMap<>(Arrays.copyOf(keys, size), cumulative);
+        }
+    }
+}
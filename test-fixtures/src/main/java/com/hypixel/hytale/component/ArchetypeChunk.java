@@ -0,0 +1,7 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Stand-in for the ECS ArchetypeChunk (no components).
+ */
+public class ArchetypeChunk<ECS_TYPE> {
+}
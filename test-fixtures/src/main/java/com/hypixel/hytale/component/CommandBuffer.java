@@ -0,0 +1,7 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Stand-in for the ECS CommandBuffer (no deferred commands).
+ */
+public class CommandBuffer<ECS_TYPE> {
+}
@@ -0,0 +1,7 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Stand-in for the ECS Store (no entities; only here so systems load).
+ */
+public class Store<ECS_TYPE> {
+}
@@ -0,0 +1,16 @@
+package com.hypixel.hytale.component.query;
+
+/**
+ * Stand-in for the ECS Query.
+ */
+public final class Query<ECS_TYPE> {
+
+    private static final Query<?> ANY = new Query<>();
+
+    private Query() {}
+
+    @SuppressWarnings("unchecked")
+    public static <ECS_TYPE> Query<ECS_TYPE> any() {
+        return (Query<ECS_TYPE>) ANY;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hypixel.hytale.component.system;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+
+/**
+ * Stand-in for the ECS EntityEventSystem. Fixtures call {@link #handle}
+ * directly with an event instead of dispatching through a store.
+ */
+public abstract class EntityEventSystem<ECS_TYPE, EventType> {
+
+    private final Class<EventType> eventType;
+
+    protected EntityEventSystem(Class<EventType> eventType) {
+        this.eventType = eventType;
+    }
+
+    public Class<EventType> getEventType() {
+        return eventType;
+    }
+
+    public void onSystemRegistered() {}
+
+    public abstract Query<ECS_TYPE> getQuery();
+
+    public abstract void handle(int index,
+                                ArchetypeChunk<ECS_TYPE> archetypeChunk,
+                                Store<ECS_TYPE> store,
+                                CommandBuffer<ECS_TYPE> commandBuffer,
+                                EventType event);
+}
@@ -0,0 +1,51 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import com.hypixel.hytale.assetstore.AssetStore;
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+
+/**
+ * Stand-in for the server's CraftingRecipe asset (inputs, primary output and
+ * the full output list; bench requirements are not modelled).
+ */
+public class CraftingRecipe {
+
+    private static final DefaultAssetMap<String, CraftingRecipe> ASSET_MAP = new DefaultAssetMap<>();
+    private static final AssetStore<String, CraftingRecipe> ASSET_STORE = new AssetStore<>(ASSET_MAP, CraftingRecipe::getId);
+
+    private String id;
+    private MaterialQuantity[] input;
+    private MaterialQuantity primaryOutput;
+    private MaterialQuantity[] outputs;
+
+    protected CraftingRecipe() {}
+
+    public CraftingRecipe(CraftingRecipe other) {
+        this.id = other.id;
+        this.input = other.input;
+        this.primaryOutput = other.primaryOutput;
+        this.outputs = other.outputs;
+    }
+
+    public static DefaultAssetMap<String, CraftingRecipe> getAssetMap() {
+        return ASSET_MAP;
+    }
+
+    public static AssetStore<String, CraftingRecipe> getAssetStore() {
+        return ASSET_STORE;
+    }
+
+    public String getId() { return id; }
+    public MaterialQuantity[] getInput() { return input; }
+    public MaterialQuantity getPrimaryOutput() { return primaryOutput; }
+    public MaterialQuantity[] getOutputs() { return outputs; }
+
+    // ── Fixture-only ──
+
+    public CraftingRecipe(String id, MaterialQuantity[] input, MaterialQuantity[] outputs) {
+        this.id = id;
+        this.input = input;
+        this.outputs = outputs;
+        this.primaryOutput = outputs.length > 0 ? outputs[0] : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import com.hypixel.hytale.assetstore.AssetStore;
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+
+import java.util.Map;
+
+/**
+ * Stand-in for the server's Item asset.
+ *
+ * Field names match the real class, because the plugin reads and writes them
+ * reflectively when it clones variants. Like the real copy constructor,
+ * {@link #Item(Item)} does not copy {@code maxDurability} and
+ * {@code durabilityLossOnHit}.
+ */
+public class Item {
+
+    private static final DefaultAssetMap<String, Item> ASSET_MAP = new DefaultAssetMap<>();
+    private static final AssetStore<String, Item> ASSET_STORE = new AssetStore<>(ASSET_MAP, Item::getId);
+
+    public static final Item UNKNOWN = new Item("Unknown");
+
+    private String id;
+    private int qualityIndex;
+    private String qualityId;
+    private double maxDurability;
+    private double durabilityLossOnHit;
+    private ItemWeapon weapon;
+    private ItemArmor armor;
+    private ItemTool tool;
+    private Object blockSelectorToolData;
+    private Map<String, String> interactionVars;
+    private ItemEntityConfig itemEntityConfig;
+    private Object cachedPacket;
+
+    protected Item() {}
+
+    public Item(Item other) {
+        this.id = other.id;
+        this.qualityIndex = other.qualityIndex;
+        this.qualityId = other.qualityId;
+        this.weapon = other.weapon;
+        this.armor = other.armor;
+        this.tool = other.tool;
+        this.blockSelectorToolData = other.blockSelectorToolData;
+        this.interactionVars = other.interactionVars;
+        this.itemEntityConfig = other.itemEntityConfig;
+    }
+
+    public static DefaultAssetMap<String, Item> getAssetMap() {
+        return ASSET_MAP;
+    }
+
+    public static AssetStore<String, Item> getAssetStore() {
+        return ASSET_STORE;
+    }
+
+    public String getId() { return id; }
+    public int getQualityIndex() { return qualityIndex; }
+    public String getQualityId() { return qualityId; }
+    public double getMaxDurability() { return maxDurability; }
+    public double getDurabilityLossOnHit() { return durabilityLossOnHit; }
+    public ItemWeapon getWeapon() { return weapon; }
+    public ItemArmor getArmor() { return armor; }
+    public ItemTool getTool() { return tool; }
+    public Object getBlockSelectorToolData() { return blockSelectorToolData; }
+    public Map<String, String> getInteractionVars() { return interactionVars; }
+    public ItemEntityConfig getItemEntityConfig() { return itemEntityConfig; }
+
+    /** Builds (and caches) the network packet; here, just a marker object. */
+    public Object toPacket() {
+        if (cachedPacket == null) cachedPacket = new Object();
+        return cachedPacket;
+    }
+
+    // ── Fixture-only ──
+
+    public Item(String id) {
+        this.id = id;
+    }
+
+    public Item setMaxDurability(double maxDurability) { this.maxDurability = maxDurability; return this; }
+    public Item setWeapon(ItemWeapon weapon) { this.weapon = weapon; return this; }
+    public Item setArmor(ItemArmor armor) { this.armor = armor; return this; }
+    public Item setTool(ItemTool tool) { this.tool = tool; return this; }
+    public Item setInteractionVars(Map<String, String> vars) { this.interactionVars = vars; return this; }
+    public Item setItemEntityConfig(ItemEntityConfig config) { this.itemEntityConfig = config; return this; }
+}
@@ -0,0 +1,31 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import com.hypixel.hytale.server.core.modules.entitystats.modifier.StaticModifier;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+
+import java.util.Map;
+
+/**
+ * Stand-in for the server's ItemArmor. Damage causes are plain strings here.
+ */
+public class ItemArmor {
+
+    private double baseDamageResistance;
+    private Map<String, StaticModifier[]> damageResistanceValues;
+    private Int2ObjectMap<StaticModifier[]> statModifiers;
+    private Map<String, Float> knockbackResistances;
+
+    public ItemArmor() {}
+
+    public ItemArmor(double baseDamageResistance,
+                     Map<String, StaticModifier[]> damageResistanceValues,
+                     Int2ObjectMap<StaticModifier[]> statModifiers,
+                     Map<String, Float> knockbackResistances) {
+        this.baseDamageResistance = baseDamageResistance;
+        this.damageResistanceValues = damageResistanceValues;
+        this.statModifiers = statModifiers;
+        this.knockbackResistances = knockbackResistances;
+    }
+
+    public double getBaseDamageResistance() { return baseDamageResistance; }
+}
@@ -0,0 +1,28 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import org.bson.BsonDocument;
+
+/**
+ * Stand-in for the server's ItemDrop (one item and its quantity range).
+ */
+public class ItemDrop {
+
+    private String itemId;
+    private BsonDocument metadata;
+    private int quantityMin;
+    private int quantityMax;
+
+    protected ItemDrop() {}
+
+    public ItemDrop(String itemId, BsonDocument metadata, int quantityMin, int quantityMax) {
+        this.itemId = itemId;
+        this.metadata = metadata;
+        this.quantityMin = quantityMin;
+        this.quantityMax = quantityMax;
+    }
+
+    public String getItemId() { return itemId; }
+    public BsonDocument getMetadata() { return metadata; }
+    public int getQuantityMin() { return quantityMin; }
+    public int getQuantityMax() { return quantityMax; }
+}
@@ -0,0 +1,36 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import com.hypixel.hytale.assetstore.AssetStore;
+import com.hypixel.hytale.assetstore.map.DefaultAssetMap;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ItemDropContainer;
+
+/**
+ * Stand-in for the server's ItemDropList asset: an ID and the root of a drop
+ * container tree (the plugin swaps {@code container} reflectively).
+ */
+public class ItemDropList {
+
+    private static final DefaultAssetMap<String, ItemDropList> ASSET_MAP = new DefaultAssetMap<>();
+    private static final AssetStore<String, ItemDropList> ASSET_STORE = new AssetStore<>(ASSET_MAP, ItemDropList::getId);
+
+    private String id;
+    private ItemDropContainer container;
+
+    protected ItemDropList() {}
+
+    public ItemDropList(String id, ItemDropContainer container) {
+        this.id = id;
+        this.container = container;
+    }
+
+    public static DefaultAssetMap<String, ItemDropList> getAssetMap() {
+        return ASSET_MAP;
+    }
+
+    public static AssetStore<String, ItemDropList> getAssetStore() {
+        return ASSET_STORE;
+    }
+
+    public String getId() { return id; }
+    public ItemDropContainer getContainer() { return container; }
+}
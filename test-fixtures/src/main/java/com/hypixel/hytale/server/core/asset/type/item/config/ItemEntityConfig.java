@@ -0,0 +1,21 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+/**
+ * Stand-in for the server's ItemEntityConfig (dropped-item settings; only the
+ * particle fields the plugin rewrites).
+ */
+public class ItemEntityConfig {
+
+    private String particleSystemId;
+    private boolean showItemParticles;
+
+    public ItemEntityConfig() {}
+
+    public ItemEntityConfig(String particleSystemId, boolean showItemParticles) {
+        this.particleSystemId = particleSystemId;
+        this.showItemParticles = showItemParticles;
+    }
+
+    public String getParticleSystemId() { return particleSystemId; }
+    public boolean isShowItemParticles() { return showItemParticles; }
+}
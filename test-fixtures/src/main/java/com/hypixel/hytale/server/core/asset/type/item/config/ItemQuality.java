@@ -0,0 +1,28 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import com.hypixel.hytale.assetstore.map.IndexedLookupTableAssetMap;
+
+/**
+ * Stand-in for the server's ItemQuality asset (rarity tier).
+ */
+public class ItemQuality {
+
+    private static final IndexedLookupTableAssetMap<String, ItemQuality> ASSET_MAP = new IndexedLookupTableAssetMap<>();
+
+    private String id;
+    private ItemEntityConfig itemEntityConfig;
+
+    protected ItemQuality() {}
+
+    public ItemQuality(String id, ItemEntityConfig itemEntityConfig) {
+        this.id = id;
+        this.itemEntityConfig = itemEntityConfig;
+    }
+
+    public static IndexedLookupTableAssetMap<String, ItemQuality> getAssetMap() {
+        return ASSET_MAP;
+    }
+
+    public String getId() { return id; }
+    public ItemEntityConfig getItemEntityConfig() { return itemEntityConfig; }
+}
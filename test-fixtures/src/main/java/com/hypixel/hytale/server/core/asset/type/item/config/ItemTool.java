@@ -0,0 +1,20 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+/**
+ * Stand-in for the server's ItemTool.
+ */
+public class ItemTool {
+
+    private float speed;
+    private ItemToolSpec[] specs;
+
+    public ItemTool() {}
+
+    public ItemTool(float speed, ItemToolSpec[] specs) {
+        this.speed = speed;
+        this.specs = specs;
+    }
+
+    public float getSpeed() { return speed; }
+    public ItemToolSpec[] getSpecs() { return specs; }
+}
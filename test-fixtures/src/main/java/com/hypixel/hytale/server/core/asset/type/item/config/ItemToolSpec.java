@@ -0,0 +1,21 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+/**
+ * Stand-in for the server's ItemToolSpec (one gather type and its power).
+ */
+public class ItemToolSpec {
+
+    private String gatherType;
+    private float power;
+    private Object cachedPacket;
+
+    public ItemToolSpec() {}
+
+    public ItemToolSpec(String gatherType, float power) {
+        this.gatherType = gatherType;
+        this.power = power;
+    }
+
+    public String getGatherType() { return gatherType; }
+    public float getPower() { return power; }
+}
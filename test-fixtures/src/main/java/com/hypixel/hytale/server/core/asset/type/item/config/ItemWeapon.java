@@ -0,0 +1,25 @@
+package com.hypixel.hytale.server.core.asset.type.item.config;
+
+import com.hypixel.hytale.server.core.modules.entitystats.modifier.StaticModifier;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+
+import java.util.Map;
+
+/**
+ * Stand-in for the server's ItemWeapon (signature energy modifiers only;
+ * weapon damage lives in the interaction chain).
+ */
+public class ItemWeapon {
+
+    private Int2ObjectMap<StaticModifier[]> statModifiers;
+    private Map<String, StaticModifier[]> rawStatModifiers;
+
+    public ItemWeapon() {}
+
+    public ItemWeapon(Int2ObjectMap<StaticModifier[]> statModifiers, Map<String, StaticModifier[]> rawStatModifiers) {
+        this.statModifiers = statModifiers;
+        this.rawStatModifiers = rawStatModifiers;
+    }
+
+    public Int2ObjectMap<StaticModifier[]> getStatModifiers() { return statModifiers; }
+}
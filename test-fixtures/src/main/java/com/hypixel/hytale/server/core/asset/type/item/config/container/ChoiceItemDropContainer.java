@@ -0,0 +1,43 @@
+package com.hypixel.hytale.server.core.asset.type.item.config.container;
+
+import com.hypixel.hytale.common.map.IWeightedMap;
+import com.hypixel.hytale.common.map.WeightedMap;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's ChoiceItemDropContainer: one child is picked by
+ * weight from an immutable {@link IWeightedMap}.
+ */
+public class ChoiceItemDropContainer extends ItemDropContainer {
+
+    protected IWeightedMap<ItemDropContainer> containers;
+
+    protected ChoiceItemDropContainer() {}
+
+    public ChoiceItemDropContainer(ItemDropContainer[] children, double weight) {
+        super(weight);
+        WeightedMap.Builder<ItemDropContainer> builder = WeightedMap.builder(new ItemDropContainer[0]);
+        for (ItemDropContainer child : children) {
+            if (child != null) builder.put(child, child.getWeight());
+        }
+        this.containers = builder.build();
+    }
+
+    @Override
+    protected void populateDrops(List<ItemDrop> drops, DoubleSupplier chanceProvider, Set<String> droplistReferences) {
+        ItemDropContainer picked = containers.get(chanceProvider);
+        if (picked != null) picked.populateDrops(drops, chanceProvider, droplistReferences);
+    }
+
+    @Override
+    public List<ItemDrop> getAllDrops(List<ItemDrop> drops) {
+        for (ItemDropContainer container : containers.internalKeys()) {
+            container.getAllDrops(drops);
+        }
+        return drops;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hypixel.hytale.server.core.asset.type.item.config.container;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's DroplistItemDropContainer: a reference to
+ * another ItemDropList by ID (cycles are cut by {@code droplistReferences}).
+ */
+public class DroplistItemDropContainer extends ItemDropContainer {
+
+    protected String droplistId;
+
+    protected DroplistItemDropContainer() {}
+
+    public DroplistItemDropContainer(String droplistId, double weight) {
+        super(weight);
+        this.droplistId = droplistId;
+    }
+
+    public String getDroplistId() {
+        return droplistId;
+    }
+
+    @Override
+    protected void populateDrops(List<ItemDrop> drops, DoubleSupplier chanceProvider, Set<String> droplistReferences) {
+        if (!droplistReferences.add(droplistId)) return;
+        ItemDropList list = ItemDropList.getAssetMap().getAsset(droplistId);
+        if (list != null && list.getContainer() != null) {
+            list.getContainer().populateDrops(drops, chanceProvider, droplistReferences);
+        }
+        droplistReferences.remove(droplistId);
+    }
+
+    @Override
+    public List<ItemDrop> getAllDrops(List<ItemDrop> drops) {
+        return drops;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hypixel.hytale.server.core.asset.type.item.config.container;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's ItemDropContainer: a weighted node of a drop tree.
+ */
+public abstract class ItemDropContainer {
+
+    protected double weight;
+
+    protected ItemDropContainer() {}
+
+    protected ItemDropContainer(double weight) {
+        this.weight = weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    /** Evaluates this node once, appending the rolled drops. */
+    public List<ItemDrop> getDrops(DoubleSupplier chanceProvider) {
+        List<ItemDrop> drops = new ArrayList<>();
+        populateDrops(drops, chanceProvider, new HashSet<>());
+        return drops;
+    }
+
+    protected abstract void populateDrops(List<ItemDrop> drops, DoubleSupplier chanceProvider, Set<String> droplistReferences);
+
+    /** Every drop this node can produce. */
+    public abstract List<ItemDrop> getAllDrops(List<ItemDrop> drops);
+}
@@ -0,0 +1,38 @@
+package com.hypixel.hytale.server.core.asset.type.item.config.container;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's MultipleItemDropContainer: every child is
+ * evaluated.
+ */
+public class MultipleItemDropContainer extends ItemDropContainer {
+
+    protected ItemDropContainer[] containers;
+
+    protected MultipleItemDropContainer() {}
+
+    public MultipleItemDropContainer(ItemDropContainer[] containers, double weight) {
+        super(weight);
+        this.containers = containers;
+    }
+
+    @Override
+    protected void populateDrops(List<ItemDrop> drops, DoubleSupplier chanceProvider, Set<String> droplistReferences) {
+        for (ItemDropContainer container : containers) {
+            if (container != null) container.populateDrops(drops, chanceProvider, droplistReferences);
+        }
+    }
+
+    @Override
+    public List<ItemDrop> getAllDrops(List<ItemDrop> drops) {
+        for (ItemDropContainer container : containers) {
+            if (container != null) container.getAllDrops(drops);
+        }
+        return drops;
+    }
+}
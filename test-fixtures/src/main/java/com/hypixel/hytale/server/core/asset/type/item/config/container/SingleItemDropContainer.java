@@ -0,0 +1,37 @@
+package com.hypixel.hytale.server.core.asset.type.item.config.container;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Stand-in for the server's SingleItemDropContainer (a leaf: one ItemDrop).
+ */
+public class SingleItemDropContainer extends ItemDropContainer {
+
+    protected ItemDrop drop;
+
+    protected SingleItemDropContainer() {}
+
+    public SingleItemDropContainer(ItemDrop drop, double weight) {
+        super(weight);
+        this.drop = drop;
+    }
+
+    public ItemDrop getDrop() {
+        return drop;
+    }
+
+    @Override
+    protected void populateDrops(List<ItemDrop> drops, DoubleSupplier chanceProvider, Set<String> droplistReferences) {
+        drops.add(drop);
+    }
+
+    @Override
+    public List<ItemDrop> getAllDrops(List<ItemDrop> drops) {
+        drops.add(drop);
+        return drops;
+    }
+}
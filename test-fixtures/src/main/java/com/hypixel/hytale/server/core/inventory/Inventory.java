@@ -0,0 +1,41 @@
+package com.hypixel.hytale.server.core.inventory;
+
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.container.SimpleItemContainer;
+
+/**
+ * Stand-in for the server's player Inventory: its sections as separate
+ * containers (no backpack unless one is given).
+ */
+public class Inventory {
+
+    private final ItemContainer hotbar;
+    private final ItemContainer armor;
+    private final ItemContainer utility;
+    private final ItemContainer tools;
+    private final ItemContainer storage;
+    private final ItemContainer backpack;
+
+    public Inventory() {
+        this(new SimpleItemContainer((short) 9), new SimpleItemContainer((short) 4),
+                new SimpleItemContainer((short) 4), new SimpleItemContainer((short) 9),
+                new SimpleItemContainer((short) 36), null);
+    }
+
+    public Inventory(ItemContainer hotbar, ItemContainer armor, ItemContainer utility,
+                     ItemContainer tools, ItemContainer storage, ItemContainer backpack) {
+        this.hotbar = hotbar;
+        this.armor = armor;
+        this.utility = utility;
+        this.tools = tools;
+        this.storage = storage;
+        this.backpack = backpack;
+    }
+
+    public ItemContainer getHotbar() { return hotbar; }
+    public ItemContainer getArmor() { return armor; }
+    public ItemContainer getUtility() { return utility; }
+    public ItemContainer getTools() { return tools; }
+    public ItemContainer getStorage() { return storage; }
+    public ItemContainer getBackpack() { return backpack; }
+}
@@ -0,0 +1,22 @@
+package com.hypixel.hytale.server.core.inventory;
+
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
+
+/**
+ * Stand-in for the server's InventoryChangeEvent (ECS event fired after a
+ * container transaction).
+ */
+public class InventoryChangeEvent {
+
+    private final ItemContainer itemContainer;
+    private final Transaction transaction;
+
+    public InventoryChangeEvent(ItemContainer itemContainer, Transaction transaction) {
+        this.itemContainer = itemContainer;
+        this.transaction = transaction;
+    }
+
+    public ItemContainer getItemContainer() { return itemContainer; }
+    public Transaction getTransaction() { return transaction; }
+}
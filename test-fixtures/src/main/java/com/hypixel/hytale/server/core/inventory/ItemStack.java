@@ -0,0 +1,64 @@
+package com.hypixel.hytale.server.core.inventory;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import org.bson.BsonDocument;
+
+/**
+ * Stand-in for the server's immutable ItemStack. Max durability is taken from
+ * the Item asset when the stack is created, like the real class.
+ */
+public class ItemStack {
+
+    public static final String EMPTY_ID = "Empty";
+    public static final ItemStack EMPTY = new ItemStack(EMPTY_ID, 0);
+
+    private final String itemId;
+    private final int quantity;
+    private final BsonDocument metadata;
+    private final double durability;
+    private final double maxDurability;
+
+    public ItemStack(String itemId, int quantity) {
+        this(itemId, quantity, null);
+    }
+
+    public ItemStack(String itemId, int quantity, BsonDocument metadata) {
+        this(itemId, quantity, metadata, assetMaxDurability(itemId), assetMaxDurability(itemId));
+    }
+
+    private ItemStack(String itemId, int quantity, BsonDocument metadata, double durability, double maxDurability) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.metadata = metadata;
+        this.durability = durability;
+        this.maxDurability = maxDurability;
+    }
+
+    private static double assetMaxDurability(String itemId) {
+        Item item = Item.getAssetMap().getAsset(itemId);
+        return item != null ? item.getMaxDurability() : 0;
+    }
+
+    public String getItemId() { return itemId; }
+    public int getQuantity() { return quantity; }
+    public BsonDocument getMetadata() { return metadata; }
+    public double getDurability() { return durability; }
+    public double getMaxDurability() { return maxDurability; }
+
+    public boolean isEmpty() {
+        return quantity <= 0 || EMPTY_ID.equals(itemId);
+    }
+
+    public ItemStack withDurability(double durability) {
+        return new ItemStack(itemId, quantity, metadata, Math.min(durability, maxDurability), maxDurability);
+    }
+
+    public ItemStack withQuantity(int quantity) {
+        return new ItemStack(itemId, quantity, metadata, durability, maxDurability);
+    }
+
+    @Override
+    public String toString() {
+        return itemId + " x" + quantity;
+    }
+}
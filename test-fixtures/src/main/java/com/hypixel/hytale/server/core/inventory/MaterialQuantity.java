@@ -0,0 +1,29 @@
+package com.hypixel.hytale.server.core.inventory;
+
+import org.bson.BsonDocument;
+
+/**
+ * Stand-in for the server's MaterialQuantity (a recipe input or output).
+ */
+public class MaterialQuantity {
+
+    private final String itemId;
+    private final String resourceTypeId;
+    private final String tag;
+    private final int quantity;
+    private final BsonDocument metadata;
+
+    public MaterialQuantity(String itemId, String resourceTypeId, String tag, int quantity, BsonDocument metadata) {
+        this.itemId = itemId;
+        this.resourceTypeId = resourceTypeId;
+        this.tag = tag;
+        this.quantity = quantity;
+        this.metadata = metadata;
+    }
+
+    public String getItemId() { return itemId; }
+    public String getResourceTypeId() { return resourceTypeId; }
+    public String getTag() { return tag; }
+    public int getQuantity() { return quantity; }
+    public BsonDocument getMetadata() { return metadata; }
+}
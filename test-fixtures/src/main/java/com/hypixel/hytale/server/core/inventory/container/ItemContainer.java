@@ -0,0 +1,23 @@
+package com.hypixel.hytale.server.core.inventory.container;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.transaction.ItemStackSlotTransaction;
+
+/**
+ * Stand-in for the server's ItemContainer: a fixed number of slots.
+ */
+public abstract class ItemContainer {
+
+    public abstract short getCapacity();
+
+    public abstract ItemStack getItemStack(short slot);
+
+    protected abstract void internalSet(short slot, ItemStack itemStack);
+
+    /** Replaces a slot and returns the transaction describing the change. */
+    public ItemStackSlotTransaction setItemStackForSlot(short slot, ItemStack itemStack) {
+        ItemStack before = getItemStack(slot);
+        internalSet(slot, itemStack);
+        return new ItemStackSlotTransaction(true, slot, before, itemStack);
+    }
+}
@@ -0,0 +1,30 @@
+package com.hypixel.hytale.server.core.inventory.container;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+/**
+ * Stand-in for the server's SimpleItemContainer: an array of slots.
+ */
+public class SimpleItemContainer extends ItemContainer {
+
+    private final ItemStack[] slots;
+
+    public SimpleItemContainer(short capacity) {
+        this.slots = new ItemStack[capacity];
+    }
+
+    @Override
+    public short getCapacity() {
+        return (short) slots.length;
+    }
+
+    @Override
+    public ItemStack getItemStack(short slot) {
+        return slots[slot];
+    }
+
+    @Override
+    protected void internalSet(short slot, ItemStack itemStack) {
+        slots[slot] = itemStack;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hypixel.hytale.server.core.inventory.transaction;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+/**
+ * Stand-in for the server's ItemStackSlotTransaction (the per-slot part of
+ * an {@link ItemStackTransaction}).
+ */
+public class ItemStackSlotTransaction extends SlotTransaction {
+
+    public ItemStackSlotTransaction(boolean succeeded, short slot, ItemStack slotBefore, ItemStack slotAfter) {
+        super(succeeded, slot, slotBefore, slotAfter);
+    }
+}
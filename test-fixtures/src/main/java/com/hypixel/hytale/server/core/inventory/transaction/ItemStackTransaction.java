@@ -0,0 +1,23 @@
+package com.hypixel.hytale.server.core.inventory.transaction;
+
+import java.util.List;
+
+/**
+ * Stand-in for the server's ItemStackTransaction: an add/remove that touched
+ * one or more slots.
+ */
+public class ItemStackTransaction implements Transaction {
+
+    private final boolean succeeded;
+    private final List<ItemStackSlotTransaction> slotTransactions;
+
+    public ItemStackTransaction(boolean succeeded, List<ItemStackSlotTransaction> slotTransactions) {
+        this.succeeded = succeeded;
+        this.slotTransactions = slotTransactions;
+    }
+
+    @Override
+    public boolean succeeded() { return succeeded; }
+
+    public List<ItemStackSlotTransaction> getSlotTransactions() { return slotTransactions; }
+}
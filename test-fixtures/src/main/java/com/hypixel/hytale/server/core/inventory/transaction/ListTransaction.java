@@ -0,0 +1,21 @@
+package com.hypixel.hytale.server.core.inventory.transaction;
+
+import java.util.List;
+
+/**
+ * Stand-in for the server's ListTransaction. As in the real class the inner
+ * transactions are only reachable through the private {@code list} field.
+ */
+public class ListTransaction<T extends Transaction> implements Transaction {
+
+    private final boolean succeeded;
+    private final List<T> list;
+
+    public ListTransaction(boolean succeeded, List<T> list) {
+        this.succeeded = succeeded;
+        this.list = list;
+    }
+
+    @Override
+    public boolean succeeded() { return succeeded; }
+}
@@ -0,0 +1,30 @@
+package com.hypixel.hytale.server.core.inventory.transaction;
+
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+
+/**
+ * Stand-in for the server's MoveTransaction: a remove from one container and
+ * an add to another.
+ */
+public class MoveTransaction<T extends Transaction> implements Transaction {
+
+    private final boolean succeeded;
+    private final SlotTransaction removeTransaction;
+    private final ItemContainer otherContainer;
+    private final T addTransaction;
+
+    public MoveTransaction(boolean succeeded, SlotTransaction removeTransaction,
+                           ItemContainer otherContainer, T addTransaction) {
+        this.succeeded = succeeded;
+        this.removeTransaction = removeTransaction;
+        this.otherContainer = otherContainer;
+        this.addTransaction = addTransaction;
+    }
+
+    @Override
+    public boolean succeeded() { return succeeded; }
+
+    public SlotTransaction getRemoveTransaction() { return removeTransaction; }
+    public ItemContainer getOtherContainer() { return otherContainer; }
+    public T getAddTransaction() { return addTransaction; }
+}
@@ -0,0 +1,28 @@
+package com.hypixel.hytale.server.core.inventory.transaction;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+
+/**
+ * Stand-in for the server's SlotTransaction: one slot, before and after.
+ */
+public class SlotTransaction implements Transaction {
+
+    private final boolean succeeded;
+    private final short slot;
+    private final ItemStack slotBefore;
+    private final ItemStack slotAfter;
+
+    public SlotTransaction(boolean succeeded, short slot, ItemStack slotBefore, ItemStack slotAfter) {
+        this.succeeded = succeeded;
+        this.slot = slot;
+        this.slotBefore = slotBefore;
+        this.slotAfter = slotAfter;
+    }
+
+    @Override
+    public boolean succeeded() { return succeeded; }
+
+    public short getSlot() { return slot; }
+    public ItemStack getSlotBefore() { return slotBefore; }
+    public ItemStack getSlotAfter() { return slotAfter; }
+}
@@ -0,0 +1,9 @@
+package com.hypixel.hytale.server.core.inventory.transaction;
+
+/**
+ * Stand-in for the server's inventory Transaction.
+ */
+public interface Transaction {
+
+    boolean succeeded();
+}
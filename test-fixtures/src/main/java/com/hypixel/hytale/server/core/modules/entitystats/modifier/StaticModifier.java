@@ -0,0 +1,17 @@
+package com.hypixel.hytale.server.core.modules.entitystats.modifier;
+
+/**
+ * Stand-in for the server's StaticModifier (the plugin scales {@code amount}).
+ */
+public class StaticModifier {
+
+    private float amount;
+
+    public StaticModifier() {}
+
+    public StaticModifier(float amount) {
+        this.amount = amount;
+    }
+
+    public float getAmount() { return amount; }
+}
@@ -0,0 +1,38 @@
+package com.hypixel.hytale.server.core.modules.interaction.interaction.config;
+
+import com.hypixel.hytale.assetstore.AssetStore;
+import com.hypixel.hytale.assetstore.map.IndexedLookupTableAssetMap;
+
+/**
+ * Stand-in for the server's Interaction asset base class.
+ */
+public abstract class Interaction {
+
+    private static final IndexedLookupTableAssetMap<String, Interaction> ASSET_MAP = new IndexedLookupTableAssetMap<>();
+    private static final AssetStore<String, Interaction> ASSET_STORE = new AssetStore<>(ASSET_MAP, Interaction::getId);
+
+    protected String id;
+    protected Object data;
+    protected Object cachedPacket;
+
+    protected Interaction() {}
+
+    protected Interaction(String id) {
+        this.id = id;
+    }
+
+    public static IndexedLookupTableAssetMap<String, Interaction> getAssetMap() {
+        return ASSET_MAP;
+    }
+
+    public static AssetStore<String, Interaction> getAssetStore() {
+        return ASSET_STORE;
+    }
+
+    public String getId() { return id; }
+
+    public Object toPacket() {
+        if (cachedPacket == null) cachedPacket = new Object();
+        return cachedPacket;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hypixel.hytale.server.core.modules.interaction.interaction.config;
+
+import com.hypixel.hytale.assetstore.AssetStore;
+import com.hypixel.hytale.assetstore.map.IndexedLookupTableAssetMap;
+
+/**
+ * Stand-in for the server's RootInteraction: an ordered list of Interaction
+ * IDs, resolved into {@code operations} by {@link #build()}.
+ */
+public class RootInteraction {
+
+    private static final IndexedLookupTableAssetMap<String, RootInteraction> ASSET_MAP = new IndexedLookupTableAssetMap<>();
+    private static final AssetStore<String, RootInteraction> ASSET_STORE = new AssetStore<>(ASSET_MAP, RootInteraction::getId);
+
+    private String id;
+    private String[] interactionIds;
+    private Interaction[] operations;
+    private Object data;
+    private Object cachedPacket;
+
+    protected RootInteraction() {}
+
+    public RootInteraction(String id, String[] interactionIds) {
+        this.id = id;
+        this.interactionIds = interactionIds;
+    }
+
+    public static IndexedLookupTableAssetMap<String, RootInteraction> getAssetMap() {
+        return ASSET_MAP;
+    }
+
+    public static AssetStore<String, RootInteraction> getAssetStore() {
+        return ASSET_STORE;
+    }
+
+    public String getId() { return id; }
+    public String[] getInteractionIds() { return interactionIds; }
+    public Interaction[] getOperations() { return operations; }
+
+    public Object toPacket() {
+        if (cachedPacket == null) cachedPacket = new Object();
+        return cachedPacket;
+    }
+
+    public void build() {
+        Interaction[] resolved = new Interaction[interactionIds.length];
+        for (int i = 0; i < interactionIds.length; i++) {
+            resolved[i] = Interaction.getAssetMap().getAsset(interactionIds[i]);
+        }
+        operations = resolved;
+    }
+}
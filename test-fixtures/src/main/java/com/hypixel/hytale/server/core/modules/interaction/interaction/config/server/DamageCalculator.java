@@ -0,0 +1,24 @@
+package com.hypixel.hytale.server.core.modules.interaction.interaction.config.server;
+
+import it.unimi.dsi.fastutil.ints.Int2FloatMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+
+/**
+ * Stand-in for the server's DamageCalculator: raw per-cause damage from JSON
+ * and its resolved (cause index keyed) form.
+ */
+public class DamageCalculator {
+
+    private Object2FloatMap<String> baseDamageRaw;
+    private transient Int2FloatMap baseDamage;
+
+    public DamageCalculator() {}
+
+    public DamageCalculator(Object2FloatMap<String> baseDamageRaw, Int2FloatMap baseDamage) {
+        this.baseDamageRaw = baseDamageRaw;
+        this.baseDamage = baseDamage;
+    }
+
+    public Object2FloatMap<String> getBaseDamageRaw() { return baseDamageRaw; }
+    public Int2FloatMap getBaseDamage() { return baseDamage; }
+}
@@ -0,0 +1,22 @@
+package com.hypixel.hytale.server.core.modules.interaction.interaction.config.server;
+
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
+
+/**
+ * Stand-in for the server's DamageEntityInteraction (the plugin matches it by
+ * simple class name and scales its {@link DamageCalculator}).
+ */
+public class DamageEntityInteraction extends Interaction {
+
+    private DamageCalculator damageCalculator;
+    private Object[] angledDamage;
+
+    protected DamageEntityInteraction() {}
+
+    public DamageEntityInteraction(String id, DamageCalculator damageCalculator) {
+        super(id);
+        this.damageCalculator = damageCalculator;
+    }
+
+    public DamageCalculator getDamageCalculator() { return damageCalculator; }
+}
@@ -0,0 +1,7 @@
+package com.hypixel.hytale.server.core.universe.world.storage;
+
+/**
+ * Stand-in for the world's EntityStore (type marker only).
+ */
+public class EntityStore {
+}
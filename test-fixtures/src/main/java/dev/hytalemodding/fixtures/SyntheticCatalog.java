@@ -0,0 +1,286 @@
+package dev.hytalemodding.fixtures;
+
+import com.hypixel.hytale.server.core.asset.type.item.config.CraftingRecipe;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemArmor;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDrop;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemDropList;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemEntityConfig;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemQuality;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemTool;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemToolSpec;
+import com.hypixel.hytale.server.core.asset.type.item.config.ItemWeapon;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ChoiceItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.DroplistItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.ItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.MultipleItemDropContainer;
+import com.hypixel.hytale.server.core.asset.type.item.config.container.SingleItemDropContainer;
+import com.hypixel.hytale.server.core.inventory.MaterialQuantity;
+import com.hypixel.hytale.server.core.modules.entitystats.modifier.StaticModifier;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.RootInteraction;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.server.DamageCalculator;
+import com.hypixel.hytale.server.core.modules.interaction.interaction.config.server.DamageEntityInteraction;
+import it.unimi.dsi.fastutil.ints.Int2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2FloatOpenHashMap;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a synthetic game catalog into the stand-in asset maps: N items,
+ * M drop lists and K recipes, plus the six base-game quality tiers.
+ *
+ * The shape follows the vanilla assets closely enough for the plugin's
+ * startup and runtime paths to do real work: weapons carry a damage
+ * interaction chain, armor and tools carry the stats the variant clone
+ * scales, drop lists mix single / choice / multiple nodes and list
+ * references, and recipes are salvage recipes of gear (cloned per variant)
+ * or crafting recipes producing gear. About a third of the items are not
+ * eligible (materials, blocks, ignored ammo).
+ *
+ * Generation is deterministic for a given seed.
+ * <pre>
+ *   SyntheticCatalog catalog = SyntheticCatalog.generate(5000, 800, 1500, 42);
+ *   catalog.install();
+ * </pre>
+ */
+public final class SyntheticCatalog {
+
+    /** Vanilla quality tier IDs, in index order. */
+    public static final String[] QUALITY_IDS = { "poor", "common", "uncommon", "rare", "epic", "legendary" };
+
+    private static final String[] WEAPONS = { "Weapon_Sword", "Weapon_Axe", "Weapon_Mace", "Weapon_Bow", "Weapon_Daggers" };
+    private static final String[] ARMOR = { "Armor_Head", "Armor_Chest", "Armor_Legs", "Armor_Hands" };
+    private static final String[] TOOLS = { "Tool_Pickaxe", "Tool_Hatchet", "Tool_Shovel", "Tool_Hoe" };
+    private static final String[] OTHER = { "Ingredient_Bar", "Rock_Stone", "Plant_Fiber", "Weapon_Arrow", "Food_Bread" };
+
+    private static final String[] DAMAGE_CAUSES = { "Physical", "Slashing", "Bludgeoning", "Projectile" };
+
+    private final List<Item> items = new ArrayList<>();
+    private final List<String> gearIds = new ArrayList<>();
+    private final List<Interaction> interactions = new ArrayList<>();
+    private final List<RootInteraction> rootInteractions = new ArrayList<>();
+    private final List<ItemDropList> dropLists = new ArrayList<>();
+    private final List<CraftingRecipe> recipes = new ArrayList<>();
+
+    private SyntheticCatalog() {}
+
+    /**
+     * Builds a catalog of {@code itemCount} items, {@code dropListCount} drop
+     * lists and {@code recipeCount} recipes. Nothing is installed yet.
+     */
+    @Nonnull
+    public static SyntheticCatalog generate(int itemCount, int dropListCount, int recipeCount, long seed) {
+        SyntheticCatalog catalog = new SyntheticCatalog();
+        Random random = new Random(seed);
+        catalog.generateItems(itemCount, random);
+        catalog.generateDropLists(dropListCount, random);
+        catalog.generateRecipes(recipeCount, random);
+        return catalog;
+    }
+
+    /**
+     * Clears every stand-in asset map and fills them with this catalog.
+     * Call before the plugin's startup path (registry scan, tier mapping).
+     */
+    public void install() {
+        reset();
+
+        for (int i = 0; i < QUALITY_IDS.length; i++) {
+            String id = QUALITY_IDS[i];
+            ItemEntityConfig glow = new ItemEntityConfig("Drop_" + Character.toUpperCase(id.charAt(0)) + id.substring(1), i > 0);
+            ItemQuality.getAssetMap().putAsset(id, new ItemQuality(id, glow));
+        }
+        Item.getAssetMap().putAsset(Item.UNKNOWN.getId(), Item.UNKNOWN);
+        Item.getAssetStore().loadAssets("Synthetic", items);
+        Interaction.getAssetStore().loadAssets("Synthetic", interactions);
+        RootInteraction.getAssetStore().loadAssets("Synthetic", rootInteractions);
+        for (RootInteraction root : rootInteractions) {
+            root.build();
+        }
+        ItemDropList.getAssetStore().loadAssets("Synthetic", dropLists);
+        CraftingRecipe.getAssetStore().loadAssets("Synthetic", recipes);
+    }
+
+    /**
+     * Loads this catalog over the current asset maps without clearing them,
+     * like an asset reload on a running server: assets with the same key are
+     * replaced, entries added by the plugin since (variants, cloned
+     * interactions and recipes) stay. Generate a fresh catalog with the same
+     * seed to reload "the same" assets as new objects.
+     */
+    public void reload() {
+        Item.getAssetStore().loadAssets("Synthetic", items);
+        Interaction.getAssetStore().loadAssets("Synthetic", interactions);
+        RootInteraction.getAssetStore().loadAssets("Synthetic", rootInteractions);
+        for (RootInteraction root : rootInteractions) {
+            root.build();
+        }
+        ItemDropList.getAssetStore().loadAssets("Synthetic", dropLists);
+        CraftingRecipe.getAssetStore().loadAssets("Synthetic", recipes);
+    }
+
+    /** Empties every stand-in asset map. */
+    public static void reset() {
+        ItemQuality.getAssetMap().clear();
+        Item.getAssetStore().reset();
+        Interaction.getAssetStore().reset();
+        RootInteraction.getAssetStore().reset();
+        ItemDropList.getAssetStore().reset();
+        CraftingRecipe.getAssetStore().reset();
+    }
+
+    // ── Accessors ──
+
+    public int getItemCount() { return items.size(); }
+    public int getDropListCount() { return dropLists.size(); }
+    public int getRecipeCount() { return recipes.size(); }
+
+    /** IDs of the weapon / armor / tool items (the ones the plugin should pick up). */
+    @Nonnull
+    public List<String> getGearIds() { return Collections.unmodifiableList(gearIds); }
+
+    @Nonnull
+    public List<String> getItemIds() {
+        List<String> ids = new ArrayList<>(items.size());
+        for (Item item : items) ids.add(item.getId());
+        return ids;
+    }
+
+    @Nonnull
+    public List<String> getDropListIds() {
+        List<String> ids = new ArrayList<>(dropLists.size());
+        for (ItemDropList list : dropLists) ids.add(list.getId());
+        return ids;
+    }
+
+    // ── Items ──
+
+    private void generateItems(int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            int kind = i % 3 == 2 ? 3 : random.nextInt(3);
+            Item item = switch (kind) {
+                case 0 -> weapon(WEAPONS[random.nextInt(WEAPONS.length)] + "_Synth" + i, random);
+                case 1 -> armor(ARMOR[random.nextInt(ARMOR.length)] + "_Synth" + i, random);
+                case 2 -> tool(TOOLS[random.nextInt(TOOLS.length)] + "_Synth" + i, random);
+                default -> new Item(OTHER[random.nextInt(OTHER.length)] + "_Synth" + i);
+            };
+            items.add(item);
+            if (kind < 3 && !item.getId().startsWith("Weapon_Arrow")) gearIds.add(item.getId());
+        }
+    }
+
+    private Item weapon(String id, Random random) {
+        Object2FloatOpenHashMap<String> raw = new Object2FloatOpenHashMap<>();
+        Int2FloatOpenHashMap resolved = new Int2FloatOpenHashMap();
+        int cause = random.nextInt(DAMAGE_CAUSES.length);
+        float damage = 5 + random.nextInt(40);
+        raw.put(DAMAGE_CAUSES[cause], damage);
+        resolved.put(cause, damage);
+
+        String damageId = id + "_Swing_Damage";
+        String rootId = id + "_Swing";
+        interactions.add(new DamageEntityInteraction(damageId, new DamageCalculator(raw, resolved)));
+        rootInteractions.add(new RootInteraction(rootId, new String[] { damageId }));
+
+        Map<String, String> vars = new HashMap<>();
+        vars.put("Swing_Damage", rootId);
+
+        Int2ObjectOpenHashMap<StaticModifier[]> signature = new Int2ObjectOpenHashMap<>();
+        signature.put(0, new StaticModifier[] { new StaticModifier(10 + random.nextInt(20)) });
+
+        return new Item(id)
+                .setWeapon(new ItemWeapon(signature, null))
+                .setInteractionVars(vars)
+                .setMaxDurability(100 + random.nextInt(900))
+                .setItemEntityConfig(new ItemEntityConfig("Drop_Common", true));
+    }
+
+    private Item armor(String id, Random random) {
+        Map<String, StaticModifier[]> resistances = new HashMap<>();
+        resistances.put(DAMAGE_CAUSES[random.nextInt(DAMAGE_CAUSES.length)],
+                new StaticModifier[] { new StaticModifier(0.05f + random.nextFloat() * 0.2f) });
+        Map<String, Float> knockback = new HashMap<>();
+        knockback.put("Physical", random.nextFloat() * 0.3f);
+
+        return new Item(id)
+                .setArmor(new ItemArmor(1 + random.nextInt(20), resistances, new Int2ObjectOpenHashMap<>(), knockback))
+                .setMaxDurability(100 + random.nextInt(900))
+                .setItemEntityConfig(new ItemEntityConfig("Drop_Common", true));
+    }
+
+    private Item tool(String id, Random random) {
+        ItemToolSpec[] specs = {
+                new ItemToolSpec("Rocks", 0.5f + random.nextFloat()),
+                new ItemToolSpec("Woods", 0.5f + random.nextFloat())
+        };
+        return new Item(id)
+                .setTool(new ItemTool(1 + random.nextFloat(), specs))
+                .setMaxDurability(100 + random.nextInt(900));
+    }
+
+    // ── Drop lists ──
+
+    private void generateDropLists(int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            String id = "Drops_Synth" + i;
+            int rootChildren = 1 + random.nextInt(3);
+            ItemDropContainer[] children = new ItemDropContainer[rootChildren];
+            for (int c = 0; c < rootChildren; c++) {
+                children[c] = dropNode(i, 1, random);
+            }
+            dropLists.add(new ItemDropList(id, new MultipleItemDropContainer(children, 1.0)));
+        }
+    }
+
+    private ItemDropContainer dropNode(int listIndex, int depth, Random random) {
+        int roll = random.nextInt(100);
+        // 5%: reference to an earlier list
+        if (roll < 5 && listIndex > 0) {
+            return new DroplistItemDropContainer("Drops_Synth" + random.nextInt(listIndex), 1 + random.nextInt(10));
+        }
+        // Choice between 2-6 nodes, nesting up to depth 3
+        if (roll < 50 && depth < 3) {
+            int fanOut = 2 + random.nextInt(5);
+            ItemDropContainer[] options = new ItemDropContainer[fanOut];
+            for (int o = 0; o < fanOut; o++) {
+                options[o] = dropNode(listIndex, depth + 1, random);
+            }
+            return new ChoiceItemDropContainer(options, 1 + random.nextInt(10));
+        }
+        return singleDrop(random);
+    }
+
+    private ItemDropContainer singleDrop(Random random) {
+        String itemId = items.isEmpty() ? "Rock_Stone_Synth" : items.get(random.nextInt(items.size())).getId();
+        int min = 1 + random.nextInt(2);
+        return new SingleItemDropContainer(new ItemDrop(itemId, null, min, min + random.nextInt(3)), 1 + random.nextInt(10));
+    }
+
+    // ── Recipes ──
+
+    private void generateRecipes(int count, Random random) {
+        if (gearIds.isEmpty()) return;
+        for (int i = 0; i < count; i++) {
+            String gearId = gearIds.get(random.nextInt(gearIds.size()));
+            MaterialQuantity gear = new MaterialQuantity(gearId, null, null, 1, null);
+            MaterialQuantity material = new MaterialQuantity("Ingredient_Bar_Synth", null, null, 1 + random.nextInt(4), null);
+
+            if (i % 2 == 0) {
+                // Salvage: gear in, materials out
+                recipes.add(new CraftingRecipe("Salvage_" + gearId + "_" + i,
+                        new MaterialQuantity[] { gear }, new MaterialQuantity[] { material }));
+            } else {
+                recipes.add(new CraftingRecipe("Craft_" + gearId + "_" + i,
+                        new MaterialQuantity[] { material }, new MaterialQuantity[] { gear }));
+            }
+        }
+    }
+}